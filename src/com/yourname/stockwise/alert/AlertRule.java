@@ -0,0 +1,43 @@
+package com.yourname.stockwise.alert;
+
+import com.yourname.stockwise.model.Product;
+
+/**
+ * Decides how urgent a product's stock level is. Evaluated by the {@link StockAlertEngine}
+ * each time the product changes, so it must be quick and must not block.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface AlertRule {
+
+    /**
+     * The default rule: out of stock at zero or less if the product has a reorder level, low
+     * below the product's own reorder level, otherwise normal.
+     */
+    AlertRule THRESHOLD = product -> classify(product.getQuantity(), product.getThreshold());
+
+    /**
+     * @param product the product as it is now
+     * @return its stock level
+     */
+    StockAlert.Level evaluate(Product product);
+
+    /**
+     * Creates a rule that uses a fixed reorder level instead of the product's own.
+     *
+     * @param reorderLevel quantity below which the product is low
+     * @return the rule
+     */
+    static AlertRule below(int reorderLevel) {
+        return product -> classify(product.getQuantity(), reorderLevel);
+    }
+
+    private static StockAlert.Level classify(int quantity, int reorderLevel) {
+        if (quantity <= 0 && reorderLevel > 0) {
+            return StockAlert.Level.OUT_OF_STOCK;
+        }
+        return quantity < reorderLevel ? StockAlert.Level.LOW : StockAlert.Level.NORMAL;
+    }
+}
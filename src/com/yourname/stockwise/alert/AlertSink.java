@@ -0,0 +1,29 @@
+package com.yourname.stockwise.alert;
+
+import java.util.List;
+
+/**
+ * Delivers stock alerts somewhere people or other systems will see them.
+ * <p>
+ * The {@link StockAlertEngine} calls {@link #deliver(List)} from its own background thread,
+ * one batch per debounce window. A sink that fails only loses that batch; the other sinks
+ * still receive it.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public interface AlertSink {
+
+    /**
+     * @param alerts the alerts raised in one window, oldest first; never empty
+     * @throws Exception if the alerts could not be delivered
+     */
+    void deliver(List<StockAlert> alerts) throws Exception;
+
+    /**
+     * Releases any resources. Called once, when the engine shuts down.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,50 @@
+package com.yourname.stockwise.alert;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link AlertSink} that appends each alert as one line to a text file, e.g.
+ * {@code 2025-03-01T09:15:02Z LOW Low stock: Widget (P0001) - 3 left, reorder level 10}.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class LogFileAlertSink implements AlertSink {
+
+    private final Path file;
+
+    /**
+     * @param file the log file; created if missing, otherwise appended to
+     */
+    public LogFileAlertSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void deliver(List<StockAlert> alerts) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (StockAlert alert : alerts) {
+                out.write(alert.getRaisedAt() + " " + alert.getLevel() + " " + alert.getMessage());
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * @return the file alerts are written to
+     */
+    public Path getFile() {
+        return file;
+    }
+}
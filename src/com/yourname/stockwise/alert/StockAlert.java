@@ -0,0 +1,115 @@
+package com.yourname.stockwise.alert;
+
+import java.time.Instant;
+
+import com.yourname.stockwise.model.Product;
+
+/**
+ * Immutable notice that a product's stock level has changed category, e.g. from in stock to
+ * low stock, raised by the {@link StockAlertEngine} and handed to {@link AlertSink sinks}.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class StockAlert {
+
+    /**
+     * How urgent a product's stock level is, least urgent first.
+     */
+    public enum Level {
+        /** At or above the reorder level. */
+        NORMAL,
+        /** Below the reorder level. */
+        LOW,
+        /** None left of a product that should be kept in stock. */
+        OUT_OF_STOCK
+    }
+
+    private final String productId;
+    private final String productName;
+    private final int quantity;
+    private final int threshold;
+    private final Level level;
+    private final Level previous;
+    private final Instant raisedAt;
+
+    StockAlert(String productId, String productName, int quantity, int threshold, Level level, Level previous,
+               Instant raisedAt) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.threshold = threshold;
+        this.level = level;
+        this.previous = previous;
+        this.raisedAt = raisedAt;
+    }
+
+    /**
+     * Creates an alert describing a product as it is now.
+     *
+     * @param product  the product
+     * @param level    its new level
+     * @param previous the level last reported for it
+     * @return the alert, stamped with the current time
+     */
+    public static StockAlert of(Product product, Level level, Level previous) {
+        return new StockAlert(product.getId(), product.getName(), product.getQuantity(), product.getThreshold(),
+                level, previous, Instant.now());
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    /** @return the quantity on hand when the alert was raised */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /** @return the reorder level when the alert was raised */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    /** @return the level previously reported for the product */
+    public Level getPrevious() {
+        return previous;
+    }
+
+    public Instant getRaisedAt() {
+        return raisedAt;
+    }
+
+    /** @return true if the product is back at or above its reorder level */
+    public boolean isRecovery() {
+        return level == Level.NORMAL;
+    }
+
+    /**
+     * @return a one-line description for people, e.g. "Low stock: Widget (P0001) - 3 left, reorder level 10"
+     */
+    public String getMessage() {
+        String product = productName + " (" + productId + ")";
+        switch (level) {
+            case OUT_OF_STOCK:
+                return "Out of stock: " + product + " - reorder level " + threshold;
+            case LOW:
+                return "Low stock: " + product + " - " + quantity + " left, reorder level " + threshold;
+            default:
+                return "Restocked: " + product + " - " + quantity + " on hand";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
@@ -0,0 +1,285 @@
+package com.yourname.stockwise.alert;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.yourname.stockwise.dao.ProductDAO;
+import com.yourname.stockwise.dao.ProductListener;
+import com.yourname.stockwise.model.Product;
+
+/**
+ * Background engine that raises stock alerts as products change, without rescanning the catalogue.
+ * <p>
+ * Attached to a {@link ProductDAO} as a {@link ProductListener}, it hears about every product
+ * edit and every committed stock movement, whether recorded on this till or applied from a peer.
+ * Only the product that changed is evaluated against its {@link AlertRule} (the product's own
+ * reorder level unless {@link #setRule overridden}). When its {@link StockAlert.Level level}
+ * changes, the product is queued. Queued products are delivered together to every
+ * {@link AlertSink} once the debounce window has passed:
+ * </p>
+ * <ul>
+ *     <li><b>Debounce</b> - changes within {@code stockwise.alerts.debounceMs} (default 2000)
+ *     are batched, and a product that drops and recovers inside the window raises nothing.</li>
+ *     <li><b>Dedupe</b> - a product is only reported when its level differs from the level
+ *     last reported for it.</li>
+ *     <li><b>Rate limit</b> - getting worse (low to out of stock) is always reported at once.
+ *     Any other change to an already reported product waits until
+ *     {@code stockwise.alerts.minIntervalMs} (default 300000) has passed since its last alert.</li>
+ * </ul>
+ *
+ * <p>The first full set of products the engine sees is taken as the starting point and raises
+ * no alerts; later reloads are compared against it. Alerts are written to the file named by
+ * {@code stockwise.alerts.log} (default {@code stockwise-alerts.log}; {@code none} disables it)
+ * and posted to {@code stockwise.alerts.webhook} if set. Further sinks, such as a
+ * {@link ToastAlertSink}, can be added at any time.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     StockAlertEngine engine = StockAlertEngine.getInstance();
+ *     engine.addSink(new ToastAlertSink(primaryStage));
+ *     productDAO.addProductListener(engine);
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class StockAlertEngine implements ProductListener {
+
+    // What the engine knows about one product
+    private static final class State {
+        Product product;
+        StockAlert.Level current = StockAlert.Level.NORMAL;
+        StockAlert.Level reported = StockAlert.Level.NORMAL;
+        long reportedAt = Long.MIN_VALUE / 2; // Long ago, without overflowing when added to
+    }
+
+    private static final Object INSTANCE_LOCK = new Object();
+    private static StockAlertEngine instance;
+
+    private final long debounceMs;
+    private final long minIntervalMs;
+    private final Map<String, State> states = new HashMap<>();
+    private final Set<String> queued = new LinkedHashSet<>();
+    private final Map<String, AlertRule> rules = new ConcurrentHashMap<>();
+    private final List<AlertSink> sinks = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private boolean baselined;
+    private boolean flushScheduled;
+
+    /**
+     * @param debounceMs    how long changes are collected before alerts are sent
+     * @param minIntervalMs least time between non-escalating alerts for one product
+     */
+    public StockAlertEngine(long debounceMs, long minIntervalMs) {
+        this.debounceMs = Math.max(0L, debounceMs);
+        this.minIntervalMs = Math.max(0L, minIntervalMs);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stockwise-alerts");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Returns the process-wide engine, creating it with the sinks configured by system
+     * properties on first use.
+     *
+     * @return the shared engine
+     */
+    public static StockAlertEngine getInstance() {
+        synchronized (INSTANCE_LOCK) {
+            if (instance == null) {
+                instance = new StockAlertEngine(Long.getLong("stockwise.alerts.debounceMs", 2_000L),
+                        Long.getLong("stockwise.alerts.minIntervalMs", 300_000L));
+                String log = System.getProperty("stockwise.alerts.log", "stockwise-alerts.log").trim();
+                if (!log.isEmpty() && !log.equalsIgnoreCase("none")) {
+                    instance.addSink(new LogFileAlertSink(Path.of(log)));
+                }
+                String webhook = System.getProperty("stockwise.alerts.webhook", "").trim();
+                if (!webhook.isEmpty()) {
+                    try {
+                        instance.addSink(new WebhookAlertSink(URI.create(webhook)));
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Ignoring invalid stockwise.alerts.webhook: " + webhook);
+                    }
+                }
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Sends any alerts still waiting in the debounce window, then stops the shared engine and
+     * closes its sinks. Safe to call more than once.
+     */
+    public static void shutdown() {
+        StockAlertEngine engine;
+        synchronized (INSTANCE_LOCK) {
+            engine = instance;
+            instance = null;
+        }
+        if (engine != null) {
+            engine.close();
+        }
+    }
+
+    /**
+     * @param sink receives future alerts
+     */
+    public void addSink(AlertSink sink) {
+        sinks.add(sink);
+    }
+
+    /**
+     * @param sink a sink previously added; it is not closed
+     */
+    public void removeSink(AlertSink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Sets the rule for one product, replacing its own reorder level, and re-evaluates it.
+     *
+     * @param productId the product id
+     * @param rule      the rule, or null to go back to {@link AlertRule#THRESHOLD}
+     */
+    public synchronized void setRule(String productId, AlertRule rule) {
+        if (rule == null) {
+            rules.remove(productId);
+        } else {
+            rules.put(productId, rule);
+        }
+        State state = states.get(productId);
+        if (state != null && state.product != null) {
+            evaluate(state, state.product);
+        }
+    }
+
+    /**
+     * @param productId a product id
+     * @return the product's level as of its last change
+     */
+    public synchronized StockAlert.Level getLevel(String productId) {
+        State state = states.get(productId);
+        return state == null ? StockAlert.Level.NORMAL : state.current;
+    }
+
+    @Override
+    public synchronized void productChanged(Product product) {
+        evaluate(states.computeIfAbsent(product.getId(), id -> new State()), product);
+    }
+
+    @Override
+    public synchronized void productRemoved(String productId) {
+        states.remove(productId);
+        queued.remove(productId);
+    }
+
+    @Override
+    public synchronized void productsReloaded(List<Product> products) {
+        Set<String> present = new LinkedHashSet<>();
+        for (Product product : products) {
+            present.add(product.getId());
+            State state = states.computeIfAbsent(product.getId(), id -> new State());
+            if (baselined) {
+                evaluate(state, product);
+            } else {
+                // Starting point: remember current levels without alerting on them
+                state.product = product;
+                state.current = ruleFor(product.getId()).evaluate(product);
+                state.reported = state.current;
+            }
+        }
+        states.keySet().retainAll(present);
+        queued.retainAll(present);
+        baselined = true;
+    }
+
+    private void evaluate(State state, Product product) {
+        state.product = product;
+        StockAlert.Level level = ruleFor(product.getId()).evaluate(product);
+        if (level != state.current) {
+            state.current = level;
+            queued.add(product.getId());
+            scheduleFlush(debounceMs);
+        }
+    }
+
+    private AlertRule ruleFor(String productId) {
+        return rules.getOrDefault(productId, AlertRule.THRESHOLD);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (!flushScheduled && !scheduler.isShutdown()) {
+            flushScheduled = true;
+            scheduler.schedule(() -> flush(false), delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the alerts for queued products that are due.
+     *
+     * @param force true to ignore the rate limit, e.g. when shutting down
+     */
+    private void flush(boolean force) {
+        List<StockAlert> alerts = new ArrayList<>();
+        synchronized (this) {
+            flushScheduled = false;
+            long now = System.currentTimeMillis();
+            long nextDue = Long.MAX_VALUE;
+            for (Iterator<String> it = queued.iterator(); it.hasNext(); ) {
+                State state = states.get(it.next());
+                if (state == null || state.current == state.reported) {
+                    it.remove(); // Gone, or back where it was last reported
+                    continue;
+                }
+                boolean escalation = state.current.compareTo(state.reported) > 0;
+                long due = state.reportedAt + minIntervalMs;
+                if (!force && !escalation && now < due) {
+                    nextDue = Math.min(nextDue, due);
+                    continue; // Rate limited; try again when due
+                }
+                alerts.add(StockAlert.of(state.product, state.current, state.reported));
+                state.reported = state.current;
+                state.reportedAt = now;
+                it.remove();
+            }
+            if (nextDue != Long.MAX_VALUE) {
+                scheduleFlush(Math.max(debounceMs, nextDue - now));
+            }
+        }
+        if (!alerts.isEmpty()) {
+            deliver(alerts);
+        }
+    }
+
+    private void deliver(List<StockAlert> alerts) {
+        for (AlertSink sink : sinks) {
+            try {
+                sink.deliver(alerts);
+            } catch (Exception e) {
+                System.err.println("Alert sink " + sink.getClass().getSimpleName() + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void close() {
+        scheduler.shutdownNow();
+        flush(true);
+        for (AlertSink sink : sinks) {
+            sink.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.yourname.stockwise.alert;
+
+import java.util.List;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.stage.Popup;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+/**
+ * {@link AlertSink} that shows each batch of alerts as a small notification in the bottom-right
+ * corner of the application window, which disappears by itself after a few seconds.
+ * Nothing is shown while the window is hidden.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class ToastAlertSink implements AlertSink {
+
+    // Alerts listed in one toast; the rest are counted
+    private static final int MAX_LINES = 5;
+    private static final Duration SHOW_FOR = Duration.seconds(6);
+    private static final double MARGIN = 20;
+
+    private final Stage owner;
+
+    /**
+     * @param owner the window the notifications appear over
+     */
+    public ToastAlertSink(Stage owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public void deliver(List<StockAlert> alerts) {
+        String text = describe(alerts);
+        boolean urgent = alerts.stream().anyMatch(a -> a.getLevel() == StockAlert.Level.OUT_OF_STOCK);
+        Platform.runLater(() -> show(text, urgent));
+    }
+
+    private void show(String text, boolean urgent) {
+        if (!owner.isShowing()) {
+            return;
+        }
+        Label label = new Label(text);
+        label.setWrapText(true);
+        label.setMaxWidth(360);
+        label.setStyle("-fx-background-color: " + (urgent ? "#c0392b" : "#e67e22") + ";"
+                + "-fx-text-fill: white; -fx-font-size: 13px; -fx-padding: 12 16 12 16;"
+                + "-fx-background-radius: 8;"
+                + "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 8, 0, 0, 3);");
+
+        Popup popup = new Popup();
+        popup.getContent().add(label);
+        popup.setAutoHide(false);
+        label.setOnMouseClicked(e -> popup.hide());
+
+        popup.setOnShown(e -> {
+            popup.setX(owner.getX() + owner.getWidth() - popup.getWidth() - MARGIN);
+            popup.setY(owner.getY() + owner.getHeight() - popup.getHeight() - MARGIN);
+        });
+        popup.show(owner);
+
+        PauseTransition delay = new PauseTransition(SHOW_FOR);
+        delay.setOnFinished(e -> popup.hide());
+        delay.play();
+    }
+
+    private static String describe(List<StockAlert> alerts) {
+        StringBuilder sb = new StringBuilder();
+        int shown = Math.min(MAX_LINES, alerts.size());
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) {
+                sb.append('\n');
+            }
+            sb.append(alerts.get(i).getMessage());
+        }
+        if (alerts.size() > shown) {
+            sb.append("\n...and ").append(alerts.size() - shown).append(" more");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.yourname.stockwise.alert;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link AlertSink} that POSTs each batch of alerts as a JSON array to an HTTP endpoint, such
+ * as a local stand-in for a chat or paging webhook.
+ * <p>
+ * Requests are sent asynchronously so a slow endpoint never holds up the alert engine; a
+ * failed or rejected request is logged and not retried.
+ * </p>
+ *
+ * <p>Each element looks like:</p>
+ * <pre>
+ *     {"productId":"P0001","productName":"Widget","quantity":3,"threshold":10,
+ *      "level":"LOW","previous":"NORMAL","raisedAt":"2025-03-01T09:15:02Z",
+ *      "message":"Low stock: Widget (P0001) - 3 left, reorder level 10"}
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class WebhookAlertSink implements AlertSink {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI endpoint;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+    /**
+     * @param endpoint URL the alerts are posted to
+     */
+    public WebhookAlertSink(URI endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public void deliver(List<StockAlert> alerts) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(alerts)))
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null) {
+                System.err.println("Could not post " + alerts.size() + " stock alert(s) to " + endpoint + ": " + error.getMessage());
+            } else if (response.statusCode() / 100 != 2) {
+                System.err.println("Webhook " + endpoint + " rejected stock alerts: HTTP " + response.statusCode());
+            }
+        });
+    }
+
+    private static String toJson(List<StockAlert> alerts) {
+        StringBuilder sb = new StringBuilder("[");
+        for (StockAlert alert : alerts) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append("{\"productId\":").append(quote(alert.getProductId()))
+                    .append(",\"productName\":").append(quote(alert.getProductName()))
+                    .append(",\"quantity\":").append(alert.getQuantity())
+                    .append(",\"threshold\":").append(alert.getThreshold())
+                    .append(",\"level\":").append(quote(alert.getLevel().name()))
+                    .append(",\"previous\":").append(quote(alert.getPrevious().name()))
+                    .append(",\"raisedAt\":").append(quote(alert.getRaisedAt().toString()))
+                    .append(",\"message\":").append(quote(alert.getMessage()))
+                    .append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -1,27 +1,44 @@
 package com.yourname.stockwise.app;
 
+import java.io.File;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import com.yourname.stockwise.alert.StockAlertEngine;
+import com.yourname.stockwise.alert.ToastAlertSink;
 import com.yourname.stockwise.controller.ProductController;
 import com.yourname.stockwise.controller.SupplierController;
 import com.yourname.stockwise.controller.TransactionController;
+import com.yourname.stockwise.db.ConnectionPool;
+import com.yourname.stockwise.dao.DaoExecutor;
+import com.yourname.stockwise.dao.InventoryRepository;
+import com.yourname.stockwise.dao.LowStockTracker;
+import com.yourname.stockwise.dao.StockValuation;
 import com.yourname.stockwise.dao.ProductDAO;
 import com.yourname.stockwise.dao.SupplierDAO;
 import com.yourname.stockwise.dao.TransactionDAO;
+import com.yourname.stockwise.dao.WriteBehindFlusher;
 import com.yourname.stockwise.model.Product;
 import com.yourname.stockwise.model.Supplier;
 import com.yourname.stockwise.model.Transaction;
+import com.yourname.stockwise.report.ReportCardCell;
+import com.yourname.stockwise.report.ReportFormat;
+import com.yourname.stockwise.report.ReportGenerator;
+import com.yourname.stockwise.report.ReportPageSink;
+import com.yourname.stockwise.report.ReportSection;
 import com.yourname.stockwise.security.UserManagementView;
 import com.yourname.stockwise.style.HomePage;
 import com.yourname.stockwise.util.AlertHelper;
-import com.yourname.stockwise.visitor.InventoryReportVisitor;
-import com.yourname.stockwise.visitor.LowStockAlertVisitor;
-import com.yourname.stockwise.visitor.StockValueCalculatorVisitor;
+import com.yourname.stockwise.util.AsyncScope;
+import com.yourname.stockwise.util.LazyPagedList;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.FXCollections;
@@ -36,6 +53,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
@@ -43,10 +61,13 @@ import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.control.cell.TextFieldTableCell;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -54,7 +75,9 @@ import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
 
 /**
  * The {@code InventoryApp} class is a JavaFX application that provides a
@@ -101,6 +124,10 @@ public class InventoryApp extends Application {
 	private HomePage home = new HomePage();
 	private UserManagementView n = new UserManagementView();
 
+	// Rows per page and pages kept in memory for the lazily loaded tables
+	private static final int TABLE_PAGE_SIZE = 100;
+	private static final int TABLE_CACHED_PAGES = 10;
+
 	public static void main(String[] args) {
 		// TODO Auto-generated method stub
 		Application.launch(args);
@@ -120,62 +147,124 @@ public class InventoryApp extends Application {
 	public void start(Stage primaryStage) throws Exception {
 
 		//showDashboard(primaryStage);
+		// Pop up stock alerts raised in the background over whichever screen is open
+		StockAlertEngine.getInstance().addSink(new ToastAlertSink(primaryStage));
+		// Staged edits are written in the background; tell the user when that stops working
+		WriteBehindFlusher.getInstance().addListener(new WriteBehindFlusher.Listener() {
+			@Override
+			public void flushFailing(WriteBehindFlusher.Target target) {
+				Platform.runLater(() -> AlertHelper.showWarning("Changes Not Saved",
+						"Recent changes could not be saved to the database. They are kept and will be"
+								+ " retried, but will be lost if the application is closed before they are saved."));
+			}
+
+			@Override
+			public void flushRecovered(WriteBehindFlusher.Target target) {
+				Platform.runLater(() -> AlertHelper.showInfo("Changes Saved",
+						"The database is reachable again and your changes have been saved."));
+			}
+		});
+
 		HomePage home = new HomePage();
 		home.showHomePage(primaryStage); // Set homepage on launch
 
 	}
 
 	/**
-	 * Displays a table view of all products in inventory.
+	 * Releases shared resources such as pooled database connections when the
+	 * application exits.
+	 */
+	@Override
+	public void stop() {
+		DaoExecutor.shutdown();
+		InventoryRepository.shutdown();
+		StockAlertEngine.shutdown();
+		WriteBehindFlusher.shutdown(); // write staged changes before the pool closes
+		ConnectionPool.shutdown();
+	}
+
+	/**
+	 * Displays a table view of all products in inventory. Name, threshold and unit
+	 * price can be edited in place by double-clicking a cell.
 	 *
 	 * @param stage the JavaFX stage to display the product table
 	 */
 
 	public void showProductTable(Stage stage) {
 
-	    ProductDAO dao = new ProductDAO();
-	    List<Product> allProducts = dao.getAllProducts();
-	    ObservableList<Product> productList = FXCollections.observableArrayList(allProducts);
+	    // The DAO and its rows are loaded in the background once the screen is shown
+	    AsyncScope scope = new AsyncScope();
+	    AtomicReference<ProductDAO> daoRef = new AtomicReference<>();
+	    AtomicReference<LazyPagedList<Product>> productList = new AtomicReference<>();
 
-	    TableView<Product> tableView = new TableView<>(productList);
+	    TableView<Product> tableView = new TableView<>();
 	    tableView.setColumnResizePolicy(TableView.UNCONSTRAINED_RESIZE_POLICY);
 	    tableView.setPlaceholder(new Label("No products available"));
 
 	    // Define columns
 	    TableColumn<Product, String> idCol = new TableColumn<>("ID");
-	    idCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue().getId()));
+	    idCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue() == null ? null : cellData.getValue().getId()));
 
 	    TableColumn<Product, String> nameCol = new TableColumn<>("Name");
-	    nameCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue().getName()));
+	    nameCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue() == null ? null : cellData.getValue().getName()));
 
 	    TableColumn<Product, Integer> qtyCol = new TableColumn<>("Quantity");
-	    qtyCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getQuantity()));
+	    qtyCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue() == null ? null : cellData.getValue().getQuantity()));
 
 	    TableColumn<Product, Integer> thresholdCol = new TableColumn<>("Threshold");
-	    thresholdCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getThreshold()));
+	    thresholdCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue() == null ? null : cellData.getValue().getThreshold()));
 
 	    TableColumn<Product, Double> priceCol = new TableColumn<>("Unit Price");
-	    priceCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getUnitPrice()));
-	    priceCol.setCellFactory(col -> new TableCell<>() {
-	        @Override
-	        protected void updateItem(Double price, boolean empty) {
-	            super.updateItem(price, empty);
-	            if (empty || price == null) {
-	                setText(null);
-	            } else {
-	                setText(String.format("$%.2f", price));
-	            }
+	    priceCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue() == null ? null : cellData.getValue().getUnitPrice()));
+	    priceCol.setCellFactory(TextFieldTableCell.forTableColumn(
+	            editConverter(text -> Double.valueOf(text.replace("$", "")), price -> String.format("$%.2f", price))));
+
+	    // Name, threshold and price are edited in place. Edits are staged in the DAO and written
+	    // in the background by the write-behind flusher; quantity only changes through transactions
+	    tableView.setEditable(true);
+	    nameCol.setCellFactory(TextFieldTableCell.forTableColumn());
+	    nameCol.setOnEditCommit(e -> {
+	        String name = e.getNewValue() == null ? "" : e.getNewValue().trim();
+	        if (name.isEmpty()) {
+	            rejectEdit(tableView, "Product name cannot be empty.");
+	        } else {
+	            stageProductEdit(tableView, daoRef.get(), productList.get(), e.getRowValue(),
+	                    p -> p.setName(name), ProductDAO.COLUMN_NAME);
+	        }
+	    });
+	    thresholdCol.setCellFactory(TextFieldTableCell.forTableColumn(editConverter(Integer::valueOf, String::valueOf)));
+	    thresholdCol.setOnEditCommit(e -> {
+	        Integer threshold = e.getNewValue();
+	        if (threshold == null || threshold < 0) {
+	            rejectEdit(tableView, "Threshold must be a whole number of 0 or more.");
+	        } else {
+	            stageProductEdit(tableView, daoRef.get(), productList.get(), e.getRowValue(),
+	                    p -> p.setThreshold(threshold), ProductDAO.COLUMN_THRESHOLD);
+	        }
+	    });
+	    priceCol.setOnEditCommit(e -> {
+	        Double price = e.getNewValue();
+	        if (price == null || !Double.isFinite(price) || price < 0) {
+	            rejectEdit(tableView, "Unit price must be a number of 0 or more.");
+	        } else {
+	            stageProductEdit(tableView, daoRef.get(), productList.get(), e.getRowValue(),
+	                    p -> p.setUnitPrice(price), ProductDAO.COLUMN_UNIT_PRICE);
 	        }
 	    });
 
 	    TableColumn<Product, String> dateAddedCol = new TableColumn<>("Date Added");
 	    dateAddedCol.setCellValueFactory(cellData -> {
+	        if (cellData.getValue() == null) {
+	            return new ReadOnlyStringWrapper(null); // Row not loaded
+	        }
 	        LocalDateTime dateAdded = cellData.getValue().getDateAdded();
 	        String formattedDate = dateAdded != null ? dateAdded.toLocalDate().toString() : "N/A";
 	        return new ReadOnlyStringWrapper(formattedDate);
 	    });
 
 	    tableView.getColumns().addAll(idCol, nameCol, qtyCol, thresholdCol, priceCol, dateAddedCol);
+	    // The paged list can't be sorted in place; header clicks sort a copy of the cached rows
+	    LazyPagedList.sortInMemory(tableView, () -> daoRef.get() == null ? null : daoRef.get().getAllProducts());
 
 	    tableView.setStyle("""
 	        -fx-font-size: 14px;
@@ -201,9 +290,14 @@ public class InventoryApp extends Application {
 	    });
 	    Button deleteBtn = createStyledButton("🗑 Delete", e -> {
 	        Product selected = tableView.getSelectionModel().getSelectedItem();
-	        if (selected != null) {
-	            dao.deleteProduct(selected.getId());
-	            productList.remove(selected);
+	        ProductDAO dao = daoRef.get();
+	        // Removed from the cache now; the delete is written by the next write-behind flush
+	        if (selected != null && dao != null && dao.stageDelete(selected.getId())) {
+	            if (tableView.getItems() == productList.get()) {
+	                productList.get().refresh();
+	            } else {
+	                tableView.getItems().remove(selected);
+	            }
 	        }
 	    });
 
@@ -211,19 +305,37 @@ public class InventoryApp extends Application {
 	    buttonBar.setAlignment(Pos.CENTER);
 	    buttonBar.setPadding(new Insets(10, 0, 0, 0));
 
-	    // Date filter
+	    // Date and owner filters (answered from the DAO's in-memory indexes)
 	    DatePicker datePicker = new DatePicker();
 	    datePicker.setPromptText("Filter by Date");
 
+	    TextField ownerField = new TextField();
+	    ownerField.setPromptText("Filter by Owner");
+
 	    Button searchBtn = createStyledButton("🔍 Search", e -> {
+	        ProductDAO dao = daoRef.get();
+	        if (dao == null) {
+	            return; // Still loading
+	        }
 	        LocalDate selectedDate = datePicker.getValue();
+	        String owner = ownerField.getText().trim();
+	        List<Product> filtered;
 	        if (selectedDate != null) {
-	            List<Product> filtered = dao.getProductsByDate(selectedDate);
-	            productList.setAll(filtered);
+	            filtered = dao.getProductsByDate(selectedDate);
+	            if (!owner.isEmpty()) {
+	                filtered.removeIf(p -> !owner.equalsIgnoreCase(p.getUsername()));
+	            }
+	        } else if (!owner.isEmpty()) {
+	            filtered = dao.getProductsByUsername(owner);
+	        } else {
+	            productList.get().refresh();
+	            tableView.setItems(productList.get());
+	            return;
 	        }
+	        tableView.setItems(FXCollections.observableArrayList(filtered));
 	    });
 
-	    HBox searchBar = new HBox(10, datePicker, searchBtn);
+	    HBox searchBar = new HBox(10, datePicker, ownerField, searchBtn);
 	    searchBar.setAlignment(Pos.CENTER);
 
 	    // Layout
@@ -240,8 +352,89 @@ public class InventoryApp extends Application {
 	    stage.setScene(scene);
 	    stage.setTitle("Inventory Products");
 	    stage.show();
+	    scope.cancelWhenLeft(stage);
+
+	    scope.loadTable(tableView, () -> {
+	        ProductDAO dao = InventoryRepository.getInstance().getProductDAO();
+	        LazyPagedList<Product> rows = new LazyPagedList<>(dao.pageSource(), TABLE_PAGE_SIZE, TABLE_CACHED_PAGES, false);
+	        productList.set(rows);
+	        daoRef.set(dao);
+	        return rows;
+	    });
+	}
+
+
+	// Apply an edit to a copy of the product and stage it for the write-behind flusher
+	private void stageProductEdit(TableView<Product> tableView, ProductDAO dao, LazyPagedList<Product> pagedRows,
+			Product row, Consumer<Product> edit, String column) {
+		if (dao == null || row == null) {
+			tableView.refresh(); // Still loading
+			return;
+		}
+		Product edited = new Product(row.getId(), row.getName(), row.getQuantity(), row.getThreshold(),
+				row.getUnitPrice());
+		edited.setUsername(row.getUsername());
+		edited.setDateAdded(row.getDateAdded());
+		edit.accept(edited);
+		dao.stageUpdate(edited, column);
+		showEditedRow(tableView, pagedRows, row, edited);
+	}
+
+	// Apply an edit to a copy of the supplier and stage it for the write-behind flusher
+	private void stageSupplierEdit(TableView<Supplier> tableView, SupplierDAO dao, LazyPagedList<Supplier> pagedRows,
+			Supplier row, Consumer<Supplier> edit, String column) {
+		if (dao == null || row == null) {
+			tableView.refresh(); // Still loading
+			return;
+		}
+		Supplier edited = new Supplier(row.getId(), row.getName(), row.getEmail(), row.getPhone(), row.getAddress(),
+				row.getDateAdded());
+		edited.setSuppliedProducts(row.getSuppliedProducts());
+		edit.accept(edited);
+		dao.stageUpdate(edited, column);
+		showEditedRow(tableView, pagedRows, row, edited);
+	}
+
+	// Show an edited row: re-read the page from the DAO cache, or swap it into a filtered list
+	private <T> void showEditedRow(TableView<T> tableView, LazyPagedList<T> pagedRows, T row, T edited) {
+		if (tableView.getItems() == pagedRows) {
+			pagedRows.refresh();
+		} else {
+			int index = tableView.getItems().indexOf(row);
+			if (index >= 0) {
+				tableView.getItems().set(index, edited);
+			}
+		}
+	}
+
+	// Tell the user why an edit was refused and put the old value back
+	private void rejectEdit(TableView<?> tableView, String message) {
+		AlertHelper.showError("Invalid Input", message);
+		tableView.refresh();
+	}
+
+	private static String trimmed(String text) {
+		return text == null ? null : text.trim();
 	}
 
+	// Converter for editable cells; input that cannot be parsed becomes null
+	private static <T> StringConverter<T> editConverter(Function<String, T> parse, Function<T, String> format) {
+		return new StringConverter<>() {
+			@Override
+			public String toString(T value) {
+				return value == null ? "" : format.apply(value);
+			}
+
+			@Override
+			public T fromString(String text) {
+				try {
+					return text == null ? null : parse.apply(text.trim());
+				} catch (RuntimeException e) {
+					return null;
+				}
+			}
+		};
+	}
 
 	/**
 	 * Displays the main dashboard with navigation buttons to various application
@@ -390,46 +583,48 @@ public class InventoryApp extends Application {
 	/**
 	 * Displays a comprehensive inventory report on the given stage.
 	 * <p>
-	 * This method uses the {@link InventoryReportVisitor} to visit all products,
-	 * suppliers, and transactions in the inventory system, collecting their string
-	 * summaries. It then formats these summaries into sections and displays them in
-	 * a scrollable label. A "Back" button is provided to return to the dashboard
-	 * view.
+	 * Products and suppliers are streamed from the caches, and only the first page
+	 * of transactions is read, into a {@link ReportPageSink} that keeps the first
+	 * page of each section, so the screen opens quickly however large the ledger is.
+	 * Each section is shown as cards in its own tab. The full report can be exported
+	 * as CSV or HTML, and a "Back" button returns to the dashboard view.
 	 * </p>
 	 *
 	 * @param stage the JavaFX {@link Stage} where the report will be shown
 	 */
 	private void showInventoryReport(Stage stage) {
-		InventoryReportVisitor reportVisitor = new InventoryReportVisitor();
-
-		// Fetch data
-		ProductDAO productDAO = new ProductDAO();
-		SupplierDAO supplierDAO = new SupplierDAO();
-		TransactionDAO transactionDAO = new TransactionDAO();
-
-		productDAO.getAllProducts().forEach(p -> p.accept(reportVisitor));
-		supplierDAO.getAllSuppliers().forEach(s -> s.accept(reportVisitor));
-		transactionDAO.getAllTransactions().forEach(t -> t.accept(reportVisitor));
-
-		// Create card containers for each summary type
-		VBox productCards = createReportCards(reportVisitor.getProductSummaries(), "#3498db");
-		VBox supplierCards = createReportCards(reportVisitor.getSupplierSummaries(), "#27ae60");
-		VBox transactionCards = createReportCards(reportVisitor.getTransactionSummaries(), "#e67e22");
-
-		// ScrollPanes for scrolling
-		ScrollPane productScroll = new ScrollPane(productCards);
-		styleScrollPane(productScroll);
-
-		ScrollPane supplierScroll = new ScrollPane(supplierCards);
-		styleScrollPane(supplierScroll);
-
-		ScrollPane transactionScroll = new ScrollPane(transactionCards);
-		styleScrollPane(transactionScroll);
+		AsyncScope scope = new AsyncScope();
+
+		// One tab per section; each shows a spinner until the report is built
+		Tab productTab = new Tab("Products", AsyncScope.loadingPlaceholder("Loading products..."));
+		Tab supplierTab = new Tab("Suppliers", AsyncScope.loadingPlaceholder("Loading suppliers..."));
+		Tab transactionTab = new Tab("Transactions", AsyncScope.loadingPlaceholder("Loading transactions..."));
+
+		// Stock summary, filled in by the same pass as the report
+		Label summaryLabel = new Label("Calculating stock summary...");
+		summaryLabel.setFont(Font.font("Segoe UI", 15));
+		summaryLabel.setTextFill(Color.web("#34495e"));
+
+		// Build the first page of each section in the background; the ledger is only read up to the page size
+		ReportPageSink page = new ReportPageSink();
+		scope.run(() -> ReportGenerator.preview(InventoryRepository.getInstance(), page), timings -> {
+			InventoryRepository repository = InventoryRepository.getInstance();
+			// Create a list of cards for each section
+			productTab.setContent(createReportCards(page, ReportSection.PRODUCTS, "#3498db"));
+			supplierTab.setContent(createReportCards(page, ReportSection.SUPPLIERS, "#27ae60"));
+			transactionTab.setContent(createReportCards(page, ReportSection.TRANSACTIONS, "#e67e22"));
+			summaryLabel.setText(String.format("Total Inventory Value: R%.2f   |   Products below threshold: %d",
+					repository.getStockValuation().getTotal(), repository.getLowStockTracker().getLowStockCount()));
+			// How long the report took to build, for anyone chasing a slow screen
+			summaryLabel.setTooltip(new Tooltip(timings.toDisplayString()));
+		}, error -> {
+			summaryLabel.setText("");
+			productTab.setContent(new Label("Could not load report: " + error.getMessage()));
+		});
 
 		// TabPane for sections
 		TabPane tabPane = new TabPane();
-		tabPane.getTabs().addAll(new Tab("Products", productScroll), new Tab("Suppliers", supplierScroll),
-				new Tab("Transactions", transactionScroll));
+		tabPane.getTabs().addAll(productTab, supplierTab, transactionTab);
 		tabPane.getTabs().forEach(tab -> tab.setClosable(false));
 		tabPane.setTabMinWidth(160);
 		tabPane.setTabMaxWidth(220);
@@ -450,8 +645,19 @@ public class InventoryApp extends Application {
 		styleBackButton(backBtn);
 		backBtn.setOnAction(e -> showDashboard(stage));
 
+		// Export buttons write the full report, not just the page on screen
+		Button csvBtn = new Button("Export CSV");
+		styleBackButton(csvBtn);
+		csvBtn.setOnAction(e -> exportReport(stage, scope, ReportFormat.CSV));
+		Button htmlBtn = new Button("Export HTML");
+		styleBackButton(htmlBtn);
+		htmlBtn.setOnAction(e -> exportReport(stage, scope, ReportFormat.HTML));
+
+		HBox buttonRow = new HBox(15, backBtn, csvBtn, htmlBtn);
+		buttonRow.setAlignment(Pos.CENTER);
+
 		// Main container with elegant background
-		VBox mainContainer = new VBox(20, header, tabPane, backBtn);
+		VBox mainContainer = new VBox(20, header, summaryLabel, tabPane, buttonRow);
 		mainContainer.setPadding(new Insets(30));
 		mainContainer.setAlignment(Pos.TOP_CENTER);
 		mainContainer.setStyle("""
@@ -466,54 +672,57 @@ public class InventoryApp extends Application {
 		stage.setScene(scene);
 		stage.setTitle("Inventory Report");
 		stage.show();
+		scope.cancelWhenLeft(stage);
 	}
 
-	// Create card-style report items with colored accent border
-	private VBox createReportCards(List<String> summaries, String accentColor) {
-		VBox container = new VBox(15);
-		container.setPadding(new Insets(15));
-		container.setFillWidth(true);
-
-		if (summaries.isEmpty()) {
-			Label noData = new Label("No data available.");
-			noData.setFont(Font.font("Segoe UI", FontPosture.ITALIC, 16));
-			noData.setTextFill(Color.web("#7f8c8d"));
-			noData.setAlignment(Pos.CENTER);
-			noData.setMaxWidth(Double.MAX_VALUE);
-			container.getChildren().add(noData);
-			return container;
-		}
-
-		for (String summary : summaries) {
-			Label summaryLabel = new Label(summary);
-			summaryLabel.setWrapText(true);
-			summaryLabel.setFont(Font.font("Segoe UI", 16));
-			summaryLabel.setTextFill(Color.web("#34495e"));
-			summaryLabel.setPadding(new Insets(12, 15, 12, 15));
-			summaryLabel.setStyle(String.format("""
-					    -fx-background-color: white;
-					    -fx-background-radius: 12;
-					    -fx-border-radius: 12;
-					    -fx-border-color: %s;
-					    -fx-border-width: 3;
-					    -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 5, 0, 0, 3);
-					""", accentColor));
+	// Create card-style report items with colored accent border. The list is virtualized: only
+	// the cards in view exist, and they are reused while scrolling
+	private VBox createReportCards(ReportPageSink page, ReportSection section, String accentColor) {
+		List<String[]> rows = page.getRows(section);
+		ListView<String[]> cards = new ListView<>(FXCollections.observableList(rows));
+		cards.setCellFactory(ReportCardCell.factory(section, accentColor));
+		cards.setFocusTraversable(false);
+		cards.setStyle("""
+				    -fx-background-color: transparent;
+				    -fx-background-insets: 0;
+				    -fx-padding: 8 0 8 0;
+				""");
 
-			container.getChildren().add(summaryLabel);
+		Label noData = new Label("No data available.");
+		noData.setFont(Font.font("Segoe UI", FontPosture.ITALIC, 16));
+		noData.setTextFill(Color.web("#7f8c8d"));
+		cards.setPlaceholder(noData);
+
+		VBox container = new VBox(10, cards);
+		container.setAlignment(Pos.CENTER);
+		VBox.setVgrow(cards, Priority.ALWAYS);
+
+		long total = page.getTotalRows(section);
+		if (total > rows.size()) {
+			Label more = new Label(String.format("Showing the first %,d of %,d rows. Export the report to see them all.",
+					rows.size(), total));
+			more.setFont(Font.font("Segoe UI", FontPosture.ITALIC, 14));
+			more.setTextFill(Color.web("#7f8c8d"));
+			container.getChildren().add(more);
 		}
 
 		return container;
 	}
 
-	// Style ScrollPane to blend nicely
-	private void styleScrollPane(ScrollPane scrollPane) {
-		scrollPane.setFitToWidth(true);
-		scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-		scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-		scrollPane.setStyle("""
-				    -fx-background-color: transparent;
-				    -fx-padding: 0 5 0 0;
-				""");
+	// Ask for a file and write the full report to it in the background
+	private void exportReport(Stage stage, AsyncScope scope, ReportFormat format) {
+		FileChooser chooser = new FileChooser();
+		chooser.setTitle("Export Inventory Report");
+		chooser.setInitialFileName("inventory-report." + format.getExtension());
+		chooser.getExtensionFilters().add(
+				new FileChooser.ExtensionFilter(format.getDescription(), "*." + format.getExtension()));
+		File file = chooser.showSaveDialog(stage);
+		if (file == null) {
+			return;
+		}
+		scope.run(() -> ReportGenerator.export(InventoryRepository.getInstance(), file.toPath(), format),
+				timings -> AlertHelper.showInfo("Report Exported", "The inventory report was saved to " + file + "."),
+				error -> AlertHelper.showError("Export Failed", "Could not export the report: " + error.getMessage()));
 	}
 
 	// Style back button with hover effect
@@ -602,12 +811,11 @@ public class InventoryApp extends Application {
 	 * Displays a report of products that are below their stock threshold on the
 	 * specified stage.
 	 * <p>
-	 * This method uses the {@link LowStockAlertVisitor} to inspect all products in
-	 * the inventory and collects those with quantities below their defined
-	 * threshold. It then presents a message listing all low stock products with
-	 * their quantities. If no products are low in stock, a corresponding message is
-	 * displayed instead. A "Back" button allows the user to return to the dashboard
-	 * view.
+	 * The products below their defined threshold are read from the repository's
+	 * {@link LowStockTracker}, which keeps them ordered by severity as stock
+	 * changes, and listed with their quantities, most severe first. If no
+	 * products are low in stock, a corresponding message is displayed instead. A
+	 * "Back" button allows the user to return to the dashboard view.
 	 * </p>
 	 * 
 	 * @param stage the JavaFX {@link Stage} on which to display the low stock
@@ -615,16 +823,7 @@ public class InventoryApp extends Application {
 	 */
 
 	public void showLowStockReport(Stage stage) {
-	    // Load all products from DB
-	    ProductDAO productDAO = new ProductDAO();
-	    List<Product> allProducts = productDAO.getAllProducts();
-
-	    // Use visitor to find products below threshold
-	    LowStockAlertVisitor visitor = new LowStockAlertVisitor();
-	    allProducts.forEach(p -> p.accept(visitor));
-	    List<Product> lowStockList = visitor.getLowStockProducts();
-
-	    ObservableList<Product> lowStockProducts = FXCollections.observableArrayList(lowStockList);
+	    AsyncScope scope = new AsyncScope();
 
 	    // ===== Header =====
 	    Label header = new Label("📦 Low Stock Report");
@@ -634,10 +833,14 @@ public class InventoryApp extends Application {
 	    header.setMaxWidth(Double.MAX_VALUE);
 
 	    // ===== TableView =====
-	    TableView<Product> tableView = new TableView<>(lowStockProducts);
+	    TableView<Product> tableView = new TableView<>();
 	    tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 	    tableView.setPlaceholder(new Label("✔ All products are above threshold."));
 
+	    // Read the tracked low-stock products, most severe first, instead of scanning
+	    scope.loadTable(tableView, () -> FXCollections.observableArrayList(
+	            InventoryRepository.getInstance().getLowStockTracker().getLowStockProducts()));
+
 	    TableColumn<Product, String> nameCol = new TableColumn<>("Product Name");
 	    nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
 
@@ -698,6 +901,7 @@ public class InventoryApp extends Application {
 	    stage.setScene(scene);
 	    stage.setTitle("Low Stock Report");
 	    stage.show();
+	    scope.cancelWhenLeft(stage);
 	}
 
 
@@ -706,66 +910,100 @@ public class InventoryApp extends Application {
 	/**
 	 * Displays the total inventory value on the given JavaFX stage.
 	 * <p>
-	 * This method calculates the total value of all products in the inventory by
-	 * applying the {@link StockValueCalculatorVisitor} to each product. It then
-	 * updates the stage to show the total value with a label and provides a "Back"
-	 * button to return to the dashboard.
+	 * The total and the per-user breakdown are read from the repository's live
+	 * {@link StockValuation}, which is kept up to date as products change, so the
+	 * figure appears at once however large the catalogue is. A "Back" button
+	 * returns to the dashboard.
 	 * </p>
 	 * 
 	 * @param stage the JavaFX {@link Stage} on which to display the inventory value
 	 */
 
 	private void showStockValue(Stage stage) {
-		ProductDAO productDAO = new ProductDAO();
-		List<Product> allProducts = productDAO.getAllProducts();
-		StockValueCalculatorVisitor visitor = new StockValueCalculatorVisitor();
-
-		for (Product product : allProducts) {
-			product.accept(visitor);
-		}
+		AsyncScope scope = new AsyncScope();
+		Label label = new Label("Calculating total inventory value...");
+		Label breakdownLabel = new Label();
+		ScrollPane breakdownScroll = new ScrollPane(breakdownLabel);
+		breakdownScroll.setFitToWidth(true);
+		breakdownScroll.setPrefViewportHeight(120);
+
+		// The repository is created on first use, so fetch it off the FX thread
+		scope.run(() -> InventoryRepository.getInstance().getStockValuation(), valuation -> {
+			label.setText(String.format("Total Inventory Value: R%.2f", valuation.getTotal()));
+			StringBuilder breakdown = new StringBuilder("Value by user:");
+			valuation.getBreakdown(StockValuation.BY_USER).forEach((user, value) ->
+					breakdown.append(String.format("%n%s: R%.2f", user, value)));
+			breakdownLabel.setText(breakdown.toString());
+		}, error -> label.setText("Could not calculate the inventory value."));
 
-		Label label = new Label(String.format("Total Inventory Value: R%.2f", visitor.getTotalValue()));
 		Button backBtn = new Button("Back");
 		backBtn.setOnAction(e -> showDashboard(stage));
 
-		VBox root = new VBox(15, label, backBtn);
+		VBox root = new VBox(15, label, breakdownScroll, backBtn);
 		root.setStyle("-fx-padding: 20; -fx-alignment: center;");
 
-		stage.setScene(new Scene(root, 400, 200));
+		stage.setScene(new Scene(root, 400, 300));
+		scope.cancelWhenLeft(stage);
 	}
 
 	/**
-	 * Displays a table view of all registered suppliers.
+	 * Displays a table view of all registered suppliers. Name, email, phone and
+	 * address can be edited in place by double-clicking a cell.
 	 *
 	 * @param stage the JavaFX stage to display the suppliers
 	 */
 
 	public void showSuppliers(Stage stage) {
-	    // Create DAO and fetch data
-	    SupplierDAO supplierDAO = new SupplierDAO();
-	    List<Supplier> supplierListFromDB = supplierDAO.getAllSuppliers();
-	    ObservableList<Supplier> supplierList = FXCollections.observableArrayList(supplierListFromDB);
+	    // The DAO and its rows are loaded in the background once the screen is shown
+	    AsyncScope scope = new AsyncScope();
+	    AtomicReference<SupplierDAO> daoRef = new AtomicReference<>();
+	    AtomicReference<LazyPagedList<Supplier>> supplierList = new AtomicReference<>();
 
-	    TableView<Supplier> tableView = new TableView<>(supplierList);
+	    TableView<Supplier> tableView = new TableView<>();
 
 	    TableColumn<Supplier, String> idCol = new TableColumn<>("ID");
-	    idCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getId()));
+	    idCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getId()));
 
 	    TableColumn<Supplier, String> nameCol = new TableColumn<>("Name");
-	    nameCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getName()));
+	    nameCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getName()));
 
 	    TableColumn<Supplier, String> emailCol = new TableColumn<>("Email");
-	    emailCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getEmail()));
+	    emailCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getEmail()));
 
 	    TableColumn<Supplier, String> phoneCol = new TableColumn<>("Phone");
-	    phoneCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getPhone()));
+	    phoneCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getPhone()));
 
 	    TableColumn<Supplier, String> addressCol = new TableColumn<>("Address");
-	    addressCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getAddress()));
+	    addressCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getAddress()));
+
+	    // Supplier details are edited in place and written in the background by the write-behind flusher
+	    tableView.setEditable(true);
+	    nameCol.setCellFactory(TextFieldTableCell.forTableColumn());
+	    nameCol.setOnEditCommit(e -> {
+	        String name = e.getNewValue() == null ? "" : e.getNewValue().trim();
+	        if (name.isEmpty()) {
+	            rejectEdit(tableView, "Supplier name cannot be empty.");
+	        } else {
+	            stageSupplierEdit(tableView, daoRef.get(), supplierList.get(), e.getRowValue(),
+	                    sup -> sup.setName(name), SupplierDAO.COLUMN_NAME);
+	        }
+	    });
+	    emailCol.setCellFactory(TextFieldTableCell.forTableColumn());
+	    emailCol.setOnEditCommit(e -> stageSupplierEdit(tableView, daoRef.get(), supplierList.get(), e.getRowValue(),
+	            sup -> sup.setEmail(trimmed(e.getNewValue())), SupplierDAO.COLUMN_EMAIL));
+	    phoneCol.setCellFactory(TextFieldTableCell.forTableColumn());
+	    phoneCol.setOnEditCommit(e -> stageSupplierEdit(tableView, daoRef.get(), supplierList.get(), e.getRowValue(),
+	            sup -> sup.setPhone(trimmed(e.getNewValue())), SupplierDAO.COLUMN_PHONE));
+	    addressCol.setCellFactory(TextFieldTableCell.forTableColumn());
+	    addressCol.setOnEditCommit(e -> stageSupplierEdit(tableView, daoRef.get(), supplierList.get(), e.getRowValue(),
+	            sup -> sup.setAddress(trimmed(e.getNewValue())), SupplierDAO.COLUMN_ADDRESS));
 
 	    // ➕ NEW: Created At Date Column
 	    TableColumn<Supplier, String> dateCol = new TableColumn<>("Date Added");
 	    dateCol.setCellValueFactory(data -> {
+	        if (data.getValue() == null) {
+	            return new ReadOnlyStringWrapper(null); // Row not loaded
+	        }
 	        LocalDateTime dateTime = data.getValue().getDateAdded();
 	        String formattedDate = dateTime != null
 	                ? dateTime.format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm"))
@@ -798,10 +1036,11 @@ public class InventoryApp extends Application {
 	                alert.setHeaderText(null);
 	                alert.setContentText("Are you sure you want to delete supplier: " + supplier.getName() + "?");
 	                alert.showAndWait().ifPresent(response -> {
-	                    if (response == ButtonType.OK) {
-	                        boolean success = supplierDAO.deleteSupplier(supplier.getId());
-	                        if (success) {
-	                            getTableView().getItems().remove(supplier);
+	                    SupplierDAO supplierDAO = daoRef.get();
+	                    if (response == ButtonType.OK && supplierDAO != null) {
+	                        // Removed from the cache now; the delete is written by the next write-behind flush
+	                        if (supplierDAO.stageDelete(supplier.getId())) {
+	                            supplierList.get().refresh();
 	                        } else {
 	                            Alert errorAlert = new Alert(Alert.AlertType.ERROR);
 	                            errorAlert.setTitle("Delete Failed");
@@ -817,12 +1056,14 @@ public class InventoryApp extends Application {
 	        @Override
 	        protected void updateItem(Void item, boolean empty) {
 	            super.updateItem(item, empty);
-	            setGraphic(empty ? null : deleteButton);
+	            setGraphic(empty || getTableRow() == null || getTableRow().getItem() == null ? null : deleteButton);
 	        }
 	    });
 
 	    // Add all columns
 	    tableView.getColumns().addAll(idCol, nameCol, emailCol, phoneCol, addressCol, dateCol, deleteCol);
+	    // The paged list can't be sorted in place; header clicks sort a copy of the cached rows
+	    LazyPagedList.sortInMemory(tableView, () -> daoRef.get() == null ? null : daoRef.get().getAllSuppliers());
 	    tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 
 	    Button backBtn = new Button("Back");
@@ -834,8 +1075,17 @@ public class InventoryApp extends Application {
 
 	    Button refreshBtn = new Button("Refresh");
 	    refreshBtn.setOnAction(e -> {
-	        List<Supplier> refreshedList = supplierDAO.getAllSuppliers();
-	        tableView.setItems(FXCollections.observableArrayList(refreshedList));
+	        SupplierDAO supplierDAO = daoRef.get();
+	        if (supplierList.get() == null || supplierDAO == null) {
+	            return; // Still loading
+	        }
+	        // Fetch only suppliers changed or deleted since the last read
+	        refreshBtn.setDisable(true);
+	        scope.run(supplierDAO::refreshChanges, changed -> {
+	            refreshBtn.setDisable(false);
+	            supplierList.get().refresh();
+	            tableView.setItems(supplierList.get());
+	        }, error -> refreshBtn.setDisable(false));
 	    });
 
 	    HBox buttons = new HBox(10, backBtn, addSupplierBtn, refreshBtn);
@@ -849,6 +1099,15 @@ public class InventoryApp extends Application {
 	    stage.setScene(new Scene(root, 900, 500));
 	    stage.setTitle("Supplier List");
 	    stage.show();
+	    scope.cancelWhenLeft(stage);
+
+	    scope.loadTable(tableView, () -> {
+	        SupplierDAO supplierDAO = InventoryRepository.getInstance().getSupplierDAO();
+	        LazyPagedList<Supplier> rows = new LazyPagedList<>(supplierDAO.pageSource(), TABLE_PAGE_SIZE, TABLE_CACHED_PAGES, false);
+	        supplierList.set(rows);
+	        daoRef.set(supplierDAO);
+	        return rows;
+	    });
 	}
 
 	/**
@@ -858,33 +1117,35 @@ public class InventoryApp extends Application {
 	 */
 
 	public void showTransactions(Stage stage) {
-	    TransactionDAO transactionDAO = new TransactionDAO();
-	    List<Transaction> transactionListFromDB = transactionDAO.getAllTransactions();
-	    ObservableList<Transaction> transactionList = FXCollections.observableArrayList(transactionListFromDB);
+	    // Pages are read from the database in the background, with neighbours prefetched;
+	    // rows whose page has not arrived yet are null and render as blank
+	    AsyncScope scope = new AsyncScope();
+	    AtomicReference<TransactionDAO> daoRef = new AtomicReference<>();
+	    AtomicReference<LazyPagedList<Transaction>> transactionList = new AtomicReference<>();
 
-	    TableView<Transaction> tableView = new TableView<>(transactionList);
+	    TableView<Transaction> tableView = new TableView<>();
 	    tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 
 	    TableColumn<Transaction, String> idCol = new TableColumn<>("ID");
-	    idCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getId()));
+	    idCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getId()));
 	    idCol.setMaxWidth(80);
 	    idCol.setStyle("-fx-alignment: CENTER;");
 
 	    TableColumn<Transaction, String> productCol = new TableColumn<>("Product");
-	    productCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getProduct().getName()));
+	    productCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getProduct().getName()));
 
 	    TableColumn<Transaction, String> typeCol = new TableColumn<>("Type");
-	    typeCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getType().toString()));
+	    typeCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getType().toString()));
 	    typeCol.setMaxWidth(100);
 	    typeCol.setStyle("-fx-alignment: CENTER;");
 
 	    TableColumn<Transaction, Integer> qtyCol = new TableColumn<>("Quantity");
-	    qtyCol.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getQuantity()));
+	    qtyCol.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue() == null ? null : data.getValue().getQuantity()));
 	    qtyCol.setMaxWidth(100);
 	    qtyCol.setStyle("-fx-alignment: CENTER;");
 
 	    TableColumn<Transaction, String> dateCol = new TableColumn<>("Date");
-	    dateCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getTimestamp().toString()));
+	    dateCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getTimestamp().toString()));
 
 	    TableColumn<Transaction, Void> deleteCol = new TableColumn<>("Delete");
 	    deleteCol.setMaxWidth(100);
@@ -920,11 +1181,15 @@ public class InventoryApp extends Application {
 
 	            deleteButton.setOnAction(e -> {
 	                Transaction transaction = getTableView().getItems().get(getIndex());
+	                TransactionDAO transactionDAO = daoRef.get();
+	                if (transaction == null || transactionDAO == null) {
+	                    return; // Row still loading
+	                }
 	                boolean confirmed = AlertHelper.showConfirmation("Confirm Delete",
 	                        "Are you sure you want to delete transaction " + transaction.getId() + "?");
 	                if (confirmed) {
-	                    transactionDAO.deleteTransaction(transaction.getId());
-	                    transactionList.remove(transaction);
+	                    scope.run(() -> transactionDAO.deleteTransaction(transaction.getId()),
+	                            deleted -> transactionList.get().refresh());
 	                }
 	            });
 	        }
@@ -932,7 +1197,7 @@ public class InventoryApp extends Application {
 	        @Override
 	        protected void updateItem(Void item, boolean empty) {
 	            super.updateItem(item, empty);
-	            if (empty) {
+	            if (empty || getTableRow() == null || getTableRow().getItem() == null) {
 	                setGraphic(null);
 	            } else {
 	                setGraphic(deleteButton);
@@ -941,6 +1206,8 @@ public class InventoryApp extends Application {
 	    });
 
 	    tableView.getColumns().addAll(idCol, productCol, typeCol, qtyCol, dateCol, deleteCol);
+	    // Sorting would page in the whole ledger, so the lazy transaction table keeps its order
+	    tableView.getColumns().forEach(column -> column.setSortable(false));
 
 	    Button backBtn = new Button("Back");
 	    backBtn.setStyle("-fx-background-color: #3498db; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 8 20 8 20; -fx-background-radius: 5; -fx-cursor: hand;");
@@ -973,6 +1240,15 @@ public class InventoryApp extends Application {
 	    stage.setScene(new Scene(root, 750, 450));
 	    stage.setTitle("Transactions");
 	    stage.show();
+	    scope.cancelWhenLeft(stage);
+
+	    scope.loadTable(tableView, () -> {
+	        TransactionDAO transactionDAO = InventoryRepository.getInstance().getTransactionDAO();
+	        LazyPagedList<Transaction> rows = new LazyPagedList<>(transactionDAO.pageSource(), TABLE_PAGE_SIZE, TABLE_CACHED_PAGES, true);
+	        transactionList.set(rows);
+	        daoRef.set(transactionDAO);
+	        return rows;
+	    });
 	}
 
 	/**
@@ -1,9 +1,11 @@
 package com.yourname.stockwise.controller;
 
 import com.yourname.stockwise.app.InventoryApp;
+import com.yourname.stockwise.dao.InventoryRepository;
 import com.yourname.stockwise.dao.ProductDAO;
 import com.yourname.stockwise.model.Product;
 import com.yourname.stockwise.util.AlertHelper;
+import com.yourname.stockwise.util.AsyncScope;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -14,9 +16,6 @@ import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 /**
  * Controller class to handle product-related UI interactions.
@@ -27,7 +26,6 @@ import java.util.Set;
  */
 public class ProductController {
 
-    private final ProductDAO productDAO = new ProductDAO();
     private final InventoryApp app = new InventoryApp();
 
     /**
@@ -37,13 +35,13 @@ public class ProductController {
      * @param stage The JavaFX Stage to show the form in.
      */
     public void showAddProductForm(Stage stage) {
-        // Generate unique product ID
-        String autoId = generateNextProductId(productDAO.getAllProducts());
+        // The next ID is generated in the background
+        AsyncScope scope = new AsyncScope();
 
         Label titleLabel = new Label("➕ Add New Product");
         titleLabel.setFont(new Font("Arial", 20));
 
-        TextField idField = new TextField(autoId);
+        TextField idField = new TextField("Generating ID...");
         idField.setPromptText("Product ID");
         idField.setEditable(false);
         idField.setStyle("-fx-background-color: #eeeeee; -fx-text-fill: #333;");
@@ -70,8 +68,19 @@ public class ProductController {
         Button cancelBtn = new Button("⬅ Back");
 
         saveBtn.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-weight: bold;");
+        saveBtn.setDisable(true); // Enabled once the product ID is ready
         cancelBtn.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold;");
 
+        // Allocate a unique product ID from this terminal's reserved block; Save waits for it
+        Runnable loadNextId = () -> {
+            saveBtn.setDisable(true);
+            idField.setText("Generating ID...");
+            scope.run(() -> InventoryRepository.getInstance().getProductDAO().nextProductId(), autoId -> {
+                idField.setText(autoId);
+                saveBtn.setDisable(false);
+            });
+        };
+
         saveBtn.setOnAction(e -> {
             boolean confirmed = AlertHelper.showConfirmation("Confirm Save",
                     "Are you sure you want to save this product?");
@@ -97,17 +106,23 @@ public class ProductController {
                 // Update label to show date (optional)
                 dateAddedLabel.setText("Date Added: " + now.toString());
 
-                boolean added = productDAO.addProduct(newProduct);
-                if (added) {
-                    productDAO.saveAllToDatabase();
-                    AlertHelper.showInfo("Product Added", "Product added successfully!");
-                    app.clearFields(idField, nameField, qtyField, thresholdField, priceField);
-                    idField.setText(generateNextProductId(productDAO.getAllProducts()));
-                    // Reset date label for new entry
-                    dateAddedLabel.setText("Date Added: " + LocalDateTime.now().toString());
-                } else {
+                saveBtn.setDisable(true);
+                scope.run(() -> InventoryRepository.getInstance().getProductDAO().stageAdd(newProduct), added -> {
+                    if (added) {
+                        // The product is saved; fetching the next ID is separate and reports its own failure
+                        AlertHelper.showInfo("Product Added", "Product added successfully!");
+                        app.clearFields(idField, nameField, qtyField, thresholdField, priceField);
+                        // Reset date label for new entry
+                        dateAddedLabel.setText("Date Added: " + LocalDateTime.now().toString());
+                        loadNextId.run();
+                    } else {
+                        saveBtn.setDisable(false);
+                        AlertHelper.showError("Save Failed", "A product with ID " + id + " already exists.");
+                    }
+                }, error -> {
+                    saveBtn.setDisable(false);
                     AlertHelper.showError("Save Failed", "Failed to add product.");
-                }
+                });
 
             } catch (NumberFormatException ex) {
                 AlertHelper.showError("Invalid Input", "Please enter valid numeric values.");
@@ -137,21 +152,9 @@ public class ProductController {
 
         Scene scene = new Scene(form, 400, 520); // slightly taller for new label
         stage.setScene(scene);
-    }
-    private String generateNextProductId(List<Product> products) {
-        Set<String> existingIds = new HashSet<>();
-        for (Product p : products) {
-            existingIds.add(p.getId());
-        }
-
-        int num = 1;
-        while (true) {
-            String candidate = "P" + String.format("%04d", num);
-            if (!existingIds.contains(candidate)) {
-                return candidate;
-            }
-            num++;
-        }
+        scope.cancelWhenLeft(stage);
+
+        loadNextId.run();
     }
 
 }
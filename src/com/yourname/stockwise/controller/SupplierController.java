@@ -1,9 +1,10 @@
 package com.yourname.stockwise.controller;
 
 import com.yourname.stockwise.app.InventoryApp;
-import com.yourname.stockwise.dao.SupplierDAO;
+import com.yourname.stockwise.dao.InventoryRepository;
 import com.yourname.stockwise.model.Supplier;
 import com.yourname.stockwise.util.AlertHelper;
+import com.yourname.stockwise.util.AsyncScope;
 
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -16,10 +17,11 @@ import java.time.LocalDateTime;
 
 public class SupplierController {
 
-    private final SupplierDAO supplierDAO = new SupplierDAO();
     private final InventoryApp app = new InventoryApp();
 
     public void showAddSupplierForm(Stage stage) {
+        AsyncScope scope = new AsyncScope();
+
         Label title = new Label("Add New Supplier");
         title.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #34495e;");
 
@@ -77,15 +79,24 @@ public class SupplierController {
                         createdAt // ✅ Use the stored timestamp
                 );
 
-                boolean success = supplierDAO.addSupplier(supplier);
-                if (success) {
-                    statusLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
-                    statusLabel.setText("Supplier added successfully!");
-                    app.clearFields(idField, nameField, emailField, phoneField, addressField);
-                } else {
+                saveBtn.setDisable(true);
+                statusLabel.setStyle("-fx-text-fill: #555; -fx-font-weight: bold;");
+                statusLabel.setText("Saving...");
+                scope.run(() -> InventoryRepository.getInstance().getSupplierDAO().stageAdd(supplier), success -> {
+                    saveBtn.setDisable(false);
+                    if (success) {
+                        statusLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
+                        statusLabel.setText("Supplier added successfully!");
+                        app.clearFields(idField, nameField, emailField, phoneField, addressField);
+                    } else {
+                        statusLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
+                        statusLabel.setText("A supplier with this ID already exists.");
+                    }
+                }, error -> {
+                    saveBtn.setDisable(false);
                     statusLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
-                    statusLabel.setText("Failed to add supplier to database.");
-                }
+                    statusLabel.setText("Error: " + error.getMessage());
+                });
 
             } catch (Exception ex) {
                 ex.printStackTrace();
@@ -110,6 +121,7 @@ public class SupplierController {
                 + "-fx-background-radius: 12;");
 
         stage.setScene(new Scene(form, 420, 500));
+        scope.cancelWhenLeft(stage);
     }
 
     private boolean validateInputs(TextField idField, TextField nameField, Label statusLabel) {
@@ -5,12 +5,12 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import com.yourname.stockwise.app.InventoryApp;
-import com.yourname.stockwise.dao.ProductDAO;
-import com.yourname.stockwise.dao.TransactionDAO;
+import com.yourname.stockwise.dao.InventoryRepository;
 import com.yourname.stockwise.model.Product;
 import com.yourname.stockwise.model.Transaction;
 import com.yourname.stockwise.model.TransactionType;
 import com.yourname.stockwise.util.AlertHelper;
+import com.yourname.stockwise.util.AsyncScope;
 
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
@@ -40,15 +40,17 @@ public class TransactionController {
         Label title = new Label("Add New Transaction");
         title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-text-fill: #34495e;");
 
-        // Transaction ID input field
+        // Transaction ID field, assigned automatically and read-only
         TextField idField = new TextField();
-        idField.setPromptText("Transaction ID");
+        idField.setPromptText("Transaction ID (assigned automatically)");
+        idField.setEditable(false);
+        idField.setFocusTraversable(false);
         styleTextField(idField);
 
-        // ComboBox to select a Product from the database
-        ProductDAO productDAO = new ProductDAO();
+        // ComboBox to select a Product from the database, filled in the background
+        AsyncScope scope = new AsyncScope();
         ComboBox<Product> productComboBox = new ComboBox<>();
-        productComboBox.getItems().addAll(productDAO.getAllProducts());
+        productComboBox.setPromptText("Loading products...");
         // Custom string converter to show product name instead of object reference
         productComboBox.setConverter(new StringConverter<>() {
             @Override
@@ -154,37 +156,33 @@ public class TransactionController {
                 // Create transaction model instance
                 Transaction transaction = new Transaction(transactionId, selectedProduct, type, quantity, timestamp);
 
-                // Persist transaction in database
-                TransactionDAO transactionDAO = new TransactionDAO();
-                boolean success = transactionDAO.addTransaction(transaction);
-
-                if (success) {
-                    // Update product quantity based on transaction type
-                    if (type == TransactionType.RESTOCK) {
-                        selectedProduct.setQuantity(selectedProduct.getQuantity() + quantity);
-                    } else if (type == TransactionType.SALE) {
-                        selectedProduct.setQuantity(selectedProduct.getQuantity() - quantity);
+                // Record the transaction and apply its stock change atomically, off the FX thread
+                saveBtn.setDisable(true);
+                scope.run(() -> InventoryRepository.getInstance().getTransactionDAO().recordStockMovement(transaction).isPresent(), success -> {
+                    saveBtn.setDisable(false);
+                    if (success) {
+                        // Show success message
+                        statusLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
+                        statusLabel.setText("Transaction added successfully!");
+
+                        // Reset form fields for next entry
+                        fillTransactionId(scope, idField);
+                        qtyField.clear();
+                        productComboBox.getSelectionModel().clearSelection();
+                        typeComboBox.getSelectionModel().clearSelection();
+                        datePicker.setValue(LocalDate.now());
+                        hourField.clear();
+                        minuteField.clear();
+                    } else {
+                        // Failure saving to database
+                        statusLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
+                        statusLabel.setText("Failed to save transaction (check stock on hand).");
                     }
-                    // Save updated product back to database
-                    productDAO.updateProduct(selectedProduct);
-
-                    // Show success message
-                    statusLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
-                    statusLabel.setText("Transaction added successfully!");
-
-                    // Reset form fields for next entry
-                    idField.clear();
-                    qtyField.clear();
-                    productComboBox.getSelectionModel().clearSelection();
-                    typeComboBox.getSelectionModel().clearSelection();
-                    datePicker.setValue(LocalDate.now());
-                    hourField.clear();
-                    minuteField.clear();
-                } else {
-                    // Failure saving to database
+                }, error -> {
+                    saveBtn.setDisable(false);
                     statusLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
-                    statusLabel.setText("Failed to save transaction to the database.");
-                }
+                    statusLabel.setText("An unexpected error occurred.");
+                });
             } catch (Exception ex) {
                 // Catch-all for unexpected errors
                 ex.printStackTrace();
@@ -211,6 +209,29 @@ public class TransactionController {
 
         // Set scene and show form
         stage.setScene(new Scene(form, 420, 520));
+        scope.cancelWhenLeft(stage);
+
+        scope.run(() -> {
+            return InventoryRepository.getInstance().getProductDAO().getAllProducts();
+        }, products -> {
+            productComboBox.getItems().setAll(products);
+            productComboBox.setPromptText("Select Product");
+        });
+        fillTransactionId(scope, idField);
+    }
+
+    /**
+     * Assigns a new transaction id to the form in the background.
+     * The field is left empty if no id can be obtained, which blocks saving.
+     *
+     * @param scope   the form's background scope
+     * @param idField the field showing the id
+     */
+    private void fillTransactionId(AsyncScope scope, TextField idField) {
+        idField.clear();
+        scope.run(() -> InventoryRepository.getInstance().getTransactionDAO().nextTransactionId(),
+                idField::setText,
+                error -> idField.setPromptText("Transaction ID unavailable (check database)"));
     }
 
     /**
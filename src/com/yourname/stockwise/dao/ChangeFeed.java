@@ -0,0 +1,130 @@
+package com.yourname.stockwise.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how far a cached table has been synchronised with the database, so a DAO can
+ * fetch only the rows changed since its last read instead of reloading the whole table.
+ * <p>
+ * Changed rows are found through the table's {@code updated_at} column, which MySQL bumps on
+ * every insert and update. Deleted rows leave a tombstone in {@code deleted_rows}, written by
+ * the DAO in the same transaction as the delete. The high-water mark is database time taken
+ * before each read, and each incremental read looks back a little further
+ * ({@code stockwise.sync.overlapMs}, default 5000 ms) so rows committed by slower
+ * transactions with an earlier timestamp are not missed; re-reading a row is harmless.
+ * </p>
+ *
+ * <p>Tombstones are kept for {@value #TOMBSTONE_RETENTION_DAYS} days. A cache whose mark is
+ * older than that, or that was never loaded, must be reloaded in full.</p>
+ */
+final class ChangeFeed {
+
+    static final int TOMBSTONE_RETENTION_DAYS = 7;
+
+    private static final long OVERLAP_MS = Math.max(0L, Long.getLong("stockwise.sync.overlapMs", 5_000L));
+    private static final long RETENTION_MS = TimeUnit.DAYS.toMillis(TOMBSTONE_RETENTION_DAYS);
+
+    private final String table;
+    private Timestamp highWaterMark;
+
+    /**
+     * @param table the synchronised table, which must have an {@code updated_at} column
+     */
+    ChangeFeed(String table) {
+        this.table = table;
+    }
+
+    /**
+     * Returns the lower bound for the next incremental read, or null if the cache must be
+     * reloaded in full because it was never loaded or its mark predates the kept tombstones.
+     *
+     * @param now current database time
+     */
+    synchronized Timestamp since(Timestamp now) {
+        if (highWaterMark == null || now.getTime() - highWaterMark.getTime() > RETENTION_MS) {
+            return null;
+        }
+        return new Timestamp(highWaterMark.getTime() - OVERLAP_MS);
+    }
+
+    /**
+     * Records that every change visible at {@code readStart} is now cached.
+     *
+     * @param readStart database time taken before the read began
+     */
+    synchronized void advance(Timestamp readStart) {
+        if (highWaterMark == null || readStart.after(highWaterMark)) {
+            highWaterMark = readStart;
+        }
+    }
+
+    /**
+     * Forgets the mark so the next sync reloads in full.
+     */
+    synchronized void reset() {
+        highWaterMark = null;
+    }
+
+    /**
+     * @return the current database time, with millisecond precision
+     */
+    static Timestamp databaseNow(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT NOW(3)")) {
+            rs.next();
+            return rs.getTimestamp(1);
+        }
+    }
+
+    /**
+     * Writes tombstones for deleted ids. Call inside the transaction that deletes the rows.
+     */
+    void recordDeletes(Connection conn, Collection<String> ids, int batchSize) throws SQLException {
+        JdbcBatch.execute(conn,
+                "INSERT INTO deleted_rows (table_name, id) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP(3)",
+                ids, batchSize, (ps, id) -> {
+                    ps.setString(1, table);
+                    ps.setString(2, id);
+                });
+    }
+
+    /**
+     * @return ids deleted at or after {@code since}
+     */
+    List<String> deletedSince(Connection conn, Timestamp since) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT id FROM deleted_rows WHERE table_name = ? AND deleted_at >= ?")) {
+            ps.setString(1, table);
+            ps.setTimestamp(2, since);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Drops this table's tombstones that are older than the retention period.
+     */
+    void pruneTombstones(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "DELETE FROM deleted_rows WHERE table_name = ? AND deleted_at < NOW(3) - INTERVAL "
+                        + TOMBSTONE_RETENTION_DAYS + " DAY")) {
+            ps.setString(1, table);
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.yourname.stockwise.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.yourname.stockwise.sync.EntityChange;
+
+/**
+ * Records which cached entities have changed since they were last written to the database.
+ * <p>
+ * Changes are keyed by entity id and coalesced, so many edits to the same row collapse
+ * into a single pending write: a new row that is edited stays a single insert, two edits
+ * merge their changed columns, and a row that is created and deleted before a flush is
+ * dropped entirely. Pending changes keep the order in which each row was first touched.
+ * </p>
+ *
+ * @param <T> the entity type
+ */
+final class ChangeTracker<T> {
+
+    /** What has to happen to a row on the next flush. */
+    enum Kind {
+        /** Row must be inserted (or overwritten in full). */
+        NEW,
+        /** Some columns of an existing row must be updated. */
+        MODIFIED,
+        /** Row must be deleted. */
+        DELETED
+    }
+
+    /**
+     * A coalesced pending change for one entity.
+     *
+     * @param <T> the entity type
+     */
+    static final class Change<T> {
+        private final String id;
+        private Kind kind;
+        private T entity;
+        private Set<String> columns; // null means every column
+        private boolean mayExistInDb;
+
+        private Change(String id, Kind kind, T entity, Set<String> columns, boolean mayExistInDb) {
+            this.id = id;
+            this.kind = kind;
+            this.entity = entity;
+            this.columns = columns;
+            this.mayExistInDb = mayExistInDb;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        T getEntity() {
+            return entity;
+        }
+
+        /**
+         * @return the changed columns of a {@link Kind#MODIFIED} change, or null if every column changed
+         */
+        Set<String> getColumns() {
+            return columns == null ? null : Collections.unmodifiableSet(columns);
+        }
+    }
+
+    private LinkedHashMap<String, Change<T>> pending = new LinkedHashMap<>();
+
+    /**
+     * Records a newly created entity.
+     */
+    synchronized void markNew(String id, T entity) {
+        merge(new Change<>(id, Kind.NEW, entity, null, false));
+    }
+
+    /**
+     * Records an update. With no columns given, the whole row is treated as changed.
+     */
+    synchronized void markModified(String id, T entity, String... columns) {
+        Set<String> changed = columns == null || columns.length == 0
+                ? null
+                : new LinkedHashSet<>(Arrays.asList(columns));
+        merge(new Change<>(id, Kind.MODIFIED, entity, changed, true));
+    }
+
+    /**
+     * Records a deletion.
+     */
+    synchronized void markDeleted(String id) {
+        merge(new Change<>(id, Kind.DELETED, null, null, true));
+    }
+
+    /**
+     * @return true if a change to the given id is waiting to be written
+     */
+    synchronized boolean isPending(String id) {
+        return pending.containsKey(id);
+    }
+
+    synchronized boolean hasChanges() {
+        return !pending.isEmpty();
+    }
+
+    synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Removes and returns every pending change, in first-touch order.
+     */
+    synchronized List<Change<T>> drain() {
+        List<Change<T>> drained = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        return drained;
+    }
+
+    /**
+     * Puts back changes whose flush failed. They are placed ahead of anything recorded
+     * since they were drained, and newer edits to the same rows are merged on top, so
+     * the next flush still applies everything in the original order.
+     */
+    synchronized void requeue(List<Change<T>> failed) {
+        LinkedHashMap<String, Change<T>> newer = pending;
+        pending = new LinkedHashMap<>();
+        for (Change<T> change : failed) {
+            pending.put(change.id, change);
+        }
+        for (Change<T> change : newer.values()) {
+            merge(change);
+        }
+    }
+
+    /**
+     * Forgets every pending change, e.g. after the cache has been reloaded from the database.
+     */
+    synchronized void clear() {
+        pending.clear();
+    }
+
+    private void merge(Change<T> incoming) {
+        Change<T> existing = pending.get(incoming.id);
+        if (existing == null) {
+            pending.put(incoming.id, incoming);
+            return;
+        }
+
+        switch (incoming.kind) {
+            case NEW:
+                // Re-creating a deleted row, or replacing a pending write: write the full row
+                if (existing.kind != Kind.NEW) {
+                    existing.mayExistInDb = true;
+                }
+                existing.kind = Kind.NEW;
+                existing.entity = incoming.entity;
+                existing.columns = null;
+                break;
+            case MODIFIED:
+                if (existing.kind == Kind.DELETED) {
+                    break; // Edits to a row already scheduled for deletion are meaningless
+                }
+                existing.entity = incoming.entity;
+                if (existing.kind == Kind.MODIFIED) {
+                    if (existing.columns == null || incoming.columns == null) {
+                        existing.columns = null;
+                    } else {
+                        existing.columns.addAll(incoming.columns);
+                    }
+                }
+                break;
+            case DELETED:
+                if (existing.kind == Kind.NEW && !existing.mayExistInDb) {
+                    pending.remove(incoming.id); // Never reached the database
+                } else {
+                    existing.kind = Kind.DELETED;
+                    existing.entity = null;
+                    existing.columns = null;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Groups {@link Kind#MODIFIED} changes by their changed column set so each group can be
+     * sent as one batched UPDATE statement.
+     *
+     * @param changes   drained changes
+     * @param allColumns column list used when a change touched every column
+     * @return column list to changes, in first-touch order
+     */
+    static <T> Map<List<String>, List<Change<T>>> groupUpdatesByColumns(List<Change<T>> changes,
+                                                                        List<String> allColumns) {
+        Map<List<String>, List<Change<T>>> groups = new LinkedHashMap<>();
+        for (Change<T> change : changes) {
+            if (change.kind != Kind.MODIFIED) {
+                continue;
+            }
+            List<String> columns = new ArrayList<>();
+            for (String column : allColumns) {
+                if (change.columns == null || change.columns.contains(column)) {
+                    columns.add(column);
+                }
+            }
+            if (!columns.isEmpty()) {
+                groups.computeIfAbsent(columns, k -> new ArrayList<>()).add(change);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Describes flushed changes for broadcast to other processes.
+     *
+     * @param table   the table the changes were written to
+     * @param changes drained changes that have been committed
+     * @return one entity change per row
+     */
+    static <T> List<EntityChange> toEntityChanges(String table, List<Change<T>> changes) {
+        List<EntityChange> result = new ArrayList<>(changes.size());
+        for (Change<T> change : changes) {
+            result.add(change.kind == Kind.DELETED
+                    ? EntityChange.deleted(table, change.id)
+                    : EntityChange.upserted(table, change.id));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+package com.yourname.stockwise.dao;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.yourname.stockwise.db.ConnectionPool;
+
+/**
+ * Runs blocking DAO calls away from the JavaFX application thread.
+ * <p>
+ * Every call submitted here gets a {@link CompletableFuture} that completes with the DAO's
+ * result or fails with the exception it threw. At most as many calls as the connection pool
+ * has connections run at once; the rest wait for a permit instead of queuing inside the pool.
+ * </p>
+ *
+ * <p>The {@code stockwise.dao.executor} system property selects the {@link Mode}:</p>
+ * <ul>
+ *     <li>{@code virtual} (default) - each call runs on its own virtual thread, so thousands of
+ *     pending lookups cost no platform threads while they wait for a permit.</li>
+ *     <li>{@code platform} - calls run on a fixed pool of daemon threads, one per connection.</li>
+ * </ul>
+ *
+ * <p>{@link #getMetrics()} reports calls in flight, calls waiting and how long they waited.</p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class DaoExecutor {
+
+    /**
+     * How calls are mapped onto threads.
+     */
+    public enum Mode {
+        /** One virtual thread per call. */
+        VIRTUAL,
+        /** A fixed pool of platform threads. */
+        PLATFORM
+    }
+
+    private static final Object INSTANCE_LOCK = new Object();
+    private static DaoExecutor instance;
+
+    private final Mode mode;
+    private final int maxConcurrent;
+    private final ExecutorService workers;
+    private final Semaphore permits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalQueueWaitNanos = new AtomicLong();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    private DaoExecutor(Mode mode, int maxConcurrent) {
+        this.mode = mode;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+        if (mode == Mode.VIRTUAL) {
+            this.workers = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("stockwise-dao-vt-", 1).factory());
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(this.maxConcurrent, r -> {
+                Thread t = new Thread(r, "stockwise-dao-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /**
+     * Returns the process-wide executor, starting it on first use.
+     *
+     * @return the shared executor
+     */
+    public static DaoExecutor getInstance() {
+        synchronized (INSTANCE_LOCK) {
+            if (instance == null) {
+                String configured = System.getProperty("stockwise.dao.executor", "virtual");
+                Mode mode = "platform".equals(configured.trim().toLowerCase(Locale.ROOT)) ? Mode.PLATFORM : Mode.VIRTUAL;
+                instance = new DaoExecutor(mode, ConnectionPool.getInstance().getMaxPoolSize());
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Stops the shared executor, letting running calls finish for up to five seconds.
+     * Safe to call more than once.
+     */
+    public static void shutdown() {
+        DaoExecutor executor;
+        synchronized (INSTANCE_LOCK) {
+            executor = instance;
+            instance = null;
+        }
+        if (executor != null) {
+            executor.workers.shutdown();
+            try {
+                executor.workers.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Runs a DAO call on a worker thread once a permit is free.
+     *
+     * @param call the blocking call
+     * @param <T>  the result type
+     * @return a future completed with the call's result, or exceptionally with what it threw
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> call) {
+        submitted.incrementAndGet();
+        queued.incrementAndGet();
+        long submittedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            boolean acquired = false;
+            try {
+                permits.acquire();
+                acquired = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } finally {
+                queued.decrementAndGet();
+                if (!acquired) {
+                    failed.incrementAndGet();
+                }
+            }
+
+            long waited = System.nanoTime() - submittedAt;
+            totalQueueWaitNanos.addAndGet(waited);
+            maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+            inFlight.incrementAndGet();
+            try {
+                T result = call.call();
+                completed.incrementAndGet();
+                return result;
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                throw e;
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                throw new CompletionException(e);
+            } finally {
+                inFlight.decrementAndGet();
+                permits.release();
+            }
+        }, workers);
+    }
+
+    /**
+     * @return a snapshot of the executor's current statistics
+     */
+    public DaoExecutorMetrics getMetrics() {
+        return new DaoExecutorMetrics(mode, maxConcurrent, inFlight.get(), queued.get(), submitted.get(),
+                completed.get(), failed.get(), totalQueueWaitNanos.get(), maxQueueWaitNanos.get());
+    }
+
+    /**
+     * @return whether calls run on virtual or platform threads
+     */
+    public Mode getMode() {
+        return mode;
+    }
+}
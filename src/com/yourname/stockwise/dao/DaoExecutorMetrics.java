@@ -0,0 +1,89 @@
+package com.yourname.stockwise.dao;
+
+/**
+ * Immutable snapshot of {@link DaoExecutor} statistics, suitable for
+ * logging or display on an admin screen.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class DaoExecutorMetrics {
+
+    private final DaoExecutor.Mode mode;
+    private final int maxConcurrent;
+    private final int inFlight;
+    private final int queued;
+    private final long submitted;
+    private final long completed;
+    private final long failed;
+    private final long totalQueueWaitNanos;
+    private final long maxQueueWaitNanos;
+
+    DaoExecutorMetrics(DaoExecutor.Mode mode, int maxConcurrent, int inFlight, int queued, long submitted,
+                       long completed, long failed, long totalQueueWaitNanos, long maxQueueWaitNanos) {
+        this.mode = mode;
+        this.maxConcurrent = maxConcurrent;
+        this.inFlight = inFlight;
+        this.queued = queued;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.failed = failed;
+        this.totalQueueWaitNanos = totalQueueWaitNanos;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+    }
+
+    /** @return whether calls run on virtual or platform threads */
+    public DaoExecutor.Mode getMode() {
+        return mode;
+    }
+
+    /** @return the most calls allowed to run at once */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /** @return calls currently running against the database */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /** @return calls submitted but still waiting for a slot */
+    public int getQueued() {
+        return queued;
+    }
+
+    /** @return total calls submitted since start-up */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /** @return calls that returned normally */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /** @return calls that threw */
+    public long getFailed() {
+        return failed;
+    }
+
+    /** @return average time between submission and the start of a call, in milliseconds */
+    public double getAverageQueueWaitMillis() {
+        long started = completed + failed + inFlight;
+        return started == 0 ? 0.0 : totalQueueWaitNanos / 1_000_000.0 / started;
+    }
+
+    /** @return longest time any call waited before starting, in milliseconds */
+    public double getMaxQueueWaitMillis() {
+        return maxQueueWaitNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "DaoExecutorMetrics[mode=%s, max=%d, inFlight=%d, queued=%d, submitted=%d, completed=%d, "
+                        + "failed=%d, avgQueueWaitMs=%.3f, maxQueueWaitMs=%.3f]",
+                mode, maxConcurrent, inFlight, queued, submitted, completed, failed,
+                getAverageQueueWaitMillis(), getMaxQueueWaitMillis());
+    }
+}
@@ -0,0 +1,188 @@
+package com.yourname.stockwise.dao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of rows keyed by id.
+ * <p>
+ * Backed by a {@link LinkedHashMap}, so lookups, replacements and removals by id are
+ * constant-time while iteration still follows the order rows were loaded or added in,
+ * which is the order the table views display. Replacing an existing id keeps its position.
+ * </p>
+ *
+ * <p>{@link SecondaryIndex secondary indexes} registered with {@link #addIndex(SecondaryIndex)}
+ * are kept in sync on every put, replace, remove and clear.</p>
+ *
+ * <p>All methods lock the cache, so it may be read on the JavaFX application thread while a
+ * background DAO call updates it. Query secondary indexes through {@link #lookup} and
+ * {@link #range} so they are read under the same lock.</p>
+ *
+ * @param <T> the entity type
+ */
+final class EntityCache<T> {
+
+    private final Function<T, String> idOf;
+    private final Map<String, T> byId = new LinkedHashMap<>();
+    private final List<SecondaryIndex<T, ?>> indexes = new ArrayList<>();
+    // Positional view for slice(), and each id's index in it; rebuilt after a removal
+    private List<T> ordered;
+    private Map<String, Integer> positions;
+
+    /**
+     * @param idOf extracts the primary key of an entity
+     */
+    EntityCache(Function<T, String> idOf) {
+        this.idOf = idOf;
+    }
+
+    /**
+     * Registers a secondary index and fills it from the entities already cached.
+     *
+     * @return the index, for the caller to query
+     */
+    synchronized <K> SecondaryIndex<T, K> addIndex(SecondaryIndex<T, K> index) {
+        for (Map.Entry<String, T> entry : byId.entrySet()) {
+            index.add(entry.getKey(), entry.getValue());
+        }
+        indexes.add(index);
+        return index;
+    }
+
+    synchronized T get(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    synchronized boolean contains(String id) {
+        return id != null && byId.containsKey(id);
+    }
+
+    /**
+     * Adds an entity, or replaces the cached entity with the same id in place.
+     *
+     * @return the entity previously cached under that id, or null
+     */
+    synchronized T put(T entity) {
+        String id = idOf.apply(entity);
+        T previous = byId.put(id, entity);
+        if (previous == null) {
+            appendOrdered(id, entity);
+        } else {
+            replaceOrdered(id, entity);
+        }
+        reindex(id, entity);
+        return previous;
+    }
+
+    /**
+     * Replaces the entity with the same id only if it is already cached.
+     *
+     * @return true if an entity was replaced
+     */
+    synchronized boolean replace(T entity) {
+        String id = idOf.apply(entity);
+        if (byId.replace(id, entity) == null) {
+            return false;
+        }
+        replaceOrdered(id, entity);
+        reindex(id, entity);
+        return true;
+    }
+
+    /**
+     * @return the removed entity, or null if the id was not cached
+     */
+    synchronized T remove(String id) {
+        T removed = byId.remove(id);
+        if (removed != null) {
+            ordered = null; // every later position shifts
+            positions = null;
+            for (SecondaryIndex<T, ?> index : indexes) {
+                index.remove(id);
+            }
+        }
+        return removed;
+    }
+
+    synchronized void clear() {
+        byId.clear();
+        ordered = null;
+        positions = null;
+        for (SecondaryIndex<T, ?> index : indexes) {
+            index.clear();
+        }
+    }
+
+    synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * @return a copy of the cached entities in display order
+     */
+    synchronized List<T> snapshot() {
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Returns the entities at display positions {@code [from, from + limit)}. The positional
+     * list is built once and kept up to date by adds and replacements, which take the same
+     * positions as in iteration order; only a removal makes it be rebuilt. Paging through the
+     * cache therefore costs only the copy of each page, even while rows are being edited.
+     *
+     * @return a copy of the requested range, shorter than {@code limit} at the end
+     */
+    synchronized List<T> slice(int from, int limit) {
+        if (ordered == null) {
+            ordered = new ArrayList<>(byId.size());
+            positions = new HashMap<>();
+            for (Map.Entry<String, T> entry : byId.entrySet()) {
+                positions.put(entry.getKey(), ordered.size());
+                ordered.add(entry.getValue());
+            }
+        }
+        int start = Math.max(0, Math.min(from, ordered.size()));
+        int end = Math.min(ordered.size(), start + Math.max(0, limit));
+        return new ArrayList<>(ordered.subList(start, end));
+    }
+
+    /**
+     * @return entities filed under exactly {@code key} in {@code index}
+     */
+    synchronized <K> List<T> lookup(SecondaryIndex<T, K> index, K key) {
+        return index.get(key);
+    }
+
+    /**
+     * @return entities whose key in the sorted {@code index} lies in {@code [from, to)}
+     */
+    synchronized <K> List<T> range(SecondaryIndex<T, K> index, K from, K to) {
+        return index.range(from, to);
+    }
+
+    // A new id goes last in the LinkedHashMap, so it goes last in the positional view too
+    private void appendOrdered(String id, T entity) {
+        if (ordered != null) {
+            positions.put(id, ordered.size());
+            ordered.add(entity);
+        }
+    }
+
+    // A replaced id keeps its position
+    private void replaceOrdered(String id, T entity) {
+        if (ordered != null) {
+            ordered.set(positions.get(id), entity);
+        }
+    }
+
+    private void reindex(String id, T entity) {
+        for (SecondaryIndex<T, ?> index : indexes) {
+            index.remove(id);
+            index.add(id, entity);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.yourname.stockwise.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out unique, prefixed ids such as {@code P0042} using hi/lo block reservation.
+ * <p>
+ * The {@code id_sequences} table holds the next unreserved number of each named sequence.
+ * When its in-memory block runs out, an allocator reserves the next {@code blockSize}
+ * numbers with a single atomic {@code UPDATE ... LAST_INSERT_ID(...)}; every id in between is
+ * handed out from memory. Processes sharing a database therefore never produce the same id,
+ * and only one round trip is made per block. Numbers reserved but not used before a process
+ * exits are skipped, leaving gaps.
+ * </p>
+ *
+ * <p>The block size defaults to the {@code stockwise.ids.blockSize} system property (20).</p>
+ *
+ * Example usage:
+ * <pre>
+ *     IdAllocator ids = new IdAllocator(dataSource, "product", "P", 4);
+ *     String id = ids.nextId(); // "P0001", "P0002", ...
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class IdAllocator {
+
+    /** Default number of ids reserved per database round trip. */
+    public static final int DEFAULT_BLOCK_SIZE = Math.max(1, Integer.getInteger("stockwise.ids.blockSize", 20));
+
+    private final DataSource dataSource;
+    private final String sequence;
+    private final String prefix;
+    private final int width;
+    private final int blockSize;
+
+    // Current block is [next, limit)
+    private long next;
+    private long limit;
+
+    /**
+     * Creates an allocator with the default block size.
+     *
+     * @param dataSource database holding {@code id_sequences}
+     * @param sequence   name of the sequence row
+     * @param prefix     text put before each number
+     * @param width      minimum number of digits; numbers are zero-padded to it
+     */
+    public IdAllocator(DataSource dataSource, String sequence, String prefix, int width) {
+        this(dataSource, sequence, prefix, width, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param dataSource database holding {@code id_sequences}
+     * @param sequence   name of the sequence row
+     * @param prefix     text put before each number
+     * @param width      minimum number of digits; numbers are zero-padded to it
+     * @param blockSize  ids reserved per database round trip
+     */
+    public IdAllocator(DataSource dataSource, String sequence, String prefix, int width, int blockSize) {
+        this.dataSource = dataSource;
+        this.sequence = sequence;
+        this.prefix = prefix;
+        this.width = Math.max(1, width);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    /**
+     * Returns the next id, reserving a new block from the database if the current one is used up.
+     *
+     * @return a formatted id never returned before by any allocator of this sequence
+     * @throws SQLException if a block cannot be reserved
+     */
+    public synchronized String nextId() throws SQLException {
+        return format(nextValue());
+    }
+
+    /**
+     * Returns the next sequence number, reserving a new block from the database if the current
+     * one is used up.
+     *
+     * @return a number never returned before by any allocator of this sequence
+     * @throws SQLException if a block cannot be reserved
+     */
+    public synchronized long nextValue() throws SQLException {
+        if (next >= limit) {
+            long end = reserveBlock();
+            next = end - blockSize;
+            limit = end;
+        }
+        return next++;
+    }
+
+    /**
+     * Formats a sequence number as an id.
+     *
+     * @param number the sequence number
+     * @return the prefixed, zero-padded id
+     */
+    public String format(long number) {
+        return prefix + String.format("%0" + width + "d", number);
+    }
+
+    /**
+     * Advances the sequence by one block.
+     *
+     * @return the first number after the reserved block
+     */
+    private long reserveBlock() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            long end = advance(conn);
+            if (end < 0) {
+                // Sequence row missing (e.g. a new sequence name): create it and try again
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "INSERT IGNORE INTO id_sequences (name, next_value) VALUES (?, 1)")) {
+                    ps.setString(1, sequence);
+                    ps.executeUpdate();
+                }
+                end = advance(conn);
+            }
+            if (end < 0) {
+                throw new SQLException("Could not reserve ids from sequence " + sequence);
+            }
+            return end;
+        }
+    }
+
+    /**
+     * Atomically adds one block to the sequence; LAST_INSERT_ID(expr) makes the new value
+     * readable on this connection without a second locking read.
+     *
+     * @return the new next_value, or -1 if the sequence row does not exist
+     */
+    private long advance(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE id_sequences SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = ?")) {
+            ps.setInt(1, blockSize);
+            ps.setString(2, sequence);
+            if (ps.executeUpdate() == 0) {
+                return -1;
+            }
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT LAST_INSERT_ID()")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
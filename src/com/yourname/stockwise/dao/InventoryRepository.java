@@ -0,0 +1,227 @@
+package com.yourname.stockwise.dao;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.yourname.stockwise.alert.StockAlertEngine;
+import com.yourname.stockwise.sync.EntityChange;
+import com.yourname.stockwise.sync.InvalidationBus;
+import com.yourname.stockwise.visitor.InventoryTraversal;
+import com.yourname.stockwise.visitor.TraversalReport;
+
+/**
+ * Process-wide home of the application's DAOs.
+ * <p>
+ * Constructing a DAO checks its table schema and, for products and suppliers, loads the
+ * whole table into memory. Screens therefore share the DAOs held here instead of creating
+ * their own: the schema checks run once per process and every screen reads the same cached
+ * catalogue, so moving between screens runs no product or supplier queries unless the data
+ * is explicitly {@link #refreshChanges() refreshed}.
+ * </p>
+ *
+ * <p>The DAOs are created on the first call to {@link #getInstance()}, which queries the
+ * database and should therefore be made off the JavaFX application thread. The DAOs are
+ * thread-safe and may be used from any thread. {@link #shutdown()} writes staged changes
+ * and releases the instance when the application exits.</p>
+ *
+ * <p>When an {@link InvalidationBus} is configured ({@code stockwise.bus}), rows committed by
+ * these DAOs are broadcast to the other tills and changes broadcast by them are patched into
+ * the caches here: stock levels are applied directly, other rows are re-read by id, and a
+ * detected gap triggers {@link #refreshChanges()}.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     ProductDAO productDAO = InventoryRepository.getInstance().getProductDAO();
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class InventoryRepository {
+
+    private static final Object INSTANCE_LOCK = new Object();
+    private static InventoryRepository instance;
+
+    private final ProductDAO productDAO;
+    private final SupplierDAO supplierDAO;
+    private final TransactionDAO transactionDAO;
+    private final StockValuation stockValuation = new StockValuation();
+    private final LowStockTracker lowStockTracker = new LowStockTracker();
+    private final InvalidationBus bus;
+
+    private InventoryRepository() {
+        // TransactionDAO shares the product cache: it resolves products from it and patches committed stock levels
+        this.productDAO = new ProductDAO();
+        this.supplierDAO = new SupplierDAO();
+        this.transactionDAO = new TransactionDAO(productDAO);
+        productDAO.addProductListener(stockValuation);
+        productDAO.addProductListener(lowStockTracker);
+        productDAO.addProductListener(StockAlertEngine.getInstance());
+        // Callers read the figures straight away, so wait for the listeners to be seeded
+        productDAO.awaitListeners();
+        this.bus = startBus();
+    }
+
+    private InvalidationBus startBus() {
+        InvalidationBus created = null;
+        try {
+            created = InvalidationBus.fromSystemProperties();
+            if (created == null) {
+                return null;
+            }
+            created.addListener(new InvalidationBus.Listener() {
+                @Override
+                public void onRemoteChanges(List<EntityChange> changes) {
+                    applyRemoteChanges(changes);
+                }
+
+                @Override
+                public void onResyncNeeded() {
+                    refreshChanges();
+                }
+            });
+            created.start();
+        } catch (IOException | RuntimeException e) {
+            // Run without cross-terminal updates rather than not at all
+            System.err.println("Invalidation bus unavailable: " + e.getMessage());
+            e.printStackTrace();
+            if (created != null) {
+                created.close();
+            }
+            return null;
+        }
+
+        productDAO.setInvalidationBus(created);
+        supplierDAO.setInvalidationBus(created);
+        transactionDAO.setInvalidationBus(created);
+        return created;
+    }
+
+    /**
+     * Returns the shared repository, creating its DAOs on first use.
+     *
+     * @return the shared repository
+     */
+    public static InventoryRepository getInstance() {
+        synchronized (INSTANCE_LOCK) {
+            if (instance == null) {
+                instance = new InventoryRepository();
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Writes any staged changes and releases the shared repository. The next call to
+     * {@link #getInstance()} starts a fresh one. Safe to call more than once.
+     */
+    public static void shutdown() {
+        InventoryRepository repository;
+        synchronized (INSTANCE_LOCK) {
+            repository = instance;
+            instance = null;
+        }
+        if (repository != null) {
+            repository.productDAO.flushPendingChanges();
+            repository.supplierDAO.flushPendingChanges();
+            repository.productDAO.awaitListeners();
+            if (repository.bus != null) {
+                repository.bus.close();
+            }
+        }
+    }
+
+    /**
+     * @return the shared product DAO
+     */
+    public ProductDAO getProductDAO() {
+        return productDAO;
+    }
+
+    /**
+     * @return the shared supplier DAO
+     */
+    public SupplierDAO getSupplierDAO() {
+        return supplierDAO;
+    }
+
+    /**
+     * @return the shared transaction DAO, which resolves products through {@link #getProductDAO()}
+     */
+    public TransactionDAO getTransactionDAO() {
+        return transactionDAO;
+    }
+
+    /**
+     * @return the live value of the cached products, kept up to date as they change
+     */
+    public StockValuation getStockValuation() {
+        return stockValuation;
+    }
+
+    /**
+     * @return the live set of products below their threshold, most severe first
+     */
+    public LowStockTracker getLowStockTracker() {
+        return lowStockTracker;
+    }
+
+    /**
+     * Runs a traversal over the cached products and suppliers and the streamed ledger, reading
+     * each once. Sections none of its visitors need are not read.
+     *
+     * @param traversal the visitors to run
+     * @return the traversal's counts and timings
+     * @throws Exception if the ledger cannot be read
+     */
+    public TraversalReport traverse(InventoryTraversal traversal) throws Exception {
+        return traversal.traverse(() -> productDAO.getAllProducts().stream(),
+                () -> supplierDAO.getAllSuppliers().stream(),
+                transactionDAO::streamTransactions);
+    }
+
+    /**
+     * Fetches the products and suppliers changed or deleted in the database since they were
+     * last read, e.g. by another terminal. Cheaper than {@link #reload()}, which it falls back
+     * to when the caches are too old to be brought up to date incrementally.
+     *
+     * @return the number of cached rows added, replaced or removed, or -1 if either refresh failed
+     */
+    public int refreshChanges() {
+        int products = productDAO.refreshChanges();
+        int suppliers = supplierDAO.refreshChanges();
+        return products < 0 || suppliers < 0 ? -1 : products + suppliers;
+    }
+
+    /**
+     * Patches the caches with changes another process committed.
+     *
+     * @param changes changes received from the invalidation bus
+     */
+    void applyRemoteChanges(List<EntityChange> changes) {
+        List<String> products = new ArrayList<>();
+        List<String> suppliers = new ArrayList<>();
+        for (EntityChange change : changes) {
+            if (EntityChange.PRODUCTS.equals(change.getTable())) {
+                if (change.getKind() == EntityChange.Kind.QUANTITY) {
+                    productDAO.applyCommittedQuantity(change.getId(), change.getQuantity(), change.getUpdatedAt());
+                } else {
+                    products.add(change.getId());
+                }
+            } else if (EntityChange.SUPPLIERS.equals(change.getTable())) {
+                suppliers.add(change.getId());
+            }
+        }
+        productDAO.refreshProducts(products);
+        supplierDAO.refreshSuppliers(suppliers);
+    }
+
+    /**
+     * Re-reads products and suppliers from the database in full. Staged changes are written first.
+     */
+    public void reload() {
+        productDAO.loadProductsFromDB();
+        supplierDAO.loadSuppliersFromDB();
+    }
+}
@@ -0,0 +1,98 @@
+package com.yourname.stockwise.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Small helper shared by the DAOs for running one prepared statement over many rows
+ * with {@link PreparedStatement#addBatch()} / {@link PreparedStatement#executeBatch()},
+ * and for wrapping a unit of work in a single database transaction.
+ *
+ * <p>The default batch size can be tuned with the {@code stockwise.batch.size} system property.</p>
+ */
+final class JdbcBatch {
+
+    /** Rows sent per {@code executeBatch()} call unless a DAO overrides it. */
+    static final int DEFAULT_BATCH_SIZE = Math.max(1, Integer.getInteger("stockwise.batch.size", 500));
+
+    /**
+     * Binds the parameters of one row onto a prepared statement.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    /**
+     * A unit of work that runs on a connection inside a transaction.
+     *
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    interface Work<R> {
+        R run(Connection conn) throws SQLException;
+    }
+
+    private JdbcBatch() {
+    }
+
+    /**
+     * Executes {@code sql} once per row, sending the rows to the server in batches.
+     *
+     * @param conn      open connection
+     * @param sql       the statement to prepare once
+     * @param rows      rows to bind
+     * @param batchSize rows per round trip
+     * @param binder    binds a row onto the statement
+     * @param <T>       the row type
+     * @return number of rows sent
+     * @throws SQLException if any batch fails
+     */
+    static <T> int execute(Connection conn, String sql, Iterable<? extends T> rows, int batchSize,
+                           Binder<? super T> binder) throws SQLException {
+        int sent = 0;
+        int pending = 0;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (T row : rows) {
+                binder.bind(ps, row);
+                ps.addBatch();
+                sent++;
+                if (++pending >= batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Runs {@code work} with auto-commit disabled, committing on success and rolling back on failure.
+     *
+     * @param conn open connection
+     * @param work the work to run
+     * @param <R>  the result type
+     * @return the work's result
+     * @throws SQLException if the work or the commit fails
+     */
+    static <R> R inTransaction(Connection conn, Work<R> work) throws SQLException {
+        boolean previousAutoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            R result = work.run(conn);
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(previousAutoCommit);
+        }
+    }
+}
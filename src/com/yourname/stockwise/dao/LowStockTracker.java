@@ -0,0 +1,150 @@
+package com.yourname.stockwise.dao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.yourname.stockwise.model.Product;
+import com.yourname.stockwise.visitor.LowStockAlertVisitor;
+import com.yourname.stockwise.visitor.ParallelVisitation;
+
+/**
+ * Continuously maintained set of the products below their reorder threshold, most severe first.
+ * <p>
+ * Attached to a {@link ProductDAO} as a {@link ProductListener}, the tracker re-checks only the
+ * product that changed. A product enters the set when its quantity drops below its threshold
+ * and leaves it when restocked, re-thresholded or deleted. The set is a {@link TreeSet}
+ * ordered by severity: the ratio quantity / threshold, lowest first. Products with a threshold
+ * of zero or less that are still below it (negative stock) come before all others. Ties are
+ * broken by quantity, then id. Each change costs O(log n), and the k most severe products are
+ * read in O(log n + k), so screens and background alerts never scan the catalogue.
+ * </p>
+ *
+ * <p>The ordering uses the quantity and threshold seen at the last event, so a product edited
+ * in place is re-sorted once the DAO is told about the edit.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     LowStockTracker tracker = new LowStockTracker();
+ *     productDAO.addProductListener(tracker);
+ *     List&lt;Product&gt; worstTen = tracker.getMostSevere(10);
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class LowStockTracker implements ProductListener {
+
+    // Snapshot of the fields a product is ordered by, taken when it was last seen
+    private static final class Entry {
+        final Product product;
+        final String id;
+        final int quantity;
+        final int threshold;
+
+        Entry(Product product) {
+            this.product = product;
+            this.id = product.getId();
+            this.quantity = product.getQuantity();
+            this.threshold = product.getThreshold();
+        }
+
+        boolean isLow() {
+            return quantity < threshold;
+        }
+    }
+
+    private static final Comparator<Entry> BY_SEVERITY = (a, b) -> {
+        boolean aUnbounded = a.threshold <= 0;
+        boolean bUnbounded = b.threshold <= 0;
+        if (aUnbounded != bUnbounded) {
+            return aUnbounded ? -1 : 1;
+        }
+        // quantity / threshold compared without division: a.q * b.t vs b.q * a.t (both t > 0)
+        int result = aUnbounded ? 0 : Long.compare((long) a.quantity * b.threshold, (long) b.quantity * a.threshold);
+        if (result == 0) {
+            result = Integer.compare(a.quantity, b.quantity);
+        }
+        return result != 0 ? result : a.id.compareTo(b.id);
+    };
+
+    private final Map<String, Entry> lowById = new HashMap<>();
+    private final TreeSet<Entry> bySeverity = new TreeSet<>(BY_SEVERITY);
+
+    /**
+     * Returns the most severe low-stock products.
+     *
+     * @param limit the most products to return
+     * @return up to {@code limit} products, most severe first
+     */
+    public synchronized List<Product> getMostSevere(int limit) {
+        List<Product> result = new ArrayList<>(Math.min(Math.max(0, limit), bySeverity.size()));
+        Iterator<Entry> it = bySeverity.iterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next().product);
+        }
+        return result;
+    }
+
+    /**
+     * @return every low-stock product, most severe first
+     */
+    public synchronized List<Product> getLowStockProducts() {
+        return getMostSevere(bySeverity.size());
+    }
+
+    /**
+     * @return the number of products below their threshold
+     */
+    public synchronized int getLowStockCount() {
+        return bySeverity.size();
+    }
+
+    /**
+     * @param productId a product id
+     * @return whether that product is currently below its threshold
+     */
+    public synchronized boolean isLowStock(String productId) {
+        return lowById.containsKey(productId);
+    }
+
+    @Override
+    public synchronized void productChanged(Product product) {
+        remove(product.getId());
+        Entry entry = new Entry(product);
+        if (entry.isLow()) {
+            lowById.put(entry.id, entry);
+            bySeverity.add(entry);
+        }
+    }
+
+    @Override
+    public synchronized void productRemoved(String productId) {
+        remove(productId);
+    }
+
+    /**
+     * Rebuilds the set from scratch. The catalogue is scanned on every core with a
+     * {@link LowStockAlertVisitor}, so only the products found low are sorted into the set.
+     */
+    @Override
+    public synchronized void productsReloaded(List<Product> products) {
+        lowById.clear();
+        bySeverity.clear();
+        LowStockAlertVisitor scan = ParallelVisitation.visit(products, new LowStockAlertVisitor());
+        for (Product product : scan.getLowStockProducts()) {
+            productChanged(product); // Re-checks the level, which a stock movement may have changed since the scan
+        }
+    }
+
+    private void remove(String productId) {
+        Entry previous = lowById.remove(productId);
+        if (previous != null) {
+            bySeverity.remove(previous); // Found by its old snapshot, so in-place edits can't lose it
+        }
+    }
+}
@@ -4,111 +4,241 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import com.yourname.stockwise.db.ConnectionPool;
+import com.yourname.stockwise.db.SchemaMigrator;
 import com.yourname.stockwise.model.Product;
+import com.yourname.stockwise.sync.EntityChange;
+import com.yourname.stockwise.sync.InvalidationBus;
+import com.yourname.stockwise.util.PageSource;
+import com.yourname.stockwise.model.Transaction;
+
+public class ProductDAO implements WriteBehindFlusher.Target {
+
+    /**
+     * Column names accepted by {@link #stageUpdate(Product, String...)}. There is deliberately
+     * no quantity column: stock only changes through
+     * {@link TransactionDAO#recordStockMovements}, whose relative updates a delayed absolute
+     * write would overwrite.
+     */
+    public static final String COLUMN_NAME = "name";
+    public static final String COLUMN_THRESHOLD = "threshold";
+    public static final String COLUMN_UNIT_PRICE = "unit_price";
+    public static final String COLUMN_USERNAME = "username";
+
+    private static final List<String> UPDATABLE_COLUMNS =
+            List.of(COLUMN_NAME, COLUMN_THRESHOLD, COLUMN_UNIT_PRICE, COLUMN_USERNAME);
+
+    // Existing rows keep their stock level; quantity is only written for new rows
+    private static final String UPSERT_SQL =
+            "INSERT INTO products (id, name, quantity, threshold, unit_price, username, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE name=VALUES(name), threshold=VALUES(threshold), " +
+            "unit_price=VALUES(unit_price), username=VALUES(username)";
+
+    private final DataSource dataSource;
+    private final EntityCache<Product> products = new EntityCache<>(Product::getId);
+    private final SecondaryIndex<Product, String> byUsername =
+            products.addIndex(SecondaryIndex.hashed(p -> normalizeUsername(p.getUsername())));
+    private final SecondaryIndex<Product, LocalDateTime> byDateAdded =
+            products.addIndex(SecondaryIndex.sorted(Product::getDateAdded));
+    private final ChangeTracker<Product> changes = new ChangeTracker<>();
+    private final ChangeFeed feed = new ChangeFeed("products");
+    private volatile InvalidationBus bus;
+    private final List<ProductListener> listeners = new CopyOnWriteArrayList<>();
+    // Delivers listener events one at a time, in cache order, without holding the cache lock
+    private final ExecutorService events = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "stockwise-product-events");
+        t.setDaemon(true);
+        return t;
+    });
+    // updated_at (epoch ms) of the row each cached quantity came from; guarded by products
+    private final Map<String, Long> stockVersions = new HashMap<>();
+    private final IdAllocator productIds;
+    private int batchSize = JdbcBatch.DEFAULT_BATCH_SIZE;
 
-public class ProductDAO {
-
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/stockwise";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD;
-
-    static {
-        String pwd = System.getenv("STOCKWISE_DB_PASSWORD");
-        if (pwd == null || pwd.isEmpty()) {
-            pwd = System.getProperty("db.password");
-        }
-        if (pwd == null || pwd.isEmpty()) {
-            throw new RuntimeException("DB password environment variable or system property not set");
-        }
-        DB_PASSWORD = pwd;
+    public ProductDAO() {
+        this.dataSource = ConnectionPool.getInstance();
+        this.productIds = new IdAllocator(dataSource, "product", "P", 4);
+        SchemaMigrator.ensureMigrated();
+        loadProductsFromDB();
     }
 
-    private final List<Product> products = new ArrayList<>();
+    public void loadProductsFromDB() {
+        flushPendingChanges(); // Don't let a reload overwrite staged edits
+        String sql = "SELECT * FROM products";
 
-    public ProductDAO() {
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             Statement stmt = conn.createStatement()) {
-
-            String createSql = "CREATE TABLE IF NOT EXISTS products (" +
-                    "id VARCHAR(50) PRIMARY KEY, " +
-                    "name VARCHAR(255), " +
-                    "quantity INT, " +
-                    "threshold INT, " +
-                    "unit_price DOUBLE, " +
-                    "username VARCHAR(100), " +
-                    "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
-                    ")";
-            stmt.execute(createSql);
-
-            migrateProductsTableIfNeeded(conn);
-            loadProductsFromDB();
+        try (Connection conn = dataSource.getConnection()) {
+            Timestamp readStart = ChangeFeed.databaseNow(conn);
+            feed.pruneTombstones(conn);
+            List<Product> loaded = new ArrayList<>();
+            Map<String, Long> versions = new HashMap<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    Product p = mapProduct(rs);
+                    loaded.add(p);
+                    versions.put(p.getId(), updatedAtOf(rs));
+                }
+            }
+
+            cacheReload(loaded, versions);
+            feed.advance(readStart);
 
         } catch (SQLException e) {
+            feed.reset();
             e.printStackTrace();
         }
     }
 
-    private void migrateProductsTableIfNeeded(Connection conn) throws SQLException {
-        DatabaseMetaData meta = conn.getMetaData();
-        List<String> columns = new ArrayList<>();
-        try (ResultSet rs = meta.getColumns(null, null, "products", null)) {
-            while (rs.next()) {
-                columns.add(rs.getString("COLUMN_NAME").toLowerCase());
+    /**
+     * Brings the cache up to date by fetching only the products changed or deleted since the
+     * last load or refresh, instead of re-reading the whole table. Staged edits are written
+     * first. Falls back to {@link #loadProductsFromDB()} when the cache was never loaded or
+     * was last synchronised longer ago than deletions are remembered.
+     *
+     * @return the number of cached products added, replaced or removed; -1 if the refresh failed
+     */
+    public int refreshChanges() {
+        flushPendingChanges();
+
+        try (Connection conn = dataSource.getConnection()) {
+            Timestamp readStart = ChangeFeed.databaseNow(conn);
+            Timestamp since = feed.since(readStart);
+            if (since != null) {
+                return applyChangesSince(conn, since, readStart);
             }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
         }
 
-        try (Statement stmt = conn.createStatement()) {
-            if (!columns.contains("username")) {
-                stmt.execute("ALTER TABLE products ADD COLUMN username VARCHAR(100)");
+        loadProductsFromDB();
+        return products.size();
+    }
+
+    private int applyChangesSince(Connection conn, Timestamp since, Timestamp readStart) throws SQLException {
+        Map<String, Product> changed = new LinkedHashMap<>();
+        Map<String, Long> versions = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM products WHERE updated_at >= ?")) {
+            ps.setTimestamp(1, since);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Product p = mapProduct(rs);
+                    changed.put(p.getId(), p);
+                    versions.put(p.getId(), updatedAtOf(rs));
+                }
             }
-            if (!columns.contains("unit_price")) {
-                stmt.execute("ALTER TABLE products ADD COLUMN unit_price DOUBLE");
+        }
+        List<String> deleted = feed.deletedSince(conn, since);
+
+        int applied = 0;
+        for (Product p : changed.values()) {
+            if (!changes.isPending(p.getId())) { // a newer local edit wins until it is flushed
+                cachePut(p, versions.get(p.getId()));
+                applied++;
             }
-            if (!columns.contains("created_at")) {
-                stmt.execute("ALTER TABLE products ADD COLUMN created_at DATETIME DEFAULT CURRENT_TIMESTAMP");
+        }
+        for (String id : deleted) {
+            // A row that still exists was re-created after its tombstone
+            if (!changed.containsKey(id) && !changes.isPending(id) && cacheRemove(id)) {
+                applied++;
             }
         }
+        feed.advance(readStart);
+        return applied;
     }
 
-    public void loadProductsFromDB() {
-        products.clear();
-        String sql = "SELECT * FROM products";
+    private static Product mapProduct(ResultSet rs) throws SQLException {
+        Product p = new Product(
+                rs.getString("id"),
+                rs.getString("name"),
+                rs.getInt("quantity"),
+                rs.getInt("threshold"),
+                rs.getDouble("unit_price"));
+        p.setUsername(rs.getString("username"));
+
+        Timestamp ts = rs.getTimestamp("created_at");
+        if (ts != null) {
+            p.setDateAdded(ts.toLocalDateTime());
+        }
+        return p;
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Product p = new Product(
-                        rs.getString("id"),
-                        rs.getString("name"),
-                        rs.getInt("quantity"),
-                        rs.getInt("threshold"),
-                        rs.getDouble("unit_price"));
-                p.setUsername(rs.getString("username"));
-
-                Timestamp ts = rs.getTimestamp("created_at");
-                if (ts != null) {
-                    p.setDateAdded(ts.toLocalDateTime());
-                }
+    private static Long updatedAtOf(ResultSet rs) throws SQLException {
+        Timestamp ts = rs.getTimestamp("updated_at");
+        return ts == null ? null : ts.getTime();
+    }
 
-                products.add(p);
+    public List<Product> getAllProducts() {
+        return products.snapshot();
+    }
+
+    /**
+     * Pages through the cached products in display order, for use with
+     * {@link com.yourname.stockwise.util.LazyPagedList}. Pages come from memory, so no
+     * prefetching is needed.
+     *
+     * @return a page source over this DAO's cache
+     */
+    public PageSource<Product> pageSource() {
+        return new PageSource<>() {
+            @Override
+            public int size() {
+                return products.size();
             }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            @Override
+            public List<Product> loadPage(int offset, int limit) {
+                return products.slice(offset, limit);
+            }
+        };
     }
 
-    public List<Product> getAllProducts() {
-        return new ArrayList<>(products);
+    /**
+     * Looks up a cached product by id in constant time.
+     *
+     * @param id the product id
+     * @return the cached product, or null if there is none
+     */
+    public Product getProductById(String id) {
+        return products.get(id);
+    }
+
+    /**
+     * Allocates an id for a new product in the {@code P0001} format. Ids come from a block
+     * reserved in the database, so no two terminals are given the same id; an id that is
+     * somehow already cached (for example one typed in by hand) is skipped.
+     *
+     * @return an unused product id
+     * @throws SQLException if a new block of ids cannot be reserved
+     */
+    public String nextProductId() throws SQLException {
+        String id;
+        do {
+            id = productIds.nextId();
+        } while (products.contains(id));
+        return id;
     }
 
     public boolean addProduct(Product product) {
         String sql = "INSERT INTO products (id, name, quantity, threshold, unit_price, username, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, product.getId());
@@ -121,7 +251,8 @@ public class ProductDAO {
 
             int rowsAffected = pstmt.executeUpdate();
             if (rowsAffected > 0) {
-                products.add(product);
+                cachePut(product, null);
+                broadcast(List.of(EntityChange.upserted(EntityChange.PRODUCTS, product.getId())));
                 return true;
             }
             return false;
@@ -132,26 +263,35 @@ public class ProductDAO {
         }
     }
 
+    /**
+     * Writes a product's details straight away. The quantity is not written and the cached
+     * quantity is kept: stock only changes through {@link TransactionDAO#recordStockMovements},
+     * whose relative updates an absolute write would overwrite.
+     *
+     * @param product the edited product
+     * @return true if the product exists and was updated
+     */
     public boolean updateProduct(Product product) {
-        String sql = "UPDATE products SET name=?, quantity=?, threshold=?, unit_price=?, username=? WHERE id=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        String sql = "UPDATE products SET name=?, threshold=?, unit_price=?, username=? WHERE id=?";
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, product.getName());
-            pstmt.setInt(2, product.getQuantity());
-            pstmt.setInt(3, product.getThreshold());
-            pstmt.setDouble(4, product.getUnitPrice());
-            pstmt.setString(5, product.getUsername());
-            pstmt.setString(6, product.getId());
+            pstmt.setInt(2, product.getThreshold());
+            pstmt.setDouble(3, product.getUnitPrice());
+            pstmt.setString(4, product.getUsername());
+            pstmt.setString(5, product.getId());
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
-                for (int i = 0; i < products.size(); i++) {
-                    if (products.get(i).getId().equals(product.getId())) {
-                        products.set(i, product);
-                        break;
+                synchronized (products) {
+                    Product cached = products.get(product.getId());
+                    if (cached != null) {
+                        product.setQuantity(cached.getQuantity());
                     }
+                    cacheReplace(product);
                 }
+                broadcast(List.of(EntityChange.upserted(EntityChange.PRODUCTS, product.getId())));
                 return true;
             }
             return false;
@@ -162,132 +302,469 @@ public class ProductDAO {
         }
     }
 
-    public void saveAllToDatabase() {
-        String insertSql = "INSERT INTO products (id, name, quantity, threshold, unit_price, username, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        String updateSql = "UPDATE products SET name=?, quantity=?, threshold=?, unit_price=?, username=? WHERE id=?";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            for (Product product : products) {
-                boolean exists = false;
-                try (PreparedStatement checkStmt = conn.prepareStatement("SELECT COUNT(*) FROM products WHERE id = ?")) {
-                    checkStmt.setString(1, product.getId());
-                    try (ResultSet rs = checkStmt.executeQuery()) {
-                        if (rs.next() && rs.getInt(1) > 0) {
-                            exists = true;
-                        }
-                    }
-                }
+    /**
+     * Attaches the bus used to tell other processes about products this DAO commits.
+     *
+     * @param bus the bus, or null to stop broadcasting
+     */
+    public void setInvalidationBus(InvalidationBus bus) {
+        this.bus = bus;
+    }
 
-                if (exists) {
-                    try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
-                        updateStmt.setString(1, product.getName());
-                        updateStmt.setInt(2, product.getQuantity());
-                        updateStmt.setInt(3, product.getThreshold());
-                        updateStmt.setDouble(4, product.getUnitPrice());
-                        updateStmt.setString(5, product.getUsername());
-                        updateStmt.setString(6, product.getId());
-                        updateStmt.executeUpdate();
+    /**
+     * Re-reads the given products from the database, e.g. after another process reported
+     * changing them. Products no longer in the database are dropped from the cache; products
+     * with staged local edits are left alone.
+     *
+     * @param ids ids of the products to re-read
+     * @return the number of cached products replaced, added or removed; -1 on failure
+     */
+    public int refreshProducts(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<String> remaining = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, Product> found = new LinkedHashMap<>();
+        Map<String, Long> versions = new HashMap<>();
+        try (Connection conn = dataSource.getConnection()) {
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                List<String> chunk = remaining.subList(from, Math.min(remaining.size(), from + batchSize));
+                String sql = "SELECT * FROM products WHERE id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 1, chunk.get(i));
                     }
-                } else {
-                    try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-                        insertStmt.setString(1, product.getId());
-                        insertStmt.setString(2, product.getName());
-                        insertStmt.setInt(3, product.getQuantity());
-                        insertStmt.setInt(4, product.getThreshold());
-                        insertStmt.setDouble(5, product.getUnitPrice());
-                        insertStmt.setString(6, product.getUsername());
-                        insertStmt.setTimestamp(7, Timestamp.valueOf(product.getDateAdded()));
-                        insertStmt.executeUpdate();
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            Product p = mapProduct(rs);
+                            found.put(p.getId(), p);
+                            versions.put(p.getId(), updatedAtOf(rs));
+                        }
                     }
                 }
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return -1;
         }
+
+        int applied = 0;
+        for (String id : remaining) {
+            if (changes.isPending(id)) {
+                continue;
+            }
+            Product p = found.get(id);
+            if (p != null) {
+                cachePut(p, versions.get(id));
+                applied++;
+            } else if (cacheRemove(id)) {
+                applied++;
+            }
+        }
+        return applied;
     }
 
-    public boolean deleteProduct(String productId) {
-        String sql = "DELETE FROM products WHERE id=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Registers a listener for changes to the product cache. The listener is first sent the
+     * products cached now, then every later change, with nothing missed in between.
+     *
+     * @param listener the listener
+     */
+    public void addProductListener(ProductListener listener) {
+        synchronized (products) {
+            listeners.add(listener);
+            List<Product> current = products.snapshot();
+            events.execute(() -> deliver(listener, l -> l.productsReloaded(current)));
+        }
+    }
 
-            pstmt.setString(1, productId);
-            int rows = pstmt.executeUpdate();
-            if (rows > 0) {
-                products.removeIf(p -> p.getId().equals(productId));
-                return true;
+    /**
+     * Waits until every change made to the cache so far has been sent to the listeners.
+     * Listeners are told on a separate thread, so a caller that reads figures they derive,
+     * e.g. straight after adding them, can call this first.
+     */
+    public void awaitListeners() {
+        try {
+            events.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error waiting for product listeners: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @param listener a listener previously added
+     */
+    public void removeProductListener(ProductListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Cache updates go through these so listeners see every change, in order.
+    // Call while holding the products lock: events are queued in the order the cache changed,
+    // to the listeners registered at that moment, and run after the lock has been released.
+    private void notifyListeners(Consumer<ProductListener> event) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        List<ProductListener> targets = List.copyOf(listeners);
+        events.execute(() -> {
+            for (ProductListener listener : targets) {
+                deliver(listener, event);
             }
-            return false;
+        });
+    }
+
+    private static void deliver(ProductListener listener, Consumer<ProductListener> event) {
+        try {
+            event.accept(listener);
+        } catch (RuntimeException e) {
+            // One broken listener must not stop the others hearing about the change
+            System.err.println("Product listener failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // version is the row's updated_at in epoch ms, or null if unknown
+    private void cachePut(Product product, Long version) {
+        synchronized (products) {
+            Long known = stockVersions.get(product.getId());
+            Product current = products.get(product.getId());
+            if (version != null && known != null && known > version && current != null) {
+                // Read before a stock level that has already been applied; keep that level
+                product.setQuantity(current.getQuantity());
+                version = known;
+            }
+            products.put(product);
+            if (version == null) {
+                stockVersions.remove(product.getId());
+            } else {
+                stockVersions.put(product.getId(), version);
+            }
+            notifyListeners(l -> l.productChanged(product));
+        }
+    }
 
+    private void cacheReplace(Product product) {
+        synchronized (products) {
+            if (!products.replace(product)) {
+                return;
+            }
+            notifyListeners(l -> l.productChanged(product));
+        }
+    }
+
+    private boolean cacheRemove(String productId) {
+        synchronized (products) {
+            if (products.remove(productId) == null) {
+                return false;
+            }
+            stockVersions.remove(productId);
+            notifyListeners(l -> l.productRemoved(productId));
+            return true;
+        }
+    }
+
+    private void cacheReload(List<Product> loaded, Map<String, Long> versions) {
+        synchronized (products) {
+            products.clear();
+            for (Product p : loaded) {
+                products.put(p);
+            }
+            stockVersions.clear();
+            stockVersions.putAll(versions);
+            if (!listeners.isEmpty()) {
+                List<Product> all = products.snapshot();
+                notifyListeners(l -> l.productsReloaded(all));
+            }
+        }
+    }
+
+    private void broadcast(List<EntityChange> committed) {
+        InvalidationBus target = bus;
+        if (target != null && !committed.isEmpty()) {
+            target.publish(committed);
+        }
+    }
+
+    /**
+     * Sets the cached quantity of a product to a level already committed to the database,
+     * e.g. by {@link TransactionDAO#recordStockMovement(Transaction)} on this or another till.
+     * Levels from other tills can arrive out of order, so a level whose {@code updated_at} is
+     * not later than that of the cached row is ignored. Nothing is written or staged.
+     *
+     * @param productId the product id
+     * @param quantity  the committed on-hand quantity
+     * @param updatedAt the product row's {@code updated_at} when the level was committed, in epoch milliseconds
+     * @return true if the level was applied; false if the product is not cached or the level is stale
+     */
+    public boolean applyCommittedQuantity(String productId, int quantity, long updatedAt) {
+        synchronized (products) {
+            Product product = products.get(productId);
+            Long cached = stockVersions.get(productId);
+            if (product == null || (cached != null && updatedAt <= cached)) {
+                return false;
+            }
+            product.setQuantity(quantity);
+            stockVersions.put(productId, updatedAt);
+            notifyListeners(l -> l.productChanged(product));
+            return true;
+        }
+    }
+
+    /**
+     * Writes every cached product back to the database using batched upserts
+     * ({@code INSERT ... ON DUPLICATE KEY UPDATE}) inside a single transaction.
+     * Prefer {@link #flushPendingChanges()}, which only writes rows that changed.
+     */
+    public void saveAllToDatabase() {
+        List<Product> all = products.snapshot();
+        try (Connection conn = dataSource.getConnection()) {
+            JdbcBatch.inTransaction(conn, c -> JdbcBatch.execute(c, UPSERT_SQL, all, batchSize, this::bindUpsert));
+            List<EntityChange> saved = new ArrayList<>();
+            for (Product product : all) {
+                saved.add(EntityChange.upserted(EntityChange.PRODUCTS, product.getId()));
+            }
+            broadcast(saved);
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
         }
     }
 
-    public List<Product> getProductsByDate(LocalDate date) {
-        List<Product> products = new ArrayList<>();
-        String sql = "SELECT * FROM products WHERE DATE(created_at) = ?";
+    /**
+     * Adds a product to the cache and schedules its insert for the next write-behind flush.
+     * Until then the product exists only in this process; see {@link WriteBehindFlusher} for
+     * what happens to staged changes if the process dies first.
+     *
+     * @param product the new product
+     * @return false if a product with the same id is already cached, in which case nothing is staged
+     */
+    public boolean stageAdd(Product product) {
+        synchronized (products) {
+            if (products.contains(product.getId())) {
+                return false;
+            }
+            cachePut(product, null);
+        }
+        changes.markNew(product.getId(), product);
+        WriteBehindFlusher.getInstance().markDirty(this);
+        return true;
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Replaces a cached product and schedules an update of the given columns for the next
+     * write-behind flush. Repeated edits to the same product are written as one statement.
+     * The product keeps the cached quantity, which only stock movements change.
+     *
+     * @param product the edited product
+     * @param columns the changed columns ({@code COLUMN_*} constants); none means every
+     *                updatable column, which never includes quantity
+     */
+    public void stageUpdate(Product product, String... columns) {
+        for (String column : columns) {
+            if (!UPDATABLE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown product column: " + column);
+            }
+        }
+        synchronized (products) {
+            Product cached = products.get(product.getId());
+            if (cached != null) {
+                product.setQuantity(cached.getQuantity());
+            }
+            cacheReplace(product);
+        }
+        changes.markModified(product.getId(), product, columns);
+        WriteBehindFlusher.getInstance().markDirty(this);
+    }
 
-            pstmt.setDate(1, Date.valueOf(date));
+    /**
+     * Removes a product from the cache and schedules its delete, which also deletes its
+     * transactions, for the next write-behind flush.
+     *
+     * @param productId id of the product to delete
+     * @return false if the product was not cached, in which case nothing is staged
+     */
+    public boolean stageDelete(String productId) {
+        if (!cacheRemove(productId)) {
+            return false;
+        }
+        changes.markDeleted(productId);
+        WriteBehindFlusher.getInstance().markDirty(this);
+        return true;
+    }
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Product product = new Product(
-                            rs.getString("id"),
-                            rs.getString("name"),
-                            rs.getInt("quantity"),
-                            rs.getInt("threshold"),
-                            rs.getDouble("unit_price"));
-                    product.setUsername(rs.getString("username"));
-
-                    Timestamp ts = rs.getTimestamp("created_at");
-                    if (ts != null) {
-                        product.setDateAdded(ts.toLocalDateTime());
+    /**
+     * @param productId a product id
+     * @return true if a staged change to the product has not been written yet
+     */
+    boolean isPending(String productId) {
+        return changes.isPending(productId);
+    }
+
+    /**
+     * Writes every staged change in one transaction: inserts as batched upserts, updates
+     * batched per changed-column set, then deletes. If the transaction fails the changes
+     * are kept, in their original order, for the next attempt.
+     *
+     * @return the number of rows written, or -1 if the flush failed
+     */
+    @Override
+    public int flushPendingChanges() {
+        List<ChangeTracker.Change<Product>> drained = changes.drain();
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            JdbcBatch.inTransaction(conn, c -> {
+                List<Product> upserts = new ArrayList<>();
+                List<String> deletes = new ArrayList<>();
+                for (ChangeTracker.Change<Product> change : drained) {
+                    if (change.getKind() == ChangeTracker.Kind.NEW) {
+                        upserts.add(change.getEntity());
+                    } else if (change.getKind() == ChangeTracker.Kind.DELETED) {
+                        deletes.add(change.getId());
                     }
+                }
 
-                    products.add(product);
+                JdbcBatch.execute(c, UPSERT_SQL, upserts, batchSize, this::bindUpsert);
+
+                for (Map.Entry<List<String>, List<ChangeTracker.Change<Product>>> group
+                        : ChangeTracker.groupUpdatesByColumns(drained, UPDATABLE_COLUMNS).entrySet()) {
+                    List<String> columns = group.getKey();
+                    String sql = "UPDATE products SET " + String.join("=?, ", columns) + "=? WHERE id=?";
+                    JdbcBatch.execute(c, sql, group.getValue(), batchSize, (ps, change) -> {
+                        int index = 1;
+                        for (String column : columns) {
+                            bindColumn(ps, index++, change.getEntity(), column);
+                        }
+                        ps.setString(index, change.getId());
+                    });
                 }
-            }
+
+                JdbcBatch.execute(c, "DELETE FROM products WHERE id=?", deletes, batchSize,
+                        (ps, id) -> ps.setString(1, id));
+                feed.recordDeletes(c, deletes, batchSize);
+                return null;
+            });
+            broadcast(ChangeTracker.toEntityChanges(EntityChange.PRODUCTS, drained));
+            return drained.size();
+
         } catch (SQLException e) {
+            changes.requeue(drained);
             e.printStackTrace();
+            return -1;
         }
+    }
 
-        return products;
+    @Override
+    public boolean hasPendingChanges() {
+        return changes.hasChanges();
     }
 
-    public List<Product> getProductsByUsername(String username) {
-        List<Product> productList = new ArrayList<>();
-        String sql = "SELECT * FROM products WHERE username = ?";
+    private void bindUpsert(PreparedStatement ps, Product product) throws SQLException {
+        ps.setString(1, product.getId());
+        ps.setString(2, product.getName());
+        ps.setInt(3, product.getQuantity());
+        ps.setInt(4, product.getThreshold());
+        ps.setDouble(5, product.getUnitPrice());
+        ps.setString(6, product.getUsername());
+        ps.setTimestamp(7, product.getDateAdded() != null ? Timestamp.valueOf(product.getDateAdded()) : null);
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    private void bindColumn(PreparedStatement ps, int index, Product product, String column) throws SQLException {
+        switch (column) {
+            case COLUMN_NAME:
+                ps.setString(index, product.getName());
+                break;
+            case COLUMN_THRESHOLD:
+                ps.setInt(index, product.getThreshold());
+                break;
+            case COLUMN_UNIT_PRICE:
+                ps.setDouble(index, product.getUnitPrice());
+                break;
+            case COLUMN_USERNAME:
+                ps.setString(index, product.getUsername());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown product column: " + column);
+        }
+    }
 
-            stmt.setString(1, username);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Product product = new Product(
-                            rs.getString("id"),
-                            rs.getString("name"),
-                            rs.getInt("quantity"),
-                            rs.getInt("threshold"),
-                            rs.getDouble("unit_price"));
-                    product.setUsername(rs.getString("username"));
-
-                    Timestamp ts = rs.getTimestamp("created_at");
-                    if (ts != null) {
-                        product.setDateAdded(ts.toLocalDateTime());
-                    }
+    /**
+     * Sets how many rows are sent per batch when saving to the database.
+     *
+     * @param batchSize rows per batch, at least 1
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
 
-                    productList.add(product);
+    public boolean deleteProduct(String productId) {
+        String sql = "DELETE FROM products WHERE id=?";
+        try (Connection conn = dataSource.getConnection()) {
+            int rows = JdbcBatch.inTransaction(conn, c -> {
+                try (PreparedStatement pstmt = c.prepareStatement(sql)) {
+                    pstmt.setString(1, productId);
+                    int deleted = pstmt.executeUpdate();
+                    if (deleted > 0) {
+                        feed.recordDeletes(c, List.of(productId), batchSize);
+                    }
+                    return deleted;
                 }
+            });
+            if (rows > 0) {
+                cacheRemove(productId);
+                broadcast(List.of(EntityChange.deleted(EntityChange.PRODUCTS, productId)));
+                return true;
             }
+            return false;
+
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Returns cached products added on the given day, answered from the date index
+     * without a database round trip.
+     *
+     * @param date the day to match
+     * @return products added on that day, oldest first
+     */
+    public List<Product> getProductsByDate(LocalDate date) {
+        return getProductsBetween(date, date);
+    }
+
+    /**
+     * Returns cached products added between two days, both inclusive. The lookup is the
+     * half-open range {@code [from 00:00, to + 1 day 00:00)} on the date index.
+     *
+     * @param from first day to include
+     * @param to   last day to include
+     * @return matching products, oldest first
+     */
+    public List<Product> getProductsBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            return new ArrayList<>();
         }
-        return productList;
+        return products.range(byDateAdded, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Returns cached products owned by the given user, answered from the username index
+     * without a database round trip. Matching ignores case, like the MySQL column collation.
+     *
+     * @param username the owner to match
+     * @return the user's products
+     */
+    public List<Product> getProductsByUsername(String username) {
+        return products.lookup(byUsername, normalizeUsername(username));
+    }
+
+    private static String normalizeUsername(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,43 @@
+package com.yourname.stockwise.dao;
+
+import java.util.List;
+
+import com.yourname.stockwise.model.Product;
+
+/**
+ * Told about every change to a {@link ProductDAO}'s product cache, so derived figures can be
+ * kept up to date without rescanning the catalogue.
+ * <p>
+ * Callbacks arrive one at a time on the DAO's event thread, in the order the changes were made,
+ * shortly after each change and without the cache locked, so a slow listener never holds up
+ * readers of the cache. Listeners that are also read from other threads must be thread-safe.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public interface ProductListener {
+
+    /**
+     * A product was added to the cache, replaced, or had its quantity changed.
+     * The product may be changed in place later; copy any value that must be remembered.
+     *
+     * @param product the product as it is now
+     */
+    void productChanged(Product product);
+
+    /**
+     * A product was removed from the cache.
+     *
+     * @param productId the id of the removed product
+     */
+    void productRemoved(String productId);
+
+    /**
+     * The whole cache was replaced, e.g. by a full reload. Also sent once when the listener is
+     * added, with the products cached at that moment.
+     *
+     * @param products every cached product
+     */
+    void productsReloaded(List<Product> products);
+}
@@ -0,0 +1,114 @@
+package com.yourname.stockwise.dao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Non-unique index over an {@link EntityCache}, mapping a derived key to the cached
+ * entities that share it (for example username to products, or date added to suppliers).
+ * <p>
+ * The index remembers the key each entity was filed under, so an entity whose indexed
+ * field was edited in place is still moved to the right bucket when the cache re-indexes it.
+ * Entities whose key is null are not indexed.
+ * </p>
+ *
+ * @param <T> the entity type
+ * @param <K> the key type
+ */
+final class SecondaryIndex<T, K> {
+
+    private final Function<T, K> keyOf;
+    private final Map<K, Map<String, T>> buckets;
+    private final Map<String, K> keyById = new HashMap<>();
+
+    private SecondaryIndex(Function<T, K> keyOf, Map<K, Map<String, T>> buckets) {
+        this.keyOf = keyOf;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Creates a hash index supporting exact-match lookups.
+     */
+    static <T, K> SecondaryIndex<T, K> hashed(Function<T, K> keyOf) {
+        return new SecondaryIndex<>(keyOf, new HashMap<>());
+    }
+
+    /**
+     * Creates a sorted index supporting exact-match and range lookups.
+     */
+    static <T, K extends Comparable<? super K>> SecondaryIndex<T, K> sorted(Function<T, K> keyOf) {
+        return new SecondaryIndex<>(keyOf, new TreeMap<>());
+    }
+
+    void add(String id, T entity) {
+        K key = keyOf.apply(entity);
+        if (key == null) {
+            return;
+        }
+        buckets.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(id, entity);
+        keyById.put(id, key);
+    }
+
+    void remove(String id) {
+        K key = keyById.remove(id);
+        if (key == null) {
+            return;
+        }
+        Map<String, T> bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    void clear() {
+        buckets.clear();
+        keyById.clear();
+    }
+
+    /**
+     * @return entities filed under exactly {@code key}
+     */
+    List<T> get(K key) {
+        if (key == null) {
+            return new ArrayList<>();
+        }
+        Map<String, T> bucket = buckets.get(key);
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.values());
+    }
+
+    /**
+     * Returns entities whose key lies in the half-open range {@code [from, to)}, in key order.
+     * Only available on indexes created with {@link #sorted(Function)}.
+     */
+    List<T> range(K from, K to) {
+        if (!(buckets instanceof NavigableMap)) {
+            throw new UnsupportedOperationException("Range lookups need a sorted index");
+        }
+        List<T> result = new ArrayList<>();
+        if (from == null || to == null) {
+            return result;
+        }
+        if (compare(from, to) >= 0) {
+            return result;
+        }
+        NavigableMap<K, Map<String, T>> sorted = (NavigableMap<K, Map<String, T>>) buckets;
+        for (Map<String, T> bucket : sorted.subMap(from, true, to, false).values()) {
+            result.addAll(bucket.values());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(K a, K b) {
+        return ((Comparable<? super K>) a).compareTo(b);
+    }
+}
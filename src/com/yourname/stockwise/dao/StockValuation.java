@@ -0,0 +1,188 @@
+package com.yourname.stockwise.dao;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.yourname.stockwise.model.Product;
+
+/**
+ * Live total of quantity x unit price over the cached products, with breakdowns.
+ * <p>
+ * Attached to a {@link ProductDAO} as a {@link ProductListener}, it keeps the value each product
+ * last contributed. When a product is added, updated, removed, or has a stock movement applied,
+ * only that difference is added to the totals. Reading a figure therefore costs the same however
+ * many products there are. Values are {@link BigDecimal}s built from the decimal form of each
+ * price, so totals are exact rather than accumulated binary rounding.
+ * </p>
+ *
+ * <p>A breakdown groups the value by a key taken from each product. {@link #BY_USER} (the
+ * product's owner) is always kept; others can be added with {@link #addBreakdown} before the
+ * valuation is attached. Products with no key are grouped under {@link #UNASSIGNED}.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     StockValuation valuation = new StockValuation();
+ *     productDAO.addProductListener(valuation);
+ *     BigDecimal total = valuation.getTotal();
+ *     Map&lt;String, BigDecimal&gt; perUser = valuation.getBreakdown(StockValuation.BY_USER);
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class StockValuation implements ProductListener {
+
+    /** Breakdown by the product's username. */
+    public static final String BY_USER = "user";
+
+    /** Breakdown key used for products without one. */
+    public static final String UNASSIGNED = "(unassigned)";
+
+    // What one product currently adds to the totals
+    private static final class Contribution {
+        final BigDecimal value;
+        final String[] keys;
+
+        Contribution(BigDecimal value, String[] keys) {
+            this.value = value;
+            this.keys = keys;
+        }
+    }
+
+    private final Map<String, Function<Product, String>> keyFunctions = new LinkedHashMap<>();
+    private final Map<String, Map<String, BigDecimal>> breakdowns = new LinkedHashMap<>();
+    private final Map<String, Contribution> byProduct = new HashMap<>();
+    private BigDecimal total = BigDecimal.ZERO;
+
+    /**
+     * Creates an empty valuation with the {@link #BY_USER} breakdown.
+     */
+    public StockValuation() {
+        addBreakdown(BY_USER, Product::getUsername);
+    }
+
+    /**
+     * Adds a breakdown. Must be called before the valuation is attached to a DAO.
+     *
+     * @param name  name used to read the breakdown
+     * @param keyOf extracts the group a product belongs to
+     * @return this valuation
+     */
+    public synchronized StockValuation addBreakdown(String name, Function<Product, String> keyOf) {
+        if (!byProduct.isEmpty()) {
+            throw new IllegalStateException("Breakdowns must be added before products are valued");
+        }
+        keyFunctions.put(name, keyOf);
+        breakdowns.put(name, new HashMap<>());
+        return this;
+    }
+
+    /**
+     * @return the value of all products
+     */
+    public synchronized BigDecimal getTotal() {
+        return total;
+    }
+
+    /**
+     * @param breakdown name of a breakdown, e.g. {@link #BY_USER}
+     * @param key       a group in that breakdown
+     * @return the value of the products in the group, zero if there are none
+     */
+    public synchronized BigDecimal getTotal(String breakdown, String key) {
+        return groups(breakdown).getOrDefault(key == null ? UNASSIGNED : key, BigDecimal.ZERO);
+    }
+
+    /**
+     * @param breakdown name of a breakdown, e.g. {@link #BY_USER}
+     * @return a copy of every non-empty group's value, sorted by key
+     */
+    public synchronized Map<String, BigDecimal> getBreakdown(String breakdown) {
+        return Collections.unmodifiableMap(new TreeMap<>(groups(breakdown)));
+    }
+
+    /**
+     * @return the number of products valued
+     */
+    public synchronized int getProductCount() {
+        return byProduct.size();
+    }
+
+    @Override
+    public synchronized void productChanged(Product product) {
+        apply(product.getId(), contributionOf(product));
+    }
+
+    @Override
+    public synchronized void productRemoved(String productId) {
+        apply(productId, null);
+    }
+
+    @Override
+    public synchronized void productsReloaded(List<Product> products) {
+        byProduct.clear();
+        total = BigDecimal.ZERO;
+        for (Map<String, BigDecimal> groups : breakdowns.values()) {
+            groups.clear();
+        }
+        for (Product product : products) {
+            apply(product.getId(), contributionOf(product));
+        }
+    }
+
+    /**
+     * Swaps a product's old contribution for its new one.
+     *
+     * @param next the new contribution, or null if the product is gone
+     */
+    private void apply(String productId, Contribution next) {
+        Contribution previous = next == null ? byProduct.remove(productId) : byProduct.put(productId, next);
+        if (previous != null) {
+            add(previous, true);
+        }
+        if (next != null) {
+            add(next, false);
+        }
+    }
+
+    private void add(Contribution contribution, boolean subtract) {
+        BigDecimal delta = subtract ? contribution.value.negate() : contribution.value;
+        total = total.add(delta);
+        int i = 0;
+        for (Map<String, BigDecimal> groups : breakdowns.values()) {
+            BigDecimal sum = groups.getOrDefault(contribution.keys[i], BigDecimal.ZERO).add(delta);
+            if (sum.signum() == 0) {
+                groups.remove(contribution.keys[i]); // Don't keep empty groups around
+            } else {
+                groups.put(contribution.keys[i], sum);
+            }
+            i++;
+        }
+    }
+
+    private Contribution contributionOf(Product product) {
+        // valueOf(double) uses the shortest decimal form, so 19.99 is 19.99 and not its binary neighbour
+        BigDecimal value = BigDecimal.valueOf(product.getUnitPrice()).multiply(BigDecimal.valueOf(product.getQuantity()));
+        String[] keys = new String[keyFunctions.size()];
+        int i = 0;
+        for (Function<Product, String> keyOf : keyFunctions.values()) {
+            String key = keyOf.apply(product);
+            keys[i++] = key == null || key.isBlank() ? UNASSIGNED : key;
+        }
+        return new Contribution(value, keys);
+    }
+
+    private Map<String, BigDecimal> groups(String breakdown) {
+        Map<String, BigDecimal> groups = breakdowns.get(breakdown);
+        if (groups == null) {
+            throw new IllegalArgumentException("Unknown breakdown: " + breakdown);
+        }
+        return groups;
+    }
+}
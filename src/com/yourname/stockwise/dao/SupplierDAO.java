@@ -4,118 +4,259 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
+import javax.sql.DataSource;
+
+import com.yourname.stockwise.db.ConnectionPool;
+import com.yourname.stockwise.db.SchemaMigrator;
 import com.yourname.stockwise.model.Supplier;
+import com.yourname.stockwise.sync.EntityChange;
+import com.yourname.stockwise.sync.InvalidationBus;
+import com.yourname.stockwise.util.PageSource;
 
 /**
  * DAO class for managing suppliers with created_at date tracking.
  */
-public class SupplierDAO {
-
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/stockwise";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD;
+public class SupplierDAO implements WriteBehindFlusher.Target {
+
+    /** Column names accepted by {@link #stageUpdate(Supplier, String...)}. */
+    public static final String COLUMN_NAME = "name";
+    public static final String COLUMN_EMAIL = "email";
+    public static final String COLUMN_PHONE = "phone";
+    public static final String COLUMN_ADDRESS = "address";
+
+    private static final List<String> UPDATABLE_COLUMNS =
+            List.of(COLUMN_NAME, COLUMN_EMAIL, COLUMN_PHONE, COLUMN_ADDRESS);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO suppliers (id, name, email, phone, address, created_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE name=VALUES(name), email=VALUES(email), phone=VALUES(phone), address=VALUES(address)";
+
+    private final DataSource dataSource;
+    private final EntityCache<Supplier> suppliers = new EntityCache<>(Supplier::getId);
+    private final SecondaryIndex<Supplier, LocalDateTime> byDateAdded =
+            suppliers.addIndex(SecondaryIndex.sorted(Supplier::getDateAdded));
+    private final ChangeTracker<Supplier> changes = new ChangeTracker<>();
+    private final ChangeFeed feed = new ChangeFeed("suppliers");
+    private volatile InvalidationBus bus;
+    private int batchSize = JdbcBatch.DEFAULT_BATCH_SIZE;
 
-    static {
-        String pwd = System.getenv("STOCKWISE_DB_PASSWORD");
-        if (pwd == null || pwd.isEmpty()) {
-            pwd = System.getProperty("db.password");
-        }
-        if (pwd == null || pwd.isEmpty()) {
-            throw new RuntimeException("DB password environment variable or system property not set");
+    public SupplierDAO() {
+        this.dataSource = ConnectionPool.getInstance();
+        if (!SchemaMigrator.ensureMigrated()) {
+            throw new RuntimeException("Error initializing SupplierDAO: database schema is not up to date");
         }
-        DB_PASSWORD = pwd;
+        loadSuppliersFromDB();
     }
 
-    private final List<Supplier> suppliers = new ArrayList<>();
+    public void loadSuppliersFromDB() {
+        flushPendingChanges(); // Don't let a reload overwrite staged edits
+        String sql = "SELECT * FROM suppliers";
 
-    public SupplierDAO() {
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             Statement stmt = conn.createStatement()) {
-
-            String createSql = "CREATE TABLE IF NOT EXISTS suppliers (" +
-                    "id VARCHAR(50) PRIMARY KEY, " +
-                    "name VARCHAR(255), " +
-                    "email VARCHAR(255), " +
-                    "phone VARCHAR(50), " +
-                    "address VARCHAR(255), " +
-                    "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
-                    ")";
-            stmt.execute(createSql);
-
-            migrateSuppliersTableIfNeeded(conn);
-            loadSuppliersFromDB();
+        try (Connection conn = dataSource.getConnection()) {
+            Timestamp readStart = ChangeFeed.databaseNow(conn);
+            feed.pruneTombstones(conn);
+            List<Supplier> loaded = new ArrayList<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    loaded.add(mapSupplier(rs));
+                }
+            }
+
+            suppliers.clear();
+            for (Supplier supplier : loaded) {
+                suppliers.put(supplier);
+            }
+            feed.advance(readStart);
+
+        } catch (SQLException e) {
+            feed.reset();
+            e.printStackTrace();
+        }
+    }
 
+    /**
+     * Brings the cache up to date by fetching only the suppliers changed or deleted since the
+     * last load or refresh, instead of re-reading the whole table. Staged edits are written
+     * first. Falls back to {@link #loadSuppliersFromDB()} when the cache was never loaded or
+     * was last synchronised longer ago than deletions are remembered.
+     *
+     * @return the number of cached suppliers added, replaced or removed; -1 if the refresh failed
+     */
+    public int refreshChanges() {
+        flushPendingChanges();
+
+        try (Connection conn = dataSource.getConnection()) {
+            Timestamp readStart = ChangeFeed.databaseNow(conn);
+            Timestamp since = feed.since(readStart);
+            if (since != null) {
+                return applyChangesSince(conn, since, readStart);
+            }
         } catch (SQLException e) {
+            System.err.println("Error refreshing suppliers: " + e.getMessage());
             e.printStackTrace();
-            throw new RuntimeException("Error initializing SupplierDAO", e);
+            return -1;
         }
+
+        loadSuppliersFromDB();
+        return suppliers.size();
     }
 
-    private void migrateSuppliersTableIfNeeded(Connection conn) throws SQLException {
-        DatabaseMetaData meta = conn.getMetaData();
-        List<String> columns = new ArrayList<>();
-        try (ResultSet rs = meta.getColumns(null, null, "suppliers", null)) {
-            while (rs.next()) {
-                columns.add(rs.getString("COLUMN_NAME").toLowerCase());
+    private int applyChangesSince(Connection conn, Timestamp since, Timestamp readStart) throws SQLException {
+        Map<String, Supplier> changed = new LinkedHashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM suppliers WHERE updated_at >= ?")) {
+            ps.setTimestamp(1, since);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Supplier supplier = mapSupplier(rs);
+                    changed.put(supplier.getId(), supplier);
+                }
             }
         }
+        List<String> deleted = feed.deletedSince(conn, since);
 
-        try (Statement stmt = conn.createStatement()) {
-            if (!columns.contains("created_at")) {
-                stmt.execute("ALTER TABLE suppliers ADD COLUMN created_at DATETIME DEFAULT CURRENT_TIMESTAMP");
+        int applied = 0;
+        for (Supplier supplier : changed.values()) {
+            if (!changes.isPending(supplier.getId())) { // a newer local edit wins until it is flushed
+                suppliers.put(supplier);
+                applied++;
+            }
+        }
+        for (String id : deleted) {
+            // A row that still exists was re-created after its tombstone
+            if (!changed.containsKey(id) && !changes.isPending(id) && suppliers.remove(id) != null) {
+                applied++;
             }
-            // Add other migrations if necessary here
         }
+        feed.advance(readStart);
+        return applied;
     }
 
-    public void loadSuppliersFromDB() {
-        suppliers.clear();
-        String sql = "SELECT * FROM suppliers";
+    private static Supplier mapSupplier(ResultSet rs) throws SQLException {
+        Supplier supplier = new Supplier(
+                rs.getString("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("phone"),
+                rs.getString("address"),
+                null // default created_at to null, then override if available
+        );
+
+        Timestamp ts = rs.getTimestamp("created_at");
+        if (ts != null) {
+            supplier.setDateAdded(ts.toLocalDateTime());
+        }
+        return supplier;
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Supplier supplier = new Supplier(
-                        rs.getString("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("phone"),
-                        rs.getString("address"),
-                        null // default created_at to null, then override if available
-                );
-
-                Timestamp ts = rs.getTimestamp("created_at");
-                if (ts != null) {
-                    supplier.setDateAdded(ts.toLocalDateTime());
-                }
+    public List<Supplier> getAllSuppliers() {
+        return suppliers.snapshot();
+    }
 
-                suppliers.add(supplier);
+    /**
+     * Pages through the cached suppliers in display order, for use with
+     * {@link com.yourname.stockwise.util.LazyPagedList}. Pages come from memory, so no
+     * prefetching is needed.
+     *
+     * @return a page source over this DAO's cache
+     */
+    public PageSource<Supplier> pageSource() {
+        return new PageSource<>() {
+            @Override
+            public int size() {
+                return suppliers.size();
+            }
+
+            @Override
+            public List<Supplier> loadPage(int offset, int limit) {
+                return suppliers.slice(offset, limit);
             }
+        };
+    }
+
+    public Supplier getSupplierById(String id) {
+        return suppliers.get(id);
+    }
 
+    /**
+     * Attaches the bus used to tell other processes about suppliers this DAO commits.
+     *
+     * @param bus the bus, or null to stop broadcasting
+     */
+    public void setInvalidationBus(InvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    /**
+     * Re-reads the given suppliers from the database, e.g. after another process reported
+     * changing them. Suppliers no longer in the database are dropped from the cache; suppliers
+     * with staged local edits are left alone.
+     *
+     * @param ids ids of the suppliers to re-read
+     * @return the number of cached suppliers replaced, added or removed; -1 on failure
+     */
+    public int refreshSuppliers(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<String> remaining = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, Supplier> found = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection()) {
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                List<String> chunk = remaining.subList(from, Math.min(remaining.size(), from + batchSize));
+                String sql = "SELECT * FROM suppliers WHERE id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            Supplier supplier = mapSupplier(rs);
+                            found.put(supplier.getId(), supplier);
+                        }
+                    }
+                }
+            }
         } catch (SQLException e) {
+            System.err.println("Error re-reading suppliers: " + remaining);
             e.printStackTrace();
+            return -1;
         }
-    }
 
-    public List<Supplier> getAllSuppliers() {
-        return new ArrayList<>(suppliers);
+        int applied = 0;
+        for (String id : remaining) {
+            if (changes.isPending(id)) {
+                continue;
+            }
+            Supplier supplier = found.get(id);
+            if (supplier != null) {
+                suppliers.put(supplier);
+                applied++;
+            } else if (suppliers.remove(id) != null) {
+                applied++;
+            }
+        }
+        return applied;
     }
 
-    public Supplier getSupplierById(String id) {
-        return suppliers.stream()
-                .filter(s -> s.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+    private void broadcast(List<EntityChange> committed) {
+        InvalidationBus target = bus;
+        if (target != null && !committed.isEmpty()) {
+            target.publish(committed);
+        }
     }
 
     public boolean addSupplier(Supplier supplier) {
         String sql = "INSERT INTO suppliers (id, name, email, phone, address, created_at) VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, supplier.getId());
@@ -127,7 +268,8 @@ public class SupplierDAO {
 
             int rowsAffected = pstmt.executeUpdate();
             if (rowsAffected > 0) {
-                suppliers.add(supplier);
+                suppliers.put(supplier);
+                broadcast(List.of(EntityChange.upserted(EntityChange.SUPPLIERS, supplier.getId())));
                 return true;
             }
             return false;
@@ -142,7 +284,7 @@ public class SupplierDAO {
     public boolean updateSupplier(Supplier supplier) {
         String sql = "UPDATE suppliers SET name=?, email=?, phone=?, address=? WHERE id=?";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, supplier.getName());
@@ -154,12 +296,8 @@ public class SupplierDAO {
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
                 // Update in-memory list
-                for (int i = 0; i < suppliers.size(); i++) {
-                    if (suppliers.get(i).getId().equals(supplier.getId())) {
-                        suppliers.set(i, supplier);
-                        break;
-                    }
-                }
+                suppliers.replace(supplier);
+                broadcast(List.of(EntityChange.upserted(EntityChange.SUPPLIERS, supplier.getId())));
                 return true;
             }
             return false;
@@ -174,14 +312,21 @@ public class SupplierDAO {
     public boolean deleteSupplier(String id) {
         String sql = "DELETE FROM suppliers WHERE id = ?";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, id);
-            int rows = pstmt.executeUpdate();
+        try (Connection conn = dataSource.getConnection()) {
+            int rows = JdbcBatch.inTransaction(conn, c -> {
+                try (PreparedStatement pstmt = c.prepareStatement(sql)) {
+                    pstmt.setString(1, id);
+                    int deleted = pstmt.executeUpdate();
+                    if (deleted > 0) {
+                        feed.recordDeletes(c, List.of(id), batchSize);
+                    }
+                    return deleted;
+                }
+            });
 
             if (rows > 0) {
-                suppliers.removeIf(s -> s.getId().equals(id));
+                suppliers.remove(id);
+                broadcast(List.of(EntityChange.deleted(EntityChange.SUPPLIERS, id)));
                 return true;
             }
             return false;
@@ -193,88 +338,202 @@ public class SupplierDAO {
         }
     }
 
+    /**
+     * Returns cached suppliers added on the given day, answered from the date index
+     * without a database round trip.
+     *
+     * @param date the day to match
+     * @return suppliers added on that day, oldest first
+     */
     public List<Supplier> getSuppliersByDate(LocalDate date) {
-        List<Supplier> suppliersByDate = new ArrayList<>();
-        String sql = "SELECT * FROM suppliers WHERE DATE(created_at) = ?";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setDate(1, Date.valueOf(date));
+        return getSuppliersBetween(date, date);
+    }
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Supplier supplier = new Supplier(
-                            rs.getString("id"),
-                            rs.getString("name"),
-                            rs.getString("email"),
-                            rs.getString("phone"),
-                            rs.getString("address"),
-                            null
-                    );
-
-                    Timestamp ts = rs.getTimestamp("created_at");
-                    if (ts != null) {
-                        supplier.setDateAdded(ts.toLocalDateTime());
-                    }
+    /**
+     * Returns cached suppliers added between two days, both inclusive. The lookup is the
+     * half-open range {@code [from 00:00, to + 1 day 00:00)} on the date index.
+     *
+     * @param from first day to include
+     * @param to   last day to include
+     * @return matching suppliers, oldest first
+     */
+    public List<Supplier> getSuppliersBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            return new ArrayList<>();
+        }
+        return suppliers.range(byDateAdded, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
 
-                    suppliersByDate.add(supplier);
-                }
+    /**
+     * Save all in-memory suppliers to the database.
+     * Rows are written with batched upserts ({@code INSERT ... ON DUPLICATE KEY UPDATE})
+     * inside a single transaction. Prefer {@link #flushPendingChanges()}, which only
+     * writes rows that changed.
+     */
+    public void saveAllToDatabase() {
+        List<Supplier> all = suppliers.snapshot();
+        try (Connection conn = dataSource.getConnection()) {
+            JdbcBatch.inTransaction(conn, c -> JdbcBatch.execute(c, UPSERT_SQL, all, batchSize, this::bindUpsert));
+            List<EntityChange> saved = new ArrayList<>();
+            for (Supplier supplier : all) {
+                saved.add(EntityChange.upserted(EntityChange.SUPPLIERS, supplier.getId()));
             }
-
+            broadcast(saved);
         } catch (SQLException e) {
-            System.err.println("Error fetching suppliers for date: " + date);
+            System.err.println("Error saving all suppliers to database");
             e.printStackTrace();
         }
+    }
 
-        return suppliersByDate;
+    /**
+     * Adds a supplier to the cache and schedules its insert for the next write-behind flush.
+     * Until then the supplier exists only in this process; see {@link WriteBehindFlusher} for
+     * what happens to staged changes if the process dies first.
+     *
+     * @param supplier the new supplier
+     * @return false if a supplier with the same id is already cached, in which case nothing is staged
+     */
+    public boolean stageAdd(Supplier supplier) {
+        synchronized (suppliers) {
+            if (suppliers.contains(supplier.getId())) {
+                return false;
+            }
+            suppliers.put(supplier);
+        }
+        changes.markNew(supplier.getId(), supplier);
+        WriteBehindFlusher.getInstance().markDirty(this);
+        return true;
     }
 
     /**
-     * Save all in-memory suppliers to the database.
-     * For each supplier, update if exists, else insert.
+     * Replaces a cached supplier and schedules an update of the given columns for the next
+     * write-behind flush. Repeated edits to the same supplier are written as one statement.
+     *
+     * @param supplier the edited supplier
+     * @param columns  the changed columns ({@code COLUMN_*} constants); none means all columns
      */
-    public void saveAllToDatabase() {
-        String insertSql = "INSERT INTO suppliers (id, name, email, phone, address, created_at) VALUES (?, ?, ?, ?, ?, ?)";
-        String updateSql = "UPDATE suppliers SET name=?, email=?, phone=?, address=? WHERE id=?";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            for (Supplier supplier : suppliers) {
-                boolean exists = false;
-
-                try (PreparedStatement checkStmt = conn.prepareStatement("SELECT COUNT(*) FROM suppliers WHERE id = ?")) {
-                    checkStmt.setString(1, supplier.getId());
-                    try (ResultSet rs = checkStmt.executeQuery()) {
-                        if (rs.next() && rs.getInt(1) > 0) {
-                            exists = true;
-                        }
+    public void stageUpdate(Supplier supplier, String... columns) {
+        for (String column : columns) {
+            if (!UPDATABLE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown supplier column: " + column);
+            }
+        }
+        suppliers.replace(supplier);
+        changes.markModified(supplier.getId(), supplier, columns);
+        WriteBehindFlusher.getInstance().markDirty(this);
+    }
+
+    /**
+     * Removes a supplier from the cache and schedules its delete for the next write-behind flush.
+     *
+     * @param id id of the supplier to delete
+     * @return false if the supplier was not cached, in which case nothing is staged
+     */
+    public boolean stageDelete(String id) {
+        if (suppliers.remove(id) == null) {
+            return false;
+        }
+        changes.markDeleted(id);
+        WriteBehindFlusher.getInstance().markDirty(this);
+        return true;
+    }
+
+    /**
+     * Writes every staged change in one transaction: inserts as batched upserts, updates
+     * batched per changed-column set, then deletes. If the transaction fails the changes
+     * are kept, in their original order, for the next attempt.
+     *
+     * @return the number of rows written, or -1 if the flush failed
+     */
+    @Override
+    public int flushPendingChanges() {
+        List<ChangeTracker.Change<Supplier>> drained = changes.drain();
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            JdbcBatch.inTransaction(conn, c -> {
+                List<Supplier> upserts = new ArrayList<>();
+                List<String> deletes = new ArrayList<>();
+                for (ChangeTracker.Change<Supplier> change : drained) {
+                    if (change.getKind() == ChangeTracker.Kind.NEW) {
+                        upserts.add(change.getEntity());
+                    } else if (change.getKind() == ChangeTracker.Kind.DELETED) {
+                        deletes.add(change.getId());
                     }
                 }
 
-                if (exists) {
-                    try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
-                        updateStmt.setString(1, supplier.getName());
-                        updateStmt.setString(2, supplier.getEmail());
-                        updateStmt.setString(3, supplier.getPhone());
-                        updateStmt.setString(4, supplier.getAddress());
-                        updateStmt.setString(5, supplier.getId());
-                        updateStmt.executeUpdate();
-                    }
-                } else {
-                    try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-                        insertStmt.setString(1, supplier.getId());
-                        insertStmt.setString(2, supplier.getName());
-                        insertStmt.setString(3, supplier.getEmail());
-                        insertStmt.setString(4, supplier.getPhone());
-                        insertStmt.setString(5, supplier.getAddress());
-                        insertStmt.setTimestamp(6, supplier.getDateAdded() != null ? Timestamp.valueOf(supplier.getDateAdded()) : null);
-                        insertStmt.executeUpdate();
-                    }
+                JdbcBatch.execute(c, UPSERT_SQL, upserts, batchSize, this::bindUpsert);
+
+                for (Map.Entry<List<String>, List<ChangeTracker.Change<Supplier>>> group
+                        : ChangeTracker.groupUpdatesByColumns(drained, UPDATABLE_COLUMNS).entrySet()) {
+                    List<String> columns = group.getKey();
+                    String sql = "UPDATE suppliers SET " + String.join("=?, ", columns) + "=? WHERE id=?";
+                    JdbcBatch.execute(c, sql, group.getValue(), batchSize, (ps, change) -> {
+                        int index = 1;
+                        for (String column : columns) {
+                            bindColumn(ps, index++, change.getEntity(), column);
+                        }
+                        ps.setString(index, change.getId());
+                    });
                 }
-            }
+
+                JdbcBatch.execute(c, "DELETE FROM suppliers WHERE id=?", deletes, batchSize,
+                        (ps, id) -> ps.setString(1, id));
+                feed.recordDeletes(c, deletes, batchSize);
+                return null;
+            });
+            broadcast(ChangeTracker.toEntityChanges(EntityChange.SUPPLIERS, drained));
+            return drained.size();
+
         } catch (SQLException e) {
-            System.err.println("Error saving all suppliers to database");
+            changes.requeue(drained);
+            System.err.println("Error flushing staged supplier changes");
             e.printStackTrace();
+            return -1;
         }
     }
+
+    @Override
+    public boolean hasPendingChanges() {
+        return changes.hasChanges();
+    }
+
+    private void bindUpsert(PreparedStatement ps, Supplier supplier) throws SQLException {
+        ps.setString(1, supplier.getId());
+        ps.setString(2, supplier.getName());
+        ps.setString(3, supplier.getEmail());
+        ps.setString(4, supplier.getPhone());
+        ps.setString(5, supplier.getAddress());
+        ps.setTimestamp(6, supplier.getDateAdded() != null ? Timestamp.valueOf(supplier.getDateAdded()) : null);
+    }
+
+    private void bindColumn(PreparedStatement ps, int index, Supplier supplier, String column) throws SQLException {
+        switch (column) {
+            case COLUMN_NAME:
+                ps.setString(index, supplier.getName());
+                break;
+            case COLUMN_EMAIL:
+                ps.setString(index, supplier.getEmail());
+                break;
+            case COLUMN_PHONE:
+                ps.setString(index, supplier.getPhone());
+                break;
+            case COLUMN_ADDRESS:
+                ps.setString(index, supplier.getAddress());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown supplier column: " + column);
+        }
+    }
+
+    /**
+     * Sets how many rows are sent per batch when saving to the database.
+     *
+     * @param batchSize rows per batch, at least 1
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
 }
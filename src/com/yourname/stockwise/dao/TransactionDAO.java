@@ -1,8 +1,6 @@
 package com.yourname.stockwise.dao;
 
 import java.sql.Connection;
-import java.sql.Date;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -11,77 +9,145 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.sql.DataSource;
+
+import com.yourname.stockwise.db.ConnectionPool;
+import com.yourname.stockwise.db.SchemaMigrator;
 import com.yourname.stockwise.model.Product;
 import com.yourname.stockwise.model.Transaction;
 import com.yourname.stockwise.model.TransactionType;
+import com.yourname.stockwise.sync.EntityChange;
+import com.yourname.stockwise.sync.InvalidationBus;
+import com.yourname.stockwise.util.PageSource;
+import com.yourname.stockwise.util.TransactionIdGenerator;
 
 /**
  * Data Access Object (DAO) class for managing transactions in the StockWise application.
  * It handles CRUD operations related to Transaction entities and maintains referential integrity 
  * with the Product table.
  * 
- * Requires the environment variable STOCKWISE_DB_PASSWORD for database authentication.
+ * Connections are borrowed from the shared {@link ConnectionPool}, which requires the
+ * environment variable STOCKWISE_DB_PASSWORD for database authentication.
  * 
  * @author L Mahamba
  * @version 1.0
  */
 public class TransactionDAO {
 
-    // Database connection constants
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/stockwise?useSSL=false&serverTimezone=UTC";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD = System.getenv("STOCKWISE_DB_PASSWORD");
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (id, product_id, type, quantity, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    /** Page size used by {@link #streamTransactions()}, from {@code stockwise.transactions.pageSize}. */
+    public static final int DEFAULT_PAGE_SIZE = Math.max(1, Integer.getInteger("stockwise.transactions.pageSize", 1_000));
+
+    // Attempts made when the server aborts a stock movement as a deadlock victim
+    private static final int MAX_MOVEMENT_ATTEMPTS = 3;
+
+    // Largest IN (...) list sent when loading referenced products
+    private static final int PRODUCT_LOOKUP_CHUNK = 500;
+
+    // Shared connection pool
+    private final DataSource dataSource;
+
+    // Optional product cache used to resolve transaction products without a query
+    private final ProductDAO productDAO;
+
+    // Optional bus that tells other processes about committed stock levels
+    private volatile InvalidationBus bus;
+
+    // Generates transaction ids; created on first use, once this process has a node id
+    private volatile TransactionIdGenerator transactionIds;
 
     /**
      * Constructor for TransactionDAO.
-     * Ensures the "transactions" table exists in the database, creating it if necessary.
-     * The transactions table enforces a foreign key constraint on products.id.
-     * Throws a RuntimeException if the DB password environment variable is not set.
+     * Products referenced by transactions are loaded from the database in one batched query per read.
+     *
+     * @see #TransactionDAO(ProductDAO)
      */
     public TransactionDAO() {
-        String password = System.getenv("STOCKWISE_DB_PASSWORD");
-        if (password == null) {
-            throw new RuntimeException("DB password environment variable not set");
-        }
-        final String DB_PASSWORD = password;
-
-        String sql = "CREATE TABLE IF NOT EXISTS transactions (" +
-                "id VARCHAR(50) PRIMARY KEY, " +
-                "product_id VARCHAR(50), " +
-                "type VARCHAR(20), " +
-                "quantity INT, " +
-                "timestamp TIMESTAMP, " +
-                "FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE ON UPDATE CASCADE" +
-                ")";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-        } catch (SQLException e) {
-            e.printStackTrace();
+        this(null);
+    }
+
+    /**
+     * Constructor for TransactionDAO.
+     * Ensures the database schema, including the "transactions" table, is up to date
+     * (see {@link SchemaMigrator}).
+     * Throws a RuntimeException if the DB password environment variable is not set.
+     *
+     * @param productDAO product cache used to resolve the product of each transaction,
+     *                   or null to load referenced products from the database
+     */
+    public TransactionDAO(ProductDAO productDAO) {
+        this.dataSource = ConnectionPool.getInstance();
+        this.productDAO = productDAO;
+
+        SchemaMigrator.ensureMigrated();
+    }
+
+    /**
+     * Returns a new, unique transaction id (see {@link TransactionIdGenerator}).
+     * <p>
+     * Ids from this process are strictly increasing, and ids from all processes are ordered by
+     * time, so new rows are appended to the end of the primary-key index. The node id embedded in
+     * each id comes from the {@code stockwise.node.id} system property if set; otherwise the first
+     * call leases one from the {@code transaction_node} sequence, so concurrent tills never share
+     * a node id. Every later call is answered from memory without locking.
+     * </p>
+     *
+     * @return the next transaction id
+     * @throws SQLException if a node id cannot be leased
+     */
+    public String nextTransactionId() throws SQLException {
+        TransactionIdGenerator ids = transactionIds;
+        if (ids == null) {
+            synchronized (this) {
+                ids = transactionIds;
+                if (ids == null) {
+                    ids = new TransactionIdGenerator(leaseNodeId());
+                    transactionIds = ids;
+                }
+            }
         }
+        return ids.nextId();
+    }
+
+    private int leaseNodeId() throws SQLException {
+        Integer configured = Integer.getInteger("stockwise.node.id");
+        if (configured != null) {
+            return Math.floorMod(configured, TransactionIdGenerator.MAX_NODES);
+        }
+        // Node ids wrap after 1024 leases; only processes running at the same time must differ
+        long lease = new IdAllocator(dataSource, "transaction_node", "", 1, 1).nextValue();
+        return (int) Math.floorMod(lease, (long) TransactionIdGenerator.MAX_NODES);
     }
 
     /**
      * Inserts a new transaction record into the database.
+     * The product quantity is not changed; use {@link #recordStockMovement(Transaction)} for that.
      *
      * @param transaction The Transaction object to add
      * @return true if the insertion was successful, false otherwise
      */
     public boolean addTransaction(Transaction transaction) {
-        String sql = "INSERT INTO transactions (id, product_id, type, quantity, timestamp) VALUES (?, ?, ?, ?, ?)";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, transaction.getId());
-            pstmt.setString(2, transaction.getProduct().getId());
-            pstmt.setString(3, transaction.getType().name());
-            pstmt.setInt(4, transaction.getQuantity());
-            pstmt.setTimestamp(5, Timestamp.valueOf(transaction.getTimestamp()));
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
 
+            bindInsert(pstmt, transaction);
             return pstmt.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -90,55 +156,361 @@ public class TransactionDAO {
         }
     }
 
+    /**
+     * Records a transaction and applies its stock change in one database transaction.
+     *
+     * @param transaction the movement to record
+     * @return the product's new on-hand quantity, or empty if nothing was recorded
+     * @see #recordStockMovements(List)
+     */
+    public OptionalInt recordStockMovement(Transaction transaction) {
+        Integer level = recordStockMovements(List.of(transaction)).get(transaction.getProduct().getId());
+        return level == null ? OptionalInt.empty() : OptionalInt.of(level);
+    }
+
+    /**
+     * Records a batch of transactions and applies their stock changes atomically: either every
+     * transaction is inserted and every product quantity adjusted, or nothing is.
+     * <p>
+     * Quantities are changed with {@code UPDATE products SET quantity = quantity + ?}, so concurrent
+     * callers never overwrite each other's movements. Deltas are summed per product and the product
+     * rows are locked in id order before any transaction row is inserted, which keeps concurrent
+     * batches from deadlocking each other; if the server still picks this batch as a deadlock or
+     * lock-wait victim it is retried. A batch that would take any product below zero, or that
+     * references an unknown product, is rejected.
+     * </p>
+     * <p>
+     * When this DAO was created with a {@link ProductDAO}, its cached quantities are updated to the
+     * committed levels. The levels are also broadcast on the {@link #setInvalidationBus invalidation bus},
+     * if one is attached, so other tills can patch their caches without a query.
+     * </p>
+     *
+     * @param transactions the movements to record
+     * @return product id to new on-hand quantity, or an empty map if the batch was rejected or failed
+     */
+    public Map<String, Integer> recordStockMovements(List<Transaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<String, Integer> deltas = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getQuantity() <= 0) {
+                System.err.println("Rejected transaction " + transaction.getId() + ": quantity must be positive");
+                return new HashMap<>();
+            }
+            deltas.merge(transaction.getProduct().getId(),
+                    transaction.getType().stockDelta(transaction.getQuantity()), Integer::sum);
+        }
+        if (productDAO != null && deltas.keySet().stream().anyMatch(productDAO::isPending)) {
+            // A product staged a moment ago may not have been inserted yet; stock can't move against it until it is
+            productDAO.flushPendingChanges();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try (Connection conn = dataSource.getConnection()) {
+                List<EntityChange> committed = JdbcBatch.inTransaction(conn, c -> applyStockMovements(c, transactions, deltas));
+                Map<String, Integer> levels = new HashMap<>();
+                for (EntityChange level : committed) {
+                    levels.put(level.getId(), level.getQuantity());
+                    if (productDAO != null) {
+                        productDAO.applyCommittedQuantity(level.getId(), level.getQuantity(), level.getUpdatedAt());
+                    }
+                }
+                broadcastLevels(committed);
+                return levels;
+            } catch (SQLException e) {
+                if (attempt < MAX_MOVEMENT_ATTEMPTS && isRetryable(e)) {
+                    continue;
+                }
+                System.err.println("Failed to record stock movements: " + e.getMessage());
+                e.printStackTrace();
+                return new HashMap<>();
+            }
+        }
+    }
+
+    /**
+     * Attaches the bus used to tell other processes about stock levels this DAO commits.
+     *
+     * @param bus the bus, or null to stop broadcasting
+     */
+    public void setInvalidationBus(InvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    private void broadcastLevels(List<EntityChange> levels) {
+        InvalidationBus target = bus;
+        if (target != null && !levels.isEmpty()) {
+            target.publish(levels);
+        }
+    }
+
+    /**
+     * Body of {@link #recordStockMovements(List)}; runs inside the caller's transaction.
+     */
+    private List<EntityChange> applyStockMovements(Connection conn, List<Transaction> transactions,
+                                                   Map<String, Integer> deltas) throws SQLException {
+        // Lock and adjust each product row first, in id order. NOW() is fixed when a statement
+        // starts, even if it then waits for the row lock, so updated_at is forced past its old
+        // value: each movement gets a strictly later updated_at, and peers can order the levels
+        String update = "UPDATE products SET quantity = quantity + ?, " +
+                "updated_at = GREATEST(CURRENT_TIMESTAMP(3), updated_at + INTERVAL 1000 MICROSECOND) " +
+                "WHERE id = ? AND quantity + ? >= 0";
+        try (PreparedStatement pstmt = conn.prepareStatement(update)) {
+            for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+                pstmt.setInt(1, entry.getValue());
+                pstmt.setString(2, entry.getKey());
+                pstmt.setInt(3, entry.getValue());
+                if (pstmt.executeUpdate() == 0) {
+                    throw new SQLException("Insufficient stock or unknown product: " + entry.getKey());
+                }
+            }
+        }
+
+        JdbcBatch.execute(conn, INSERT_SQL, transactions, JdbcBatch.DEFAULT_BATCH_SIZE, this::bindInsert);
+
+        // Rows are still locked by this transaction, so these are the committed levels
+        List<EntityChange> levels = new ArrayList<>(deltas.size());
+        String select = "SELECT id, quantity, updated_at FROM products WHERE id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(select)) {
+            for (String productId : deltas.keySet()) {
+                pstmt.setString(1, productId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        levels.add(EntityChange.quantity(rs.getString("id"), rs.getInt("quantity"),
+                                rs.getTimestamp("updated_at").getTime()));
+                    }
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * @return true for deadlocks (1213) and lock wait timeouts (1205), which are safe to retry
+     */
+    private static boolean isRetryable(SQLException e) {
+        return "40001".equals(e.getSQLState()) || e.getErrorCode() == 1213 || e.getErrorCode() == 1205;
+    }
+
+    private void bindInsert(PreparedStatement pstmt, Transaction transaction) throws SQLException {
+        pstmt.setString(1, transaction.getId());
+        pstmt.setString(2, transaction.getProduct().getId());
+        pstmt.setString(3, transaction.getType().name());
+        pstmt.setInt(4, transaction.getQuantity());
+        pstmt.setTimestamp(5, Timestamp.valueOf(transaction.getTimestamp()));
+    }
+
     /**
      * Retrieves all transactions from the database.
+     * This materialises the whole ledger; prefer {@link #streamTransactions()} or
+     * {@link #getTransactionsPage(TransactionPage.Cursor, int)} for large histories.
      *
      * @return List of all Transaction objects
      */
     public List<Transaction> getAllTransactions() {
-        List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions";
+        try {
+            return queryTransactions("SELECT * FROM transactions", ps -> { });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    /**
+     * Reads one page of the ledger in {@code (timestamp, id)} order using keyset pagination.
+     * Rows without a timestamp sort first, as MySQL orders NULLs first.
+     *
+     * @param after    cursor returned with the previous page, or null for the first page
+     * @param pageSize maximum number of transactions to return
+     * @return the page; empty with {@code hasMore() == false} on error
+     */
+    public TransactionPage getTransactionsPage(TransactionPage.Cursor after, int pageSize) {
+        return getTransactionsPage(after, 0, pageSize);
+    }
 
-            while (rs.next()) {
-                transactions.add(mapRowToTransaction(rs));
-            }
+    /**
+     * As {@link #getTransactionsPage(TransactionPage.Cursor, int)}, first skipping {@code skip} rows
+     * past the cursor. Skipping costs a scan of the skipped rows, so keep it small by starting from
+     * the nearest known cursor.
+     *
+     * @param after    cursor to start from, or null for the start of the ledger
+     * @param skip     rows to skip after the cursor
+     * @param pageSize maximum number of transactions to return
+     * @return the page; empty with {@code hasMore() == false} on error
+     */
+    public TransactionPage getTransactionsPage(TransactionPage.Cursor after, int skip, int pageSize) {
+        int limit = Math.max(1, pageSize);
+        int offset = Math.max(0, skip);
+        String order = " ORDER BY timestamp, id LIMIT ? OFFSET ?";
+        String sql;
+        ParameterSetter params;
+        if (after == null) {
+            sql = "SELECT * FROM transactions" + order;
+            params = ps -> {
+                ps.setInt(1, limit + 1);
+                ps.setInt(2, offset);
+            };
+        } else if (after.getTimestamp() == null) {
+            sql = "SELECT * FROM transactions WHERE (timestamp IS NULL AND id > ?) OR timestamp IS NOT NULL" + order;
+            params = ps -> {
+                ps.setString(1, after.getId());
+                ps.setInt(2, limit + 1);
+                ps.setInt(3, offset);
+            };
+        } else {
+            // Expanded form of (timestamp, id) > (?, ?), which MySQL can answer from idx_transactions_timestamp
+            sql = "SELECT * FROM transactions WHERE timestamp > ? OR (timestamp = ? AND id > ?)" + order;
+            params = ps -> {
+                Timestamp ts = Timestamp.valueOf(after.getTimestamp());
+                ps.setTimestamp(1, ts);
+                ps.setTimestamp(2, ts);
+                ps.setString(3, after.getId());
+                ps.setInt(4, limit + 1);
+                ps.setInt(5, offset);
+            };
+        }
 
+        try {
+            // One extra row tells us whether another page follows without a COUNT query
+            LastKey lastKey = new LastKey();
+            List<Transaction> rows = queryTransactions(sql, params, lastKey);
+            boolean hasMore = rows.size() > limit;
+            TransactionPage.Cursor next = hasMore ? lastKey.previous : lastKey.last;
+            if (hasMore) {
+                rows = new ArrayList<>(rows.subList(0, limit));
+            }
+            return new TransactionPage(rows, next == null ? after : next, hasMore);
         } catch (SQLException e) {
+            System.err.println("Error fetching transaction page after " + after);
             e.printStackTrace();
+            return new TransactionPage(new ArrayList<>(), after, false);
         }
+    }
 
-        return transactions;
+    /**
+     * @return the number of rows in the ledger, or 0 on error
+     */
+    public int countTransactions() {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM transactions")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
     }
 
     /**
-     * Retrieves all transactions for a specific product by its ID.
+     * Pages through the ledger in {@code (timestamp, id)} order by position, for use with
+     * {@link com.yourname.stockwise.util.LazyPagedList}.
+     * <p>
+     * The source remembers the cursor at the end of every page it has loaded. A request for
+     * any position starts from the nearest remembered cursor at or before it, so scrolling
+     * forwards or backwards is a pure keyset read and a jump only skips the rows between the
+     * nearest known page and the target.
+     * </p>
      *
-     * @param productId The ID of the product
-     * @return List of Transaction objects associated with the product
+     * @return a thread-safe page source over the transactions table
      */
-    public List<Transaction> getTransactionsByProductId(String productId) {
-        List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE product_id = ?";
+    public PageSource<Transaction> pageSource() {
+        return new PageSource<>() {
+            // Row position to the cursor just before it
+            private final NavigableMap<Integer, TransactionPage.Cursor> boundaries = new TreeMap<>();
+
+            @Override
+            public int size() {
+                return countTransactions();
+            }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            @Override
+            public synchronized List<Transaction> loadPage(int offset, int limit) {
+                Map.Entry<Integer, TransactionPage.Cursor> start = boundaries.floorEntry(offset);
+                int from = start == null ? 0 : start.getKey();
+                TransactionPage.Cursor cursor = start == null ? null : start.getValue();
 
-            pstmt.setString(1, productId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    transactions.add(mapRowToTransaction(rs));
+                TransactionPage page = getTransactionsPage(cursor, offset - from, limit);
+                if (!page.getTransactions().isEmpty()) {
+                    boundaries.put(offset + page.getTransactions().size(), page.getNextCursor());
                 }
+                return page.getTransactions();
             }
 
+            @Override
+            public synchronized void invalidate() {
+                boundaries.clear();
+            }
+        };
+    }
+
+    /**
+     * Iterates over the whole ledger in {@code (timestamp, id)} order, loading one page of
+     * {@code pageSize} rows at a time so memory use stays bounded regardless of ledger size.
+     * No connection is held between pages. Iteration stops early if a page fails to load.
+     *
+     * @param pageSize rows fetched per round trip
+     * @return a lazy iterator over every transaction
+     */
+    public Iterator<Transaction> iterateTransactions(int pageSize) {
+        return new Iterator<>() {
+            private TransactionPage page = getTransactionsPage(null, pageSize);
+            private Iterator<Transaction> current = page.getTransactions().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && page.hasMore()) {
+                    page = getTransactionsPage(page.getNextCursor(), pageSize);
+                    current = page.getTransactions().iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Transaction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Streams the whole ledger in {@code (timestamp, id)} order, page by page.
+     *
+     * @param pageSize rows fetched per round trip
+     * @return a sequential, lazily loaded stream of every transaction
+     * @see #iterateTransactions(int)
+     */
+    public Stream<Transaction> streamTransactions(int pageSize) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterateTransactions(pageSize),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @return {@link #streamTransactions(int)} with the {@code stockwise.transactions.pageSize}
+     *         page size (default 1000)
+     */
+    public Stream<Transaction> streamTransactions() {
+        return streamTransactions(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Retrieves all transactions for a specific product by its ID.
+     *
+     * @param productId The ID of the product
+     * @return List of Transaction objects associated with the product
+     */
+    public List<Transaction> getTransactionsByProductId(String productId) {
+        try {
+            return queryTransactions("SELECT * FROM transactions WHERE product_id = ?",
+                    ps -> ps.setString(1, productId));
         } catch (SQLException e) {
             e.printStackTrace();
+            return new ArrayList<>();
         }
-
-        return transactions;
     }
 
     /**
@@ -150,7 +522,7 @@ public class TransactionDAO {
     public boolean deleteTransaction(String transactionId) {
         String sql = "DELETE FROM transactions WHERE id = ?";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, transactionId);
@@ -162,18 +534,77 @@ public class TransactionDAO {
         }
     }
 
+    /**
+     * Runs a transaction query and resolves the product of every row.
+     * Each distinct product id maps to one shared {@link Product} instance: it is taken from the
+     * {@link ProductDAO} cache when one was supplied, and any remaining ids are loaded with a
+     * single batched {@code IN (...)} query after the rows have been read.
+     *
+     * @param sql    the SELECT over the transactions table
+     * @param params binds the query parameters
+     * @return the mapped transactions
+     * @throws SQLException if any SQL error occurs
+     */
+    private List<Transaction> queryTransactions(String sql, ParameterSetter params) throws SQLException {
+        return queryTransactions(sql, params, null);
+    }
+
+    /**
+     * As {@link #queryTransactions(String, ParameterSetter)}, also recording the raw keyset of
+     * the last row read into {@code lastKey} when it is not null.
+     */
+    private List<Transaction> queryTransactions(String sql, ParameterSetter params, LastKey lastKey)
+            throws SQLException {
+        List<Transaction> transactions = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            params.set(pstmt);
+            ProductResolver resolver = new ProductResolver();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(mapRowToTransaction(rs, resolver));
+                    if (lastKey != null) {
+                        lastKey.shift(rs.getTimestamp("timestamp"), rs.getString("id"));
+                    }
+                }
+            }
+            resolver.loadUnresolved(conn);
+        }
+        return transactions;
+    }
+
+    /**
+     * The stored {@code (timestamp, id)} of the last two rows a page query read. Timestamps are
+     * kept as read, since {@link #mapRowToTransaction} substitutes the current time for a missing one.
+     */
+    private static final class LastKey {
+        private TransactionPage.Cursor last;
+        private TransactionPage.Cursor previous;
+
+        void shift(Timestamp timestamp, String id) {
+            previous = last;
+            last = new TransactionPage.Cursor(timestamp == null ? null : timestamp.toLocalDateTime(), id);
+        }
+    }
+
+    /**
+     * Binds the parameters of a query run by {@link #queryTransactions}.
+     */
+    @FunctionalInterface
+    private interface ParameterSetter {
+        void set(PreparedStatement ps) throws SQLException;
+    }
+
     /**
      * Helper method to convert a ResultSet row into a Transaction object.
-     * 
-     * NOTE: Since there is no ProductDAO or getProductById method,
-     * this method creates a dummy Product object with unknown details.
-     * You can later replace this with a real product lookup if you add a ProductDAO.
      *
-     * @param rs ResultSet pointing to the current row
+     * @param rs       ResultSet pointing to the current row
+     * @param resolver supplies the shared Product instance for the row's product id
      * @return Transaction object mapped from the row
      * @throws SQLException if any SQL error occurs
      */
-    private Transaction mapRowToTransaction(ResultSet rs) throws SQLException {
+    private Transaction mapRowToTransaction(ResultSet rs, ProductResolver resolver) throws SQLException {
         String id = rs.getString("id");
         String productId = rs.getString("product_id");
         TransactionType type = TransactionType.valueOf(rs.getString("type"));
@@ -182,11 +613,67 @@ public class TransactionDAO {
         Timestamp ts = rs.getTimestamp("timestamp");
         LocalDateTime timestamp = (ts != null) ? ts.toLocalDateTime() : LocalDateTime.now();
 
-        // Dummy product with only ID, name as "Unknown" and default values for other fields
-        Product dummyProduct = new Product(productId, "Unknown", 0, 0, 0.0);
+        return new Transaction(id, resolver.resolve(productId), type, quantity, timestamp);
+    }
 
-        return new Transaction(id, dummyProduct, type, quantity, timestamp);
+    /**
+     * Hands out one Product per id for the rows of a single query. Ids missing from the
+     * product cache get a placeholder that {@link #loadUnresolved(Connection)} fills in place,
+     * so every transaction already holding it sees the loaded details.
+     */
+    private final class ProductResolver {
+        private final Map<String, Product> resolved = new HashMap<>();
+        private final Map<String, Product> unresolved = new LinkedHashMap<>();
+
+        Product resolve(String productId) {
+            Product product = resolved.get(productId);
+            if (product != null) {
+                return product;
+            }
+            product = productDAO != null ? productDAO.getProductById(productId) : null;
+            if (product == null) {
+                // Stays "Unknown" only if the product no longer exists
+                product = new Product(productId, "Unknown", 0, 0, 0.0);
+                unresolved.put(productId, product);
+            }
+            resolved.put(productId, product);
+            return product;
+        }
+
+        void loadUnresolved(Connection conn) throws SQLException {
+            List<String> ids = new ArrayList<>(unresolved.keySet());
+            for (int start = 0; start < ids.size(); start += PRODUCT_LOOKUP_CHUNK) {
+                List<String> chunk = ids.subList(start, Math.min(ids.size(), start + PRODUCT_LOOKUP_CHUNK));
+                String sql = "SELECT id, name, quantity, threshold, unit_price, username, created_at FROM products WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Product product = unresolved.get(rs.getString("id"));
+                            if (product == null) {
+                                continue;
+                            }
+                            product.setName(rs.getString("name"));
+                            product.setQuantity(rs.getInt("quantity"));
+                            product.setThreshold(rs.getInt("threshold"));
+                            product.setUnitPrice(rs.getDouble("unit_price"));
+                            product.setUsername(rs.getString("username"));
+                            Timestamp created = rs.getTimestamp("created_at");
+                            if (created != null) {
+                                product.setDateAdded(created.toLocalDateTime());
+                            }
+                        }
+                    }
+                }
+            }
+            unresolved.clear();
+        }
     }
+
     /**
      * Retrieves all transactions that occurred on the specified date.
      * Only the date part of the timestamp is considered (ignores time).
@@ -195,27 +682,36 @@ public class TransactionDAO {
      * @return a list of transactions that occurred on that date
      */
     public List<Transaction> getTransactionsByDate(LocalDate date) {
-        List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE DATE(timestamp) = ?";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setDate(1, Date.valueOf(date));
+        return getTransactionsBetween(date, date);
+    }
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    transactions.add(mapRowToTransaction(rs)); // uses your existing mapping method
-                }
-            }
+    /**
+     * Retrieves all transactions between two dates, both inclusive.
+     * <p>
+     * The filter is the half-open range {@code timestamp >= from AND timestamp < to + 1 day}
+     * rather than {@code DATE(timestamp)}, so MySQL can use the index on {@code timestamp}
+     * instead of scanning the whole table.
+     * </p>
+     *
+     * @param from first day to include
+     * @param to   last day to include
+     * @return transactions in that period, oldest first
+     */
+    public List<Transaction> getTransactionsBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT * FROM transactions WHERE timestamp >= ? AND timestamp < ? ORDER BY timestamp, id";
 
+        try {
+            return queryTransactions(sql, ps -> {
+                ps.setTimestamp(1, Timestamp.valueOf(from.atStartOfDay()));
+                ps.setTimestamp(2, Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+            });
         } catch (SQLException e) {
-            System.err.println("Error fetching transactions for date: " + date);
+            System.err.println("Error fetching transactions between " + from + " and " + to);
             e.printStackTrace();
+            return new ArrayList<>();
         }
-
-        return transactions;
     }
-
-    
 }
@@ -0,0 +1,76 @@
+package com.yourname.stockwise.dao;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import com.yourname.stockwise.model.Transaction;
+
+/**
+ * One page of the transaction ledger, read in {@code (timestamp, id)} order by
+ * {@link TransactionDAO#getTransactionsPage(Cursor, int)}.
+ * <p>
+ * Pages are addressed with a keyset {@link Cursor} rather than an offset, so fetching
+ * page N costs the same as fetching page 1 and rows inserted meanwhile never shift
+ * later pages.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class TransactionPage {
+
+    /**
+     * Position just after the last row of a page. Pass {@code null} instead of a cursor
+     * to start from the beginning of the ledger.
+     */
+    public static final class Cursor {
+        private final LocalDateTime timestamp;
+        private final String id;
+
+        Cursor(LocalDateTime timestamp, String id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        /** @return the stored timestamp of the last row read, or null if that row had none */
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        /** @return the id of the last row read */
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "Cursor[" + timestamp + ", " + id + "]";
+        }
+    }
+
+    private final List<Transaction> transactions;
+    private final Cursor nextCursor;
+    private final boolean hasMore;
+
+    TransactionPage(List<Transaction> transactions, Cursor nextCursor, boolean hasMore) {
+        this.transactions = Collections.unmodifiableList(transactions);
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /** @return the transactions on this page, in ledger order */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    /** @return the cursor to pass when requesting the following page */
+    public Cursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /** @return true if at least one more row follows this page */
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
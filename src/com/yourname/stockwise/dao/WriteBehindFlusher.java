@@ -0,0 +1,234 @@
+package com.yourname.stockwise.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background scheduler that writes staged DAO changes to the database.
+ * <p>
+ * DAOs record adds, edits and deletes with their {@code stage...} methods, used by the add
+ * forms, the delete buttons and in-place editing in the product and supplier tables, and then
+ * call {@link #markDirty(Target)}. Every flush interval the flusher asks each dirty DAO to
+ * write its coalesced changes. A DAO whose flush fails keeps its changes and is retried,
+ * waiting twice as long after each further failure, up to a minute. The {@link Listener} is
+ * told when a DAO starts failing and when it recovers, so the user can be warned. A final
+ * flush runs on {@link #shutdown()} and from a JVM shutdown hook.
+ * </p>
+ *
+ * <p><b>Loss window:</b> staged changes are held only in memory. If the process is killed
+ * or the machine loses power before they are flushed, they are lost: normally the last flush
+ * interval's worth, or everything staged since the database became unreachable. A clean exit,
+ * including one through the shutdown hook, makes a final attempt. Use the DAOs' direct
+ * methods instead where losing a write is not acceptable.</p>
+ *
+ * <p>The interval is read from the {@code stockwise.writebehind.intervalMs} system property
+ * (default 2000 ms).</p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class WriteBehindFlusher {
+
+    /**
+     * A DAO that can hold staged changes.
+     */
+    public interface Target {
+
+        /**
+         * Writes all staged changes to the database.
+         *
+         * @return the number of rows written, or -1 if the flush failed and the changes were kept
+         */
+        int flushPendingChanges();
+
+        /**
+         * @return true if changes are still waiting to be written
+         */
+        boolean hasPendingChanges();
+    }
+
+    /**
+     * Told when staged changes cannot be written. Called on the flusher thread.
+     */
+    public interface Listener {
+
+        /**
+         * A DAO's flush failed after succeeding before. Its changes are kept and retried;
+         * further failures in a row are not reported again.
+         *
+         * @param target the DAO whose changes could not be written
+         */
+        void flushFailing(Target target);
+
+        /**
+         * A DAO that was failing has written its changes.
+         *
+         * @param target the DAO
+         */
+        void flushRecovered(Target target);
+    }
+
+    // Longest wait between retries of a failing DAO
+    private static final long MAX_RETRY_DELAY_MS = 60_000L;
+
+    private static final Object INSTANCE_LOCK = new Object();
+    private static WriteBehindFlusher instance;
+
+    private final long intervalMs;
+    private final Set<Target> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Failures in a row, and when to try again, per failing DAO; guarded by this
+    private final Map<Target, Integer> failures = new IdentityHashMap<>();
+    private final Map<Target, Long> retryAt = new IdentityHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private final Thread shutdownHook;
+
+    private WriteBehindFlusher(long intervalMs) {
+        this.intervalMs = Math.max(100L, intervalMs);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stockwise-write-behind");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushDue, this.intervalMs, this.intervalMs, TimeUnit.MILLISECONDS);
+
+        this.shutdownHook = new Thread(this::flushAll, "stockwise-write-behind-final-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Returns the process-wide flusher, starting it on first use.
+     *
+     * @return the shared flusher
+     */
+    public static WriteBehindFlusher getInstance() {
+        synchronized (INSTANCE_LOCK) {
+            if (instance == null) {
+                instance = new WriteBehindFlusher(Long.getLong("stockwise.writebehind.intervalMs", 2_000L));
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Stops the shared flusher after writing any remaining changes. Safe to call more than once.
+     */
+    public static void shutdown() {
+        WriteBehindFlusher flusher;
+        synchronized (INSTANCE_LOCK) {
+            flusher = instance;
+            instance = null;
+        }
+        if (flusher != null) {
+            flusher.scheduler.shutdown();
+            try {
+                flusher.scheduler.awaitTermination(flusher.intervalMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flusher.flushAll();
+            try {
+                Runtime.getRuntime().removeShutdownHook(flusher.shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM is already shutting down; the hook is running or has run
+            }
+        }
+    }
+
+    /**
+     * Schedules a DAO for the next flush.
+     *
+     * @param target the DAO holding staged changes
+     */
+    public void markDirty(Target target) {
+        synchronized (dirty) {
+            dirty.add(target);
+        }
+    }
+
+    /**
+     * @param listener told when staged changes start and stop failing to be written
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener a listener previously added
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Flushes every dirty DAO now, on the calling thread, including any waiting to retry.
+     */
+    public synchronized void flushAll() {
+        flush(true);
+    }
+
+    // Scheduled tick: DAOs that failed recently wait out their retry delay
+    private synchronized void flushDue() {
+        flush(false);
+    }
+
+    private void flush(boolean includeWaiting) {
+        List<Target> targets;
+        synchronized (dirty) {
+            targets = new ArrayList<>(dirty);
+            dirty.clear();
+        }
+        long now = System.currentTimeMillis();
+        for (Target target : targets) {
+            Long due = retryAt.get(target);
+            if (!includeWaiting && due != null && now < due) {
+                markDirty(target);
+                continue;
+            }
+            int written;
+            try {
+                written = target.flushPendingChanges();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                written = -1;
+            }
+            if (written < 0) {
+                failed(target, now);
+            } else if (failures.remove(target) != null) {
+                retryAt.remove(target);
+                for (Listener listener : listeners) {
+                    listener.flushRecovered(target);
+                }
+            }
+            if (target.hasPendingChanges()) {
+                markDirty(target);
+            }
+        }
+    }
+
+    private void failed(Target target, long now) {
+        int count = failures.merge(target, 1, Integer::sum);
+        long delay = Math.min(MAX_RETRY_DELAY_MS, intervalMs << Math.min(count - 1, 16));
+        retryAt.put(target, now + delay);
+        if (count == 1) {
+            for (Listener listener : listeners) {
+                listener.flushFailing(target);
+            }
+        }
+    }
+
+    /**
+     * @return the flush interval in milliseconds
+     */
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+}
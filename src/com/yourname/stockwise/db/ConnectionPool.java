@@ -0,0 +1,432 @@
+package com.yourname.stockwise.db;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Bounded JDBC connection pool shared by every DAO in StockWise.
+ * <p>
+ * Physical MySQL connections are opened lazily, handed out as lightweight
+ * wrappers and returned to the pool when the caller closes them, so the usual
+ * try-with-resources blocks keep working unchanged. The pool:
+ * </p>
+ * <ul>
+ *   <li>never has more than {@code maxPoolSize} connections lent out; extra callers wait up to
+ *       the connection timeout and then fail with {@link SQLTransientConnectionException}</li>
+ *   <li>validates a connection with {@link Connection#isValid(int)} before reuse when it has been
+ *       idle for longer than the validation window</li>
+ *   <li>retires connections older than the max lifetime and surplus connections idle beyond the idle timeout</li>
+ *   <li>logs the borrowing stack trace of any connection held longer than the leak detection threshold</li>
+ *   <li>resets auto-commit and rolls back unfinished work when a connection is returned</li>
+ * </ul>
+ *
+ * <p>Use {@link #getInstance()} to obtain the process-wide pool and {@link #shutdown()} on exit.</p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class ConnectionPool implements DataSource, AutoCloseable {
+
+    private static final Object INSTANCE_LOCK = new Object();
+    private static volatile ConnectionPool instance;
+
+    private static final long HOUSEKEEPING_INTERVAL_MS = 5_000L;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DatabaseConfig config;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> leased = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    // Metrics
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong retired = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    /**
+     * Creates a pool for the given configuration and starts its housekeeping thread.
+     *
+     * @param config connection and pool settings
+     */
+    public ConnectionPool(DatabaseConfig config) {
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxPoolSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stockwise-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the process-wide pool, creating it from {@link DatabaseConfig#fromEnvironment()} on first use.
+     *
+     * @return the shared pool
+     * @throws RuntimeException if the database password is not configured
+     */
+    public static ConnectionPool getInstance() {
+        ConnectionPool pool = instance;
+        if (pool == null) {
+            synchronized (INSTANCE_LOCK) {
+                pool = instance;
+                if (pool == null) {
+                    pool = new ConnectionPool(DatabaseConfig.fromEnvironment());
+                    instance = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Closes the shared pool if it was ever created. Safe to call more than once.
+     */
+    public static void shutdown() {
+        synchronized (INSTANCE_LOCK) {
+            if (instance != null) {
+                instance.close();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool. Closing the returned connection gives it back.
+     *
+     * @return a pooled connection
+     * @throws SQLException if no connection became available in time or a new one could not be opened
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.getConnectionTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTransientConnectionException("Timed out after " + config.getConnectionTimeoutMs()
+                        + " ms waiting for a database connection: " + getMetrics());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledEntry entry = takeHealthyEntry();
+            totalWaitNanos.addAndGet(System.nanoTime() - start);
+            borrowed.incrementAndGet();
+
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.borrowSite = config.getLeakDetectionThresholdMs() > 0
+                    ? new Throwable("Connection borrowed by " + Thread.currentThread().getName())
+                    : null;
+            entry.leakReported = false;
+            leased.add(entry);
+            return newHandle(entry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Not supported: all connections use the configured credentials.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ConnectionPool only serves the configured credentials");
+    }
+
+    /**
+     * Returns a snapshot of the pool statistics.
+     *
+     * @return current metrics
+     */
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(config.getMaxPoolSize(), leased.size(), idle.size(), permits.getQueueLength(),
+                created.get(), retired.get(), borrowed.get(), timeouts.get(),
+                validationFailures.get(), leaksDetected.get(), totalWaitNanos.get());
+    }
+
+    /**
+     * @return the configured upper bound on connections lent out at once
+     */
+    public int getMaxPoolSize() {
+        return config.getMaxPoolSize();
+    }
+
+    /**
+     * Stops housekeeping and closes every idle connection. Connections still lent out
+     * are closed as soon as their borrowers return them.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            retire(entry);
+        }
+    }
+
+    private PooledEntry takeHealthyEntry() throws SQLException {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            long now = System.currentTimeMillis();
+            if (isExpired(entry, now)) {
+                retire(entry);
+                continue;
+            }
+            if (now - entry.lastReturnedAt >= config.getValidationIdleMs() && !isHealthy(entry)) {
+                validationFailures.incrementAndGet();
+                retire(entry);
+                continue;
+            }
+            return entry;
+        }
+        return openEntry();
+    }
+
+    private PooledEntry openEntry() throws SQLException {
+        Connection physical = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword());
+        created.incrementAndGet();
+        return new PooledEntry(physical);
+    }
+
+    private boolean isExpired(PooledEntry entry, long now) {
+        return config.getMaxLifetimeMs() > 0 && now - entry.createdAt >= config.getMaxLifetimeMs();
+    }
+
+    private boolean isHealthy(PooledEntry entry) {
+        try {
+            return entry.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledEntry entry) {
+        leased.remove(entry);
+        try {
+            Connection conn = entry.physical;
+            long now = System.currentTimeMillis();
+            boolean reusable = !closed && !entry.broken && !isExpired(entry, now) && !conn.isClosed();
+
+            if (reusable) {
+                if (!conn.getAutoCommit()) {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+                if (conn.isReadOnly()) {
+                    conn.setReadOnly(false);
+                }
+                conn.clearWarnings();
+            }
+
+            if (reusable && idle.size() < config.getMaxPoolSize()) {
+                entry.lastReturnedAt = now;
+                idle.offerFirst(entry);
+            } else {
+                retire(entry);
+            }
+        } catch (SQLException e) {
+            retire(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void retire(PooledEntry entry) {
+        retired.incrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            // Already broken; nothing else to do
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Retire expired connections and surplus connections that have idled out
+            List<PooledEntry> snapshot = new ArrayList<>(idle);
+            for (PooledEntry entry : snapshot) {
+                boolean idledOut = config.getIdleTimeoutMs() > 0
+                        && now - entry.lastReturnedAt >= config.getIdleTimeoutMs()
+                        && idle.size() > config.getMinIdle();
+                if ((isExpired(entry, now) || idledOut) && idle.remove(entry)) {
+                    retire(entry);
+                }
+            }
+
+            // Leak detection
+            long threshold = config.getLeakDetectionThresholdMs();
+            if (threshold > 0) {
+                for (PooledEntry entry : leased) {
+                    if (!entry.leakReported && now - entry.borrowedAt >= threshold) {
+                        entry.leakReported = true;
+                        leaksDetected.incrementAndGet();
+                        System.err.println("Possible connection leak: connection held for "
+                                + (now - entry.borrowedAt) + " ms");
+                        if (entry.borrowSite != null) {
+                            entry.borrowSite.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            // Keep a few connections warm
+            while (!closed && idle.size() < config.getMinIdle()
+                    && idle.size() + leased.size() < config.getMaxPoolSize()) {
+                PooledEntry entry = openEntry();
+                entry.lastReturnedAt = System.currentTimeMillis();
+                idle.offerLast(entry);
+            }
+        } catch (SQLException e) {
+            System.err.println("Connection pool could not open a warm connection: " + e.getMessage());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Connection newHandle(PooledEntry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean handleClosed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!handleClosed) {
+                            handleClosed = true;
+                            release(entry);
+                        }
+                        return null;
+                    case "isClosed":
+                        return handleClosed || entry.physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + entry.physical + "]";
+                    default:
+                        break;
+                }
+                if (handleClosed) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                try {
+                    return method.invoke(entry.physical, args);
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof SQLException && isFatal((SQLException) cause)) {
+                        entry.broken = true;
+                    }
+                    throw cause;
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static boolean isFatal(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLNonTransientConnectionException || (state != null && state.startsWith("08"));
+    }
+
+    // DataSource boilerplate
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("ConnectionPool does not use java.util.logging");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("ConnectionPool does not wrap " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * A physical connection together with its bookkeeping.
+     */
+    private static final class PooledEntry {
+        final Connection physical;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastReturnedAt = createdAt;
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+        volatile boolean broken;
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+    }
+}
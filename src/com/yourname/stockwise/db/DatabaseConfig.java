@@ -0,0 +1,124 @@
+package com.yourname.stockwise.db;
+
+/**
+ * Connection settings for the StockWise MySQL database and its connection pool.
+ * <p>
+ * Values are read from system properties so that each terminal can be tuned
+ * without a rebuild. The password is read from the environment variable
+ * {@code STOCKWISE_DB_PASSWORD} or, failing that, the {@code db.password}
+ * system property.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@code stockwise.db.url} - JDBC URL (default
+ *       {@code jdbc:mysql://localhost:3306/stockwise?serverTimezone=UTC&rewriteBatchedStatements=true}:
+ *       timestamps are read and written as UTC, and JDBC batches are sent as multi-row statements)</li>
+ *   <li>{@code stockwise.db.user} - database user (default {@code root})</li>
+ *   <li>{@code stockwise.pool.maxSize} - maximum open connections (default 10)</li>
+ *   <li>{@code stockwise.pool.minIdle} - idle connections kept warm (default 2)</li>
+ *   <li>{@code stockwise.pool.connectionTimeoutMs} - max wait for a free connection (default 30000)</li>
+ *   <li>{@code stockwise.pool.idleTimeoutMs} - idle time before a surplus connection is closed (default 600000)</li>
+ *   <li>{@code stockwise.pool.maxLifetimeMs} - max age of a physical connection (default 1800000)</li>
+ *   <li>{@code stockwise.pool.validationIdleMs} - idle time after which a connection is validated on borrow (default 5000)</li>
+ *   <li>{@code stockwise.pool.leakDetectionThresholdMs} - borrow time before a leak warning, 0 disables (default 60000)</li>
+ * </ul>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class DatabaseConfig {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxPoolSize;
+    private final int minIdle;
+    private final long connectionTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long validationIdleMs;
+    private final long leakDetectionThresholdMs;
+
+    private DatabaseConfig(String url, String user, String password, int maxPoolSize, int minIdle,
+                           long connectionTimeoutMs, long idleTimeoutMs, long maxLifetimeMs,
+                           long validationIdleMs, long leakDetectionThresholdMs) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxPoolSize = Math.max(1, maxPoolSize);
+        this.minIdle = Math.max(0, Math.min(minIdle, this.maxPoolSize));
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.validationIdleMs = validationIdleMs;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+    }
+
+    /**
+     * Builds the configuration from the environment and system properties.
+     *
+     * @return the resolved configuration
+     * @throws RuntimeException if no database password has been provided
+     */
+    public static DatabaseConfig fromEnvironment() {
+        String pwd = System.getenv("STOCKWISE_DB_PASSWORD");
+        if (pwd == null || pwd.isEmpty()) {
+            pwd = System.getProperty("db.password");
+        }
+        if (pwd == null || pwd.isEmpty()) {
+            throw new RuntimeException("DB password environment variable or system property not set");
+        }
+
+        return new DatabaseConfig(
+                System.getProperty("stockwise.db.url", "jdbc:mysql://localhost:3306/stockwise?serverTimezone=UTC&rewriteBatchedStatements=true"),
+                System.getProperty("stockwise.db.user", "root"),
+                pwd,
+                Integer.getInteger("stockwise.pool.maxSize", 10),
+                Integer.getInteger("stockwise.pool.minIdle", 2),
+                Long.getLong("stockwise.pool.connectionTimeoutMs", 30_000L),
+                Long.getLong("stockwise.pool.idleTimeoutMs", 600_000L),
+                Long.getLong("stockwise.pool.maxLifetimeMs", 1_800_000L),
+                Long.getLong("stockwise.pool.validationIdleMs", 5_000L),
+                Long.getLong("stockwise.pool.leakDetectionThresholdMs", 60_000L));
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public long getMaxLifetimeMs() {
+        return maxLifetimeMs;
+    }
+
+    public long getValidationIdleMs() {
+        return validationIdleMs;
+    }
+
+    public long getLeakDetectionThresholdMs() {
+        return leakDetectionThresholdMs;
+    }
+}
@@ -0,0 +1,176 @@
+package com.yourname.stockwise.db;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * One numbered step of the database schema, applied by {@link SchemaMigrator}.
+ * <p>
+ * A migration is a list of {@link Change changes} run in order. Its checksum is the SHA-256
+ * of the changes' descriptions and is stored with the version once applied, so editing a
+ * migration that has already run on a database is detected at the next start-up instead of
+ * silently leaving databases in different shapes. Add a new migration rather than changing
+ * an existing one.
+ * </p>
+ *
+ * <p>MySQL commits DDL implicitly, so a migration is not atomic; each change should be safe
+ * to run again, which the factory methods here ensure.</p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class Migration {
+
+    /**
+     * A single schema change.
+     */
+    public interface Change {
+
+        /**
+         * @return a stable description of what the change does, used for the checksum
+         */
+        String describe();
+
+        /**
+         * Applies the change.
+         *
+         * @param conn open connection in auto-commit mode
+         * @throws SQLException if the change fails
+         */
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Body of a change written in Java, for steps that need to inspect the schema first.
+     */
+    @FunctionalInterface
+    public interface Body {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final List<Change> changes;
+    private final String checksum;
+
+    /**
+     * @param version     position of this migration; versions must be unique and increasing
+     * @param description short human-readable summary stored in {@code schema_version}
+     * @param changes     the changes, run in order
+     */
+    public Migration(int version, String description, Change... changes) {
+        this.version = version;
+        this.description = description;
+        this.changes = List.of(changes);
+        this.checksum = computeChecksum(this.changes);
+    }
+
+    /**
+     * Runs a SQL statement as-is. Use idempotent forms such as {@code CREATE TABLE IF NOT EXISTS}.
+     *
+     * @param sql the statement
+     * @return the change
+     */
+    public static Change sql(String sql) {
+        return custom("sql " + sql, conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(sql);
+            }
+        });
+    }
+
+    /**
+     * Adds a column unless the table already has it.
+     *
+     * @param table      table name
+     * @param column     column name
+     * @param definition column type and constraints, e.g. {@code "VARCHAR(100) DEFAULT NULL"}
+     * @return the change
+     */
+    public static Change addColumn(String table, String column, String definition) {
+        return custom("addColumn " + table + "." + column + " " + definition,
+                conn -> SchemaSupport.addColumnIfMissing(conn, table, column, definition));
+    }
+
+    /**
+     * Creates a secondary index unless an equivalent one already exists.
+     *
+     * @param table     table name
+     * @param indexName name for the new index
+     * @param columns   indexed columns, in order
+     * @return the change
+     * @see SchemaSupport#ensureIndex(Connection, String, String, String...)
+     */
+    public static Change index(String table, String indexName, String... columns) {
+        return custom("index " + indexName + " on " + table + " " + String.join(",", columns),
+                conn -> SchemaSupport.ensureIndex(conn, table, indexName, columns));
+    }
+
+    /**
+     * Runs Java code as a change.
+     *
+     * @param description stable description of the change; changing it changes the checksum
+     * @param body        the code to run
+     * @return the change
+     */
+    public static Change custom(String description, Body body) {
+        return new Change() {
+            @Override
+            public String describe() {
+                return description;
+            }
+
+            @Override
+            public void apply(Connection conn) throws SQLException {
+                body.apply(conn);
+            }
+        };
+    }
+
+    /** @return the version number */
+    public int getVersion() {
+        return version;
+    }
+
+    /** @return the human-readable summary */
+    public String getDescription() {
+        return description;
+    }
+
+    /** @return the changes, in order */
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    /** @return hex SHA-256 of the change descriptions */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+
+    private static String computeChecksum(List<Change> changes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Change change : changes) {
+                digest.update(change.describe().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.yourname.stockwise.db;
+
+/**
+ * Immutable snapshot of {@link ConnectionPool} statistics, suitable for
+ * logging or display on an admin screen.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class PoolMetrics {
+
+    private final int maxSize;
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long created;
+    private final long retired;
+    private final long borrowed;
+    private final long timeouts;
+    private final long validationFailures;
+    private final long leaksDetected;
+    private final long totalWaitNanos;
+
+    PoolMetrics(int maxSize, int active, int idle, int waiting, long created, long retired, long borrowed,
+                long timeouts, long validationFailures, long leaksDetected, long totalWaitNanos) {
+        this.maxSize = maxSize;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.created = created;
+        this.retired = retired;
+        this.borrowed = borrowed;
+        this.timeouts = timeouts;
+        this.validationFailures = validationFailures;
+        this.leaksDetected = leaksDetected;
+        this.totalWaitNanos = totalWaitNanos;
+    }
+
+    /** @return the configured upper bound on open connections */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** @return connections currently lent out to callers */
+    public int getActive() {
+        return active;
+    }
+
+    /** @return open connections waiting in the pool */
+    public int getIdle() {
+        return idle;
+    }
+
+    /** @return threads currently blocked waiting for a connection */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    /** @return physical connections opened since start-up */
+    public long getCreated() {
+        return created;
+    }
+
+    /** @return physical connections closed because they expired, idled out or failed validation */
+    public long getRetired() {
+        return retired;
+    }
+
+    /** @return total successful borrows */
+    public long getBorrowed() {
+        return borrowed;
+    }
+
+    /** @return borrows that gave up after the connection timeout */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /** @return connections discarded because a health check failed */
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+
+    /** @return connections held longer than the leak detection threshold */
+    public long getLeaksDetected() {
+        return leaksDetected;
+    }
+
+    /** @return average time spent waiting for a connection, in milliseconds */
+    public double getAverageWaitMillis() {
+        return borrowed == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / borrowed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "PoolMetrics[max=%d, active=%d, idle=%d, waiting=%d, created=%d, retired=%d, borrowed=%d, "
+                        + "timeouts=%d, validationFailures=%d, leaks=%d, avgWaitMs=%.3f]",
+                maxSize, active, idle, waiting, created, retired, borrowed,
+                timeouts, validationFailures, leaksDetected, getAverageWaitMillis());
+    }
+}
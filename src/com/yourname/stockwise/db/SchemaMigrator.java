@@ -0,0 +1,303 @@
+package com.yourname.stockwise.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * Brings the database schema up to date by applying numbered {@link Migration migrations}.
+ * <p>
+ * Applied versions are recorded in the {@code schema_version} table together with their
+ * checksums. When the database is current, start-up costs one query that reads that table.
+ * Otherwise the migrator takes the MySQL named lock {@value #LOCK_NAME}, so that several
+ * terminals starting at once do not race, re-reads the applied versions and runs the
+ * missing migrations in order.
+ * </p>
+ *
+ * <p>A migration whose stored checksum no longer matches its definition stops the run:
+ * applied migrations must not be edited. Add a new migration to {@link #MIGRATIONS} instead.</p>
+ *
+ * <p>The first migrations reproduce the tables the DAOs used to create on their own, using
+ * changes that are skipped when already present, so existing databases are adopted as they
+ * are.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     SchemaMigrator.ensureMigrated(); // once per process, before any DAO query
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class SchemaMigrator {
+
+    /** Name of the MySQL lock held while migrations run. */
+    public static final String LOCK_NAME = "stockwise_schema_migration";
+
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    /** Every migration, in version order. Append only. */
+    static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create users table",
+                    Migration.sql("CREATE TABLE IF NOT EXISTS users (" +
+                            "email VARCHAR(255) PRIMARY KEY, " +
+                            "password VARCHAR(64) NOT NULL, " +
+                            "name VARCHAR(100) NOT NULL, " +
+                            "surname VARCHAR(100) NOT NULL, " +
+                            "phone_number VARCHAR(20), " +
+                            "user_name VARCHAR(100) NOT NULL UNIQUE" +
+                            ")"),
+                    Migration.addColumn("users", "name", "VARCHAR(100) NOT NULL DEFAULT '' AFTER password"),
+                    Migration.addColumn("users", "surname", "VARCHAR(100) NOT NULL DEFAULT '' AFTER name"),
+                    Migration.addColumn("users", "phone_number", "VARCHAR(20) DEFAULT NULL AFTER surname"),
+                    // Existing rows get their email as user name so the UNIQUE constraint holds
+                    Migration.custom("addColumn users.user_name NOT NULL UNIQUE, backfilled from email",
+                            SchemaMigrator::addUserNameColumn)),
+            new Migration(2, "Create products table",
+                    Migration.sql("CREATE TABLE IF NOT EXISTS products (" +
+                            "id VARCHAR(50) PRIMARY KEY, " +
+                            "name VARCHAR(255), " +
+                            "quantity INT, " +
+                            "threshold INT, " +
+                            "unit_price DOUBLE, " +
+                            "username VARCHAR(100), " +
+                            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
+                            ")"),
+                    Migration.addColumn("products", "username", "VARCHAR(100)"),
+                    Migration.addColumn("products", "unit_price", "DOUBLE"),
+                    Migration.addColumn("products", "created_at", "DATETIME DEFAULT CURRENT_TIMESTAMP")),
+            new Migration(3, "Create suppliers table",
+                    Migration.sql("CREATE TABLE IF NOT EXISTS suppliers (" +
+                            "id VARCHAR(50) PRIMARY KEY, " +
+                            "name VARCHAR(255), " +
+                            "email VARCHAR(255), " +
+                            "phone VARCHAR(50), " +
+                            "address VARCHAR(255), " +
+                            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
+                            ")"),
+                    Migration.addColumn("suppliers", "created_at", "DATETIME DEFAULT CURRENT_TIMESTAMP")),
+            new Migration(4, "Create transactions table",
+                    Migration.sql("CREATE TABLE IF NOT EXISTS transactions (" +
+                            "id VARCHAR(50) PRIMARY KEY, " +
+                            "product_id VARCHAR(50), " +
+                            "type VARCHAR(20), " +
+                            "quantity INT, " +
+                            "timestamp TIMESTAMP, " +
+                            "FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE ON UPDATE CASCADE" +
+                            ")")),
+            new Migration(5, "Add lookup indexes",
+                    Migration.index("products", "idx_products_created_at", "created_at"),
+                    Migration.index("products", "idx_products_username", "username"),
+                    Migration.index("suppliers", "idx_suppliers_created_at", "created_at"),
+                    // Supports date-range filters and per-product lookups
+                    Migration.index("transactions", "idx_transactions_timestamp", "timestamp"),
+                    Migration.index("transactions", "idx_transactions_product_id", "product_id")),
+            new Migration(6, "Track row changes and deletes for incremental sync",
+                    Migration.addColumn("products", "updated_at",
+                            "TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)"),
+                    Migration.addColumn("suppliers", "updated_at",
+                            "TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)"),
+                    Migration.index("products", "idx_products_updated_at", "updated_at"),
+                    Migration.index("suppliers", "idx_suppliers_updated_at", "updated_at"),
+                    Migration.sql("CREATE TABLE IF NOT EXISTS deleted_rows (" +
+                            "table_name VARCHAR(64) NOT NULL, " +
+                            "id VARCHAR(50) NOT NULL, " +
+                            "deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3), " +
+                            "PRIMARY KEY (table_name, id), " +
+                            "INDEX idx_deleted_rows_deleted_at (table_name, deleted_at)" +
+                            ")")),
+            new Migration(7, "Add id sequences",
+                    Migration.sql("CREATE TABLE IF NOT EXISTS id_sequences (" +
+                            "name VARCHAR(50) PRIMARY KEY, " +
+                            "next_value BIGINT NOT NULL" +
+                            ")"),
+                    // Continue after the highest existing P-number so allocated ids never collide
+                    Migration.sql("INSERT IGNORE INTO id_sequences (name, next_value) " +
+                            "SELECT 'product', COALESCE(MAX(CAST(SUBSTRING(id, 2) AS UNSIGNED)), 0) + 1 " +
+                            "FROM products WHERE id REGEXP '^P[0-9]+$'"))
+    );
+
+    private static final Object RUN_LOCK = new Object();
+    private static volatile boolean migrated;
+
+    private final DataSource dataSource;
+    private final List<Migration> migrations;
+
+    /**
+     * @param dataSource where to apply the migrations
+     * @param migrations the migrations, in increasing version order
+     */
+    public SchemaMigrator(DataSource dataSource, List<Migration> migrations) {
+        this.dataSource = dataSource;
+        this.migrations = List.copyOf(migrations);
+        for (int i = 1; i < this.migrations.size(); i++) {
+            if (this.migrations.get(i).getVersion() <= this.migrations.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Migrations out of order at " + this.migrations.get(i));
+            }
+        }
+    }
+
+    /**
+     * Migrates the shared {@link ConnectionPool} database the first time it is called in this
+     * process; later calls return immediately. Failures are logged and retried on the next call.
+     *
+     * @return true if the schema is up to date
+     */
+    public static boolean ensureMigrated() {
+        if (migrated) {
+            return true;
+        }
+        synchronized (RUN_LOCK) {
+            if (!migrated) {
+                try {
+                    new SchemaMigrator(ConnectionPool.getInstance(), MIGRATIONS).migrate();
+                    migrated = true;
+                } catch (SQLException e) {
+                    System.err.println("Schema migration failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+            return migrated;
+        }
+    }
+
+    /**
+     * Applies every migration the database has not seen yet.
+     *
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails, the lock cannot be taken, or an applied
+     *                      migration's checksum has changed
+     */
+    public int migrate() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            // Steady state: one read of schema_version
+            if (pending(readApplied(conn)).isEmpty()) {
+                return 0;
+            }
+
+            acquireLock(conn);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                            "version INT PRIMARY KEY, " +
+                            "description VARCHAR(200) NOT NULL, " +
+                            "checksum CHAR(64) NOT NULL, " +
+                            "execution_ms BIGINT NOT NULL, " +
+                            "applied_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
+                            ")");
+                }
+
+                // Another terminal may have migrated while we waited for the lock
+                List<Migration> pending = pending(readApplied(conn));
+                for (Migration migration : pending) {
+                    apply(conn, migration);
+                }
+                return pending.size();
+            } finally {
+                releaseLock(conn);
+            }
+        }
+    }
+
+    /**
+     * Returns the migrations not yet applied, checking the checksums of those that were.
+     */
+    private List<Migration> pending(Map<Integer, String> applied) throws SQLException {
+        List<Migration> pending = new ArrayList<>();
+        for (Migration migration : migrations) {
+            String checksum = applied.get(migration.getVersion());
+            if (checksum == null) {
+                pending.add(migration);
+            } else if (!checksum.equalsIgnoreCase(migration.getChecksum())) {
+                throw new SQLException("Checksum mismatch for applied migration " + migration
+                        + ": database has " + checksum + ", code has " + migration.getChecksum());
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Reads applied versions and their checksums; empty if nothing was ever migrated.
+     */
+    private static Map<Integer, String> readApplied(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        } catch (SQLException e) {
+            // 1146 = table doesn't exist: a database that predates versioned migrations
+            if (e.getErrorCode() != 1146 && !"42S02".equals(e.getSQLState())) {
+                throw e;
+            }
+        }
+        return applied;
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        for (Migration.Change change : migration.getChanges()) {
+            change.apply(conn);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+            ps.setInt(1, migration.getVersion());
+            ps.setString(2, migration.getDescription());
+            ps.setString(3, migration.getChecksum());
+            ps.setLong(4, elapsedMs);
+            ps.executeUpdate();
+        }
+        System.out.println("Applied migration " + migration + " in " + elapsedMs + " ms");
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out after " + LOCK_TIMEOUT_SECONDS
+                            + "s waiting for schema migration lock " + LOCK_NAME);
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            // The lock is released anyway when the connection closes
+            System.err.println("Could not release schema migration lock: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds users.user_name to tables created before it existed, in steps that keep the
+     * UNIQUE constraint satisfiable: add nullable, backfill from email, then tighten.
+     */
+    private static void addUserNameColumn(Connection conn) throws SQLException {
+        if (SchemaSupport.getColumns(conn, "users").contains("user_name")) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE users ADD COLUMN user_name VARCHAR(100) DEFAULT NULL AFTER phone_number");
+            stmt.execute("UPDATE users SET user_name = email WHERE user_name IS NULL");
+            stmt.execute("ALTER TABLE users MODIFY user_name VARCHAR(100) NOT NULL");
+            stmt.execute("ALTER TABLE users ADD UNIQUE INDEX unique_user_name (user_name)");
+        }
+        System.out.println("Added 'user_name' column, backfilled from email.");
+    }
+}
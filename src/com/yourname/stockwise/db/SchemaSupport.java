@@ -0,0 +1,133 @@
+package com.yourname.stockwise.db;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Schema helpers used while bootstrapping tables.
+ * <p>
+ * MySQL has no {@code CREATE INDEX IF NOT EXISTS}, so {@link #ensureIndex} inspects
+ * {@link DatabaseMetaData#getIndexInfo} first and only creates the index when no existing
+ * index already starts with the requested columns (for example the index InnoDB creates
+ * automatically for a foreign key). {@link #addColumnIfMissing} does the same for columns.
+ * These helpers keep {@link Migration} changes safe to re-run.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class SchemaSupport {
+
+    private SchemaSupport() {
+    }
+
+    /**
+     * Creates a secondary index unless an equivalent one already exists.
+     *
+     * @param conn      open connection
+     * @param table     table name
+     * @param indexName name for the new index
+     * @param columns   indexed columns, in order
+     * @return true if the index was created
+     * @throws SQLException if the metadata lookup or the DDL fails
+     */
+    public static boolean ensureIndex(Connection conn, String table, String indexName, String... columns)
+            throws SQLException {
+        List<String> wanted = new ArrayList<>();
+        for (String column : columns) {
+            wanted.add(column.toLowerCase(Locale.ROOT));
+        }
+
+        for (Map.Entry<String, List<String>> index : getIndexColumns(conn, table).entrySet()) {
+            List<String> existing = index.getValue();
+            if (index.getKey().equalsIgnoreCase(indexName)
+                    || (existing.size() >= wanted.size() && existing.subList(0, wanted.size()).equals(wanted))) {
+                return false;
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX " + indexName + " ON " + table + " (" + String.join(", ", columns) + ")");
+        }
+        System.out.println("Created index " + indexName + " on " + table + Arrays.toString(columns));
+        return true;
+    }
+
+    /**
+     * Adds a column unless the table already has one with that name.
+     *
+     * @param conn       open connection
+     * @param table      table name
+     * @param column     column name
+     * @param definition column type and constraints
+     * @return true if the column was added
+     * @throws SQLException if the metadata lookup or the DDL fails
+     */
+    public static boolean addColumnIfMissing(Connection conn, String table, String column, String definition)
+            throws SQLException {
+        if (getColumns(conn, table).contains(column.toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+        System.out.println("Added column " + column + " to " + table);
+        return true;
+    }
+
+    /**
+     * Returns the lower-case names of the table's columns.
+     *
+     * @param conn  open connection
+     * @param table table name
+     * @return column names, empty if the table does not exist
+     * @throws SQLException if the metadata lookup fails
+     */
+    public static Set<String> getColumns(Connection conn, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, table, null)) {
+            while (rs.next()) {
+                columns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns each index on the table with its columns in key order.
+     */
+    private static Map<String, List<String>> getIndexColumns(Connection conn, String table) throws SQLException {
+        Map<String, TreeMap<Short, String>> byIndex = new LinkedHashMap<>();
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                byIndex.computeIfAbsent(indexName, k -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, TreeMap<Short, String>> entry : byIndex.entrySet()) {
+            result.put(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+        }
+        return result;
+    }
+}
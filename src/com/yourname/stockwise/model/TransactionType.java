@@ -32,5 +32,15 @@ public enum TransactionType {
     /**
      * A return transaction — increases stock, typically from customer returns.
      */
-    RETURN
+    RETURN;
+
+    /**
+     * Returns the signed change in stock on hand caused by moving {@code quantity} units.
+     *
+     * @param quantity the number of units moved (positive)
+     * @return {@code -quantity} for a sale, {@code +quantity} for a restock or return
+     */
+    public int stockDelta(int quantity) {
+        return this == SALE ? -quantity : quantity;
+    }
 }
@@ -0,0 +1,95 @@
+package com.yourname.stockwise.report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link ReportSink} that writes the report as CSV (RFC 4180 quoting). Each section is written
+ * as a title line, a header line and its rows, with a blank line between sections, so the file
+ * opens as one sheet in a spreadsheet.
+ * <p>
+ * Rows are written straight to the given writer; wrap it in a buffer. Closing the sink closes
+ * the writer.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class CsvReportSink implements ReportSink {
+
+    private static final String LINE_END = "\r\n";
+
+    private final Writer out;
+    private boolean first = true;
+
+    /**
+     * @param out where the CSV is written
+     */
+    public CsvReportSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void beginSection(ReportSection section) throws IOException {
+        if (!first) {
+            out.write(LINE_END);
+        }
+        first = false;
+        writeCell(section.getTitle());
+        out.write(LINE_END);
+        boolean firstCell = true;
+        for (String column : section.getColumns()) {
+            if (!firstCell) {
+                out.write(',');
+            }
+            firstCell = false;
+            writeCell(column);
+        }
+        out.write(LINE_END);
+    }
+
+    @Override
+    public void row(String[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeCell(cells[i]);
+        }
+        out.write(LINE_END);
+    }
+
+    @Override
+    public void endSection() {
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeCell(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        // Leading spaces or formula characters are quoted too, so spreadsheets keep them as text
+        quote |= !value.isEmpty() && (value.charAt(0) == ' ' || "=+-@".indexOf(value.charAt(0)) >= 0);
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,111 @@
+package com.yourname.stockwise.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * {@link ReportSink} that writes the report as a standalone HTML page with one table per
+ * section. Rows are written straight to the given writer; wrap it in a buffer. Closing the sink
+ * closes the writer.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class HtmlReportSink implements ReportSink {
+
+    private static final String STYLE = "body{font-family:'Segoe UI',sans-serif;color:#2c3e50;margin:30px}"
+            + "table{border-collapse:collapse;margin-bottom:30px;width:100%}"
+            + "th,td{border:1px solid #d9e2ec;padding:6px 10px;text-align:left}"
+            + "th{background:#3498db;color:white}tr:nth-child(even){background:#f0f4f8}";
+
+    private final Writer out;
+    private long sectionRows;
+
+    /**
+     * Writes the page header.
+     *
+     * @param out where the page is written
+     * @throws IOException if the header cannot be written
+     */
+    public HtmlReportSink(Writer out) throws IOException {
+        this.out = out;
+        out.write("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>Inventory Report</title><style>");
+        out.write(STYLE);
+        out.write("</style></head><body>\n<h1>Inventory Report</h1>\n<p>Generated ");
+        out.write(escape(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))));
+        out.write("</p>\n");
+    }
+
+    @Override
+    public void beginSection(ReportSection section) throws IOException {
+        sectionRows = 0;
+        out.write("<h2>");
+        out.write(escape(section.getTitle()));
+        out.write("</h2>\n<table><thead><tr>");
+        for (String column : section.getColumns()) {
+            out.write("<th>");
+            out.write(escape(column));
+            out.write("</th>");
+        }
+        out.write("</tr></thead><tbody>\n");
+    }
+
+    @Override
+    public void row(String[] cells) throws IOException {
+        out.write("<tr>");
+        for (String cell : cells) {
+            out.write("<td>");
+            if (cell != null) {
+                out.write(escape(cell));
+            }
+            out.write("</td>");
+        }
+        out.write("</tr>\n");
+        sectionRows++;
+    }
+
+    @Override
+    public void endSection() throws IOException {
+        if (sectionRows == 0) {
+            out.write("<tr><td colspan=\"99\"><i>No data available.</i></td></tr>\n");
+        }
+        out.write("</tbody></table>\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.write("</body></html>\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement;
+            switch (value.charAt(i)) {
+                case '&': replacement = "&amp;"; break;
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '"': replacement = "&quot;"; break;
+                case '\'': replacement = "&#39;"; break;
+                default: replacement = null;
+            }
+            if (replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+                }
+                sb.append(replacement);
+            } else if (sb != null) {
+                sb.append(value.charAt(i));
+            }
+        }
+        return sb == null ? value : sb.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.yourname.stockwise.report;
+
+import java.util.List;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.util.Callback;
+
+/**
+ * {@link ListCell} that shows one report row as a card with a coloured border.
+ * <p>
+ * A {@link ListView} only creates cells for the rows in view and reuses them while scrolling,
+ * so the screen holds a few dozen cards however many rows the report has. Each cell builds and
+ * styles its card once. A row's "Column: value" text is only put together when the row scrolls
+ * into view, reusing one buffer per cell.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     ListView&lt;String[]&gt; cards = new ListView&lt;&gt;(FXCollections.observableList(page.getRows(section)));
+ *     cards.setCellFactory(ReportCardCell.factory(section, "#3498db"));
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class ReportCardCell extends ListCell<String[]> {
+
+    // Space around each card; also keeps the cards apart
+    private static final Insets CELL_PADDING = new Insets(7, 15, 8, 15);
+
+    private final List<String> columns;
+    private final Label card = new Label();
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * @param section     the section whose rows this cell shows
+     * @param accentColor CSS colour of the card border
+     */
+    public ReportCardCell(ReportSection section, String accentColor) {
+        this.columns = section.getColumns();
+
+        card.setWrapText(true);
+        card.setFont(Font.font("Segoe UI", 16));
+        card.setTextFill(Color.web("#34495e"));
+        card.setPadding(new Insets(12, 15, 12, 15));
+        card.setMinWidth(0);
+        card.setStyle(String.format("""
+                    -fx-background-color: white;
+                    -fx-background-radius: 12;
+                    -fx-border-radius: 12;
+                    -fx-border-color: %s;
+                    -fx-border-width: 3;
+                    -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 5, 0, 0, 3);
+                """, accentColor));
+        // Fill the cell's width so long rows wrap downwards instead of scrolling sideways
+        card.prefWidthProperty().bind(widthProperty().subtract(CELL_PADDING.getLeft() + CELL_PADDING.getRight()));
+
+        setPadding(CELL_PADDING);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        setStyle("-fx-background-color: transparent;");
+    }
+
+    /**
+     * @param section     the section the list shows
+     * @param accentColor CSS colour of the card borders
+     * @return a cell factory for a list of that section's rows
+     */
+    public static Callback<ListView<String[]>, ListCell<String[]>> factory(ReportSection section, String accentColor) {
+        return list -> new ReportCardCell(section, accentColor);
+    }
+
+    @Override
+    protected void updateItem(String[] row, boolean empty) {
+        super.updateItem(row, empty);
+        if (empty || row == null) {
+            card.setText(null);
+            setGraphic(null);
+            return;
+        }
+        text.setLength(0);
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                text.append(",  ");
+            }
+            text.append(columns.get(i)).append(": ").append(row[i] == null ? "-" : row[i]);
+        }
+        card.setText(text.toString());
+        setGraphic(card);
+    }
+}
@@ -0,0 +1,49 @@
+package com.yourname.stockwise.report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * File formats the inventory report can be exported in.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public enum ReportFormat {
+
+    CSV("CSV file", "csv"),
+    HTML("HTML page", "html");
+
+    private final String description;
+    private final String extension;
+
+    ReportFormat(String description, String extension) {
+        this.description = description;
+        this.extension = extension;
+    }
+
+    /** @return a name for file dialogs, e.g. "CSV file" */
+    public String getDescription() {
+        return description;
+    }
+
+    /** @return the usual file extension, without the dot */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param out where the report is written; closed with the sink
+     * @return a sink writing this format
+     * @throws IOException if the sink cannot start writing
+     */
+    public ReportSink newSink(Writer out) throws IOException {
+        switch (this) {
+            case HTML:
+                return new HtmlReportSink(out);
+            case CSV:
+            default:
+                return new CsvReportSink(out);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.yourname.stockwise.report;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.yourname.stockwise.dao.InventoryRepository;
+import com.yourname.stockwise.dao.TransactionDAO;
+import com.yourname.stockwise.model.Transaction;
+import com.yourname.stockwise.visitor.InventoryTraversal;
+import com.yourname.stockwise.visitor.TraversalReport;
+
+/**
+ * Streams the inventory report - every product, supplier and transaction - into a
+ * {@link ReportSink}.
+ * <p>
+ * Products and suppliers come from the repository's caches and the ledger is read page by page
+ * through {@link TransactionDAO#streamTransactions()}, and each row goes straight to the sink,
+ * so a report over a million transactions needs no more memory than one over ten. The report
+ * screen uses {@link #preview}, which reads only the first page of the ledger.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     ReportGenerator.export(InventoryRepository.getInstance(), Path.of("report.csv"), ReportFormat.CSV);
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class ReportGenerator {
+
+    private ReportGenerator() {
+    }
+
+    /**
+     * Writes the whole report to a sink. The sink is finished but not closed.
+     *
+     * @param repository source of the data
+     * @param sink       receives the rows
+     * @return the traversal's counts and timings
+     * @throws Exception if the data cannot be read or the sink cannot be written
+     */
+    public static TraversalReport write(InventoryRepository repository, ReportSink sink) throws Exception {
+        StreamingReportVisitor visitor = new StreamingReportVisitor(sink);
+        TraversalReport timings;
+        try {
+            timings = repository.traverse(new InventoryTraversal().add("report", visitor));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        visitor.finish();
+        return timings;
+    }
+
+    /**
+     * Fills a page with the start of the report for showing on screen. Products and suppliers
+     * come from the caches as usual, but only the page's first rows of the ledger are read, with
+     * a single LIMIT query, and the ledger's size is taken from
+     * {@link TransactionDAO#countTransactions()}. The cost therefore does not grow with the ledger.
+     *
+     * @param repository source of the data
+     * @param page       receives the rows
+     * @return the traversal's counts and timings
+     * @throws Exception if the data cannot be read
+     */
+    public static TraversalReport preview(InventoryRepository repository, ReportPageSink page) throws Exception {
+        TransactionDAO transactions = repository.getTransactionDAO();
+        StreamingReportVisitor visitor = new StreamingReportVisitor(page);
+        TraversalReport timings = new InventoryTraversal().add("report", visitor).traverse(
+                () -> repository.getProductDAO().getAllProducts().stream(),
+                () -> repository.getSupplierDAO().getAllSuppliers().stream(),
+                () -> {
+                    List<Transaction> first = transactions.getTransactionsPage(null, page.getPageSize()).getTransactions();
+                    return first.stream();
+                });
+        visitor.finish();
+        page.setTotalRows(ReportSection.TRANSACTIONS, transactions.countTransactions());
+        return timings;
+    }
+
+    /**
+     * Writes the whole report to a file, replacing it if it exists.
+     *
+     * @param repository source of the data
+     * @param file       the file to write
+     * @param format     the file format
+     * @return the traversal's counts and timings
+     * @throws Exception if the data cannot be read or the file cannot be written
+     */
+    public static TraversalReport export(InventoryRepository repository, Path file, ReportFormat format) throws Exception {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             ReportSink sink = format.newSink(out)) {
+            return write(repository, sink);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.yourname.stockwise.report;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ReportSink} for the report screen: keeps only the first page of rows of each section
+ * and counts the rest. Rows beyond the page are still read and counted, so fill it with
+ * {@link ReportGenerator#preview}, which reads only the first page of the ledger and takes its
+ * size from a COUNT query. The full report can be exported with {@link ReportGenerator#export}.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class ReportPageSink implements ReportSink {
+
+    /**
+     * Rows kept per section, from {@code stockwise.report.pageSize} (default 1000). The screen
+     * only creates cards for the rows in view, so this bounds memory rather than layout work.
+     */
+    public static final int DEFAULT_PAGE_SIZE = Math.max(1, Integer.getInteger("stockwise.report.pageSize", 1000));
+
+    private final int pageSize;
+    private final Map<ReportSection, List<String[]>> pages = new EnumMap<>(ReportSection.class);
+    private final Map<ReportSection, Long> totals = new EnumMap<>(ReportSection.class);
+    private ReportSection current;
+
+    /**
+     * Creates a sink keeping {@link #DEFAULT_PAGE_SIZE} rows per section.
+     */
+    public ReportPageSink() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param pageSize rows kept per section
+     */
+    public ReportPageSink(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @Override
+    public void beginSection(ReportSection section) {
+        current = section;
+        pages.put(section, new ArrayList<>());
+        totals.put(section, 0L);
+    }
+
+    @Override
+    public void row(String[] cells) {
+        List<String[]> page = pages.get(current);
+        if (page.size() < pageSize) {
+            page.add(cells.clone());
+        }
+        totals.merge(current, 1L, Long::sum);
+    }
+
+    @Override
+    public void endSection() {
+        current = null;
+    }
+
+    /**
+     * @param section a section
+     * @return its first rows, at most the page size; each row has one cell per column
+     */
+    public List<String[]> getRows(ReportSection section) {
+        return Collections.unmodifiableList(pages.getOrDefault(section, List.of()));
+    }
+
+    /**
+     * @param section a section
+     * @return how many rows the section had in total
+     */
+    public long getTotalRows(ReportSection section) {
+        return totals.getOrDefault(section, 0L);
+    }
+
+    /**
+     * Records a section's true size when only its first page was streamed into this sink.
+     * Never lowers the count below the rows already seen.
+     *
+     * @param section a section
+     * @param total   how many rows the section has in total
+     */
+    void setTotalRows(ReportSection section, long total) {
+        totals.merge(section, total, Math::max);
+    }
+
+    /**
+     * @return rows kept per section
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+}
@@ -0,0 +1,34 @@
+package com.yourname.stockwise.report;
+
+import java.util.List;
+
+/**
+ * The parts of the inventory report, in the order they are written, with their column headings.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public enum ReportSection {
+
+    PRODUCTS("Products", List.of("ID", "Name", "Quantity", "Threshold", "Unit Price", "Owner", "Date Added")),
+    SUPPLIERS("Suppliers", List.of("ID", "Name", "Email", "Phone", "Address", "Date Added", "Products Supplied")),
+    TRANSACTIONS("Transactions", List.of("ID", "Product", "Type", "Quantity", "Timestamp"));
+
+    private final String title;
+    private final List<String> columns;
+
+    ReportSection(String title, List<String> columns) {
+        this.title = title;
+        this.columns = columns;
+    }
+
+    /** @return the heading shown above the section */
+    public String getTitle() {
+        return title;
+    }
+
+    /** @return the column headings; every row of the section has this many cells */
+    public List<String> getColumns() {
+        return columns;
+    }
+}
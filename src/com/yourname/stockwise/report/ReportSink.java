@@ -0,0 +1,54 @@
+package com.yourname.stockwise.report;
+
+import java.io.IOException;
+
+/**
+ * Destination of a streamed inventory report: a screen page, a CSV file, an HTML file and so on.
+ * <p>
+ * A {@link StreamingReportVisitor} calls the methods in this order: for each
+ * {@link ReportSection}, in declaration order, {@link #beginSection}, then {@link #row} once
+ * per entity, then {@link #endSection}; finally {@link #finish}. Every section is begun, even
+ * when it has no rows. Rows are pushed as they are visited and nothing is kept by the caller,
+ * so a sink that writes them straight out needs constant memory however long the report is.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public interface ReportSink extends AutoCloseable {
+
+    /**
+     * @param section the section about to be written
+     * @throws IOException if the sink cannot be written
+     */
+    void beginSection(ReportSection section) throws IOException;
+
+    /**
+     * @param cells one value per column of the current section, null for none. The array is
+     *              reused for the next row, so copy it if it must be kept.
+     * @throws IOException if the sink cannot be written
+     */
+    void row(String[] cells) throws IOException;
+
+    /**
+     * @throws IOException if the sink cannot be written
+     */
+    void endSection() throws IOException;
+
+    /**
+     * Called once after the last section.
+     *
+     * @throws IOException if the sink cannot be written
+     */
+    default void finish() throws IOException {
+    }
+
+    /**
+     * Releases the sink's resources. The default does nothing.
+     *
+     * @throws IOException if the sink cannot be closed
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
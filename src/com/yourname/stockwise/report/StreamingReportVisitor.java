@@ -0,0 +1,156 @@
+package com.yourname.stockwise.report;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.yourname.stockwise.model.Product;
+import com.yourname.stockwise.model.Supplier;
+import com.yourname.stockwise.model.Transaction;
+import com.yourname.stockwise.visitor.InventoryVisitor;
+
+/**
+ * Visitor that writes each visited entity as one row of a {@link ReportSink}, as it is visited.
+ * <p>
+ * Unlike {@link com.yourname.stockwise.visitor.InventoryReportVisitor}, nothing is collected:
+ * each row is formatted into a reused cell array and handed straight to the sink, so memory use
+ * does not grow with the number of entities. Entities must arrive grouped by section in
+ * {@link ReportSection} order (products, suppliers, transactions), which is the order an
+ * {@link com.yourname.stockwise.visitor.InventoryTraversal} reads them in. Call {@link #finish()}
+ * after the last entity.
+ * </p>
+ *
+ * <p>Sink failures are rethrown from the visit methods as {@link UncheckedIOException}.</p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public class StreamingReportVisitor implements InventoryVisitor {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final ReportSection[] SECTIONS = ReportSection.values();
+
+    private final ReportSink sink;
+    private final String[][] cells = new String[SECTIONS.length][];
+    private int next; // Index of the first section not yet begun
+    private boolean open;
+    private long rows;
+
+    /**
+     * @param sink receives the rows
+     */
+    public StreamingReportVisitor(ReportSink sink) {
+        this.sink = sink;
+        for (ReportSection section : SECTIONS) {
+            cells[section.ordinal()] = new String[section.getColumns().size()];
+        }
+    }
+
+    @Override
+    public void visit(Product product) {
+        String[] row = enter(ReportSection.PRODUCTS);
+        row[0] = product.getId();
+        row[1] = product.getName();
+        row[2] = Integer.toString(product.getQuantity());
+        row[3] = Integer.toString(product.getThreshold());
+        row[4] = String.format("%.2f", product.getUnitPrice());
+        row[5] = product.getUsername();
+        row[6] = format(product.getDateAdded());
+        emit(row);
+    }
+
+    @Override
+    public void visit(Supplier supplier) {
+        String[] row = enter(ReportSection.SUPPLIERS);
+        row[0] = supplier.getId();
+        row[1] = supplier.getName();
+        row[2] = supplier.getEmail();
+        row[3] = supplier.getPhone();
+        row[4] = supplier.getAddress();
+        row[5] = format(supplier.getDateAdded());
+        row[6] = Integer.toString(supplier.getSuppliedProducts() == null ? 0 : supplier.getSuppliedProducts().size());
+        emit(row);
+    }
+
+    @Override
+    public void visit(Transaction transaction) {
+        String[] row = enter(ReportSection.TRANSACTIONS);
+        row[0] = transaction.getId();
+        row[1] = transaction.getProduct() != null ? transaction.getProduct().getName() : null;
+        row[2] = transaction.getType() != null ? transaction.getType().name() : null;
+        row[3] = Integer.toString(transaction.getQuantity());
+        row[4] = format(transaction.getTimestamp());
+        emit(row);
+    }
+
+    /**
+     * Closes the last section, begins and closes any sections that had no rows, and finishes
+     * the sink. The sink itself is not closed.
+     *
+     * @throws IOException if the sink cannot be written
+     */
+    public void finish() throws IOException {
+        try {
+            advanceTo(SECTIONS.length);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        sink.finish();
+    }
+
+    /**
+     * @return rows written so far
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    private String[] enter(ReportSection section) {
+        if (section.ordinal() >= next) {
+            advanceTo(section.ordinal());
+            begin(SECTIONS[next++]);
+        } else if (section.ordinal() != next - 1) {
+            throw new IllegalStateException(section + " visited after " + SECTIONS[next - 1]);
+        }
+        return cells[section.ordinal()];
+    }
+
+    // Ends the open section, then begins and ends every section before the given index
+    private void advanceTo(int index) {
+        try {
+            if (open) {
+                sink.endSection();
+                open = false;
+            }
+            while (next < index) {
+                sink.beginSection(SECTIONS[next++]);
+                sink.endSection();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void begin(ReportSection section) {
+        try {
+            sink.beginSection(section);
+            open = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void emit(String[] row) {
+        try {
+            sink.row(row);
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.format(DATE_TIME);
+    }
+}
@@ -5,177 +5,46 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.*;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+
+import javax.sql.DataSource;
+
+import com.yourname.stockwise.db.ConnectionPool;
+import com.yourname.stockwise.db.SchemaMigrator;
 
 /**
  * Manages user security for the StockWise inventory system.
  * <p>
- * Responsible for creating and migrating the users table, adding/removing accounts,
- * authenticating logins by email or username, and retrieving user information.
+ * Responsible for adding/removing accounts, authenticating logins by email or username, and retrieving user information.
  * Passwords are hashed with SHA-256 before storage.
  * </p>
  *
- * <p><b>Database:</b> MySQL at jdbc:mysql://localhost:3306/stockwise</p>
+ * <p><b>Database:</b> MySQL at jdbc:mysql://localhost:3306/stockwise, reached through the
+ * shared {@link ConnectionPool}</p>
  *
  * @author L Mahamba
  * @version 1.0.0
  */
 public class InventorySecurityManagement {
 
-    // JDBC connection details
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/stockwise";
-    private static final String DB_USER = "root";
-
     /**
-     * The password for the database connection, read from environment variable
-     * "STOCKWISE_DB_PASSWORD". This ensures credentials are not hardcoded.
+     * Shared connection pool. Credentials are read from the environment variable
+     * "STOCKWISE_DB_PASSWORD" by {@link ConnectionPool}, so they are not hardcoded.
      */
-    private static final String DB_PASSWORD = System.getenv("STOCKWISE_DB_PASSWORD");
+    private final DataSource dataSource;
 
     /**
      * Constructs an InventorySecurityManagement object.
      * <p>
-     * Upon creation, it checks if the 'users' table exists and creates it if not.
-     * Also performs migrations if required (adds missing columns, sets constraints).
+     * Upon creation, it makes sure the database schema, including the 'users' table,
+     * is up to date (see {@link SchemaMigrator}).
      * </p>
      *
      * @throws RuntimeException if the database password environment variable is not set
      */
     public InventorySecurityManagement() {
-        if (DB_PASSWORD == null) {
-            throw new RuntimeException("DB password environment variable not set");
-        }
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            if (!doesUsersTableExist(conn)) {
-                createUsersTable(conn);
-            } else {
-                migrateUsersTableIfNeeded(conn);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Checks if the 'users' table exists in the database.
-     *
-     * @param conn an open SQL connection
-     * @return true if the table exists, false otherwise
-     * @throws SQLException if a database access error occurs
-     */
-    private boolean doesUsersTableExist(Connection conn) throws SQLException {
-        DatabaseMetaData meta = conn.getMetaData();
-        try (ResultSet rs = meta.getTables(null, null, "users", new String[]{"TABLE"})) {
-            return rs.next();
-        }
-    }
-
-    /**
-     * Creates the 'users' table with necessary columns and constraints.
-     *
-     * @param conn an open SQL connection
-     * @throws SQLException if a database access error occurs
-     */
-    private void createUsersTable(Connection conn) throws SQLException {
-        String sql = "CREATE TABLE users (" +
-                "email VARCHAR(255) PRIMARY KEY, " +
-                "password VARCHAR(64) NOT NULL, " +
-                "name VARCHAR(100) NOT NULL, " +
-                "surname VARCHAR(100) NOT NULL, " +
-                "phone_number VARCHAR(20), " +
-                "user_name VARCHAR(100) NOT NULL UNIQUE" +
-                ")";
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-            System.out.println("Created 'users' table.");
-        }
-    }
-
-    /**
-     * Performs migration of the 'users' table if columns are missing.
-     * <p>
-     * Adds columns 'name', 'surname', 'phone_number', and 'user_name' if not present.
-     * For 'user_name', migration carefully avoids UNIQUE constraint violation by:
-     * 1. Adding column nullable
-     * 2. Populating existing rows with unique values (email)
-     * 3. Altering to NOT NULL
-     * 4. Adding UNIQUE constraint
-     * </p>
-     *
-     * @param conn an open SQL connection
-     * @throws SQLException if a database access error occurs
-     */
-    private void migrateUsersTableIfNeeded(Connection conn) throws SQLException {
-        Set<String> existingColumns = getTableColumns(conn, "users");
-
-        if (!existingColumns.contains("name")) {
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("ALTER TABLE users ADD COLUMN name VARCHAR(100) NOT NULL DEFAULT '' AFTER password");
-                System.out.println("Added 'name' column.");
-            }
-        }
-
-        if (!existingColumns.contains("surname")) {
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("ALTER TABLE users ADD COLUMN surname VARCHAR(100) NOT NULL DEFAULT '' AFTER name");
-                System.out.println("Added 'surname' column.");
-            }
-        }
-
-        if (!existingColumns.contains("phone_number")) {
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("ALTER TABLE users ADD COLUMN phone_number VARCHAR(20) DEFAULT NULL AFTER surname");
-                System.out.println("Added 'phone_number' column.");
-            }
-        }
-
-        if (!existingColumns.contains("user_name")) {
-            // Step 1: Add nullable user_name column without UNIQUE constraint
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("ALTER TABLE users ADD COLUMN user_name VARCHAR(100) DEFAULT NULL AFTER phone_number");
-                System.out.println("Added 'user_name' column (nullable).");
-            }
-
-            // Step 2: Populate user_name with unique values (set equal to email for now)
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("UPDATE users SET user_name = email WHERE user_name IS NULL");
-                System.out.println("Set user_name to email for existing rows.");
-            }
-
-            // Step 3: Change user_name to NOT NULL
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("ALTER TABLE users MODIFY user_name VARCHAR(100) NOT NULL");
-                System.out.println("Set 'user_name' column to NOT NULL.");
-            }
-
-            // Step 4: Add UNIQUE constraint to user_name
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("ALTER TABLE users ADD UNIQUE INDEX unique_user_name (user_name)");
-                System.out.println("Added UNIQUE constraint on 'user_name'.");
-            }
-        }
-    }
-
-    /**
-     * Retrieves the list of columns present in a given table.
-     *
-     * @param conn      an open SQL connection
-     * @param tableName the table name to inspect
-     * @return a Set of lowercase column names
-     * @throws SQLException if a database access error occurs
-     */
-    private Set<String> getTableColumns(Connection conn, String tableName) throws SQLException {
-        Set<String> columns = new HashSet<>();
-        DatabaseMetaData meta = conn.getMetaData();
-        try (ResultSet rs = meta.getColumns(null, null, tableName, null)) {
-            while (rs.next()) {
-                columns.add(rs.getString("COLUMN_NAME").toLowerCase());
-            }
-        }
-        return columns;
+        this.dataSource = ConnectionPool.getInstance();
+        SchemaMigrator.ensureMigrated();
     }
 
     /**
@@ -194,7 +63,7 @@ public class InventorySecurityManagement {
         String sql = "INSERT INTO users(email, password, name, surname, phone_number, user_name) " +
                 "VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, userData.getEmail());
@@ -220,7 +89,7 @@ public class InventorySecurityManagement {
      */
     public boolean removeAccount(String email) {
         String sql = "DELETE FROM users WHERE email = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, email);
             return pstmt.executeUpdate() > 0;
@@ -239,7 +108,7 @@ public class InventorySecurityManagement {
      */
     public boolean login(String email, String password) {
         String sql = "SELECT password FROM users WHERE email = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, email);
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -261,7 +130,7 @@ public class InventorySecurityManagement {
      */
     public int getAccountCount() {
         String sql = "SELECT COUNT(*) FROM users";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             if (rs.next()) return rs.getInt(1);
@@ -279,7 +148,7 @@ public class InventorySecurityManagement {
      */
     public boolean emailExists(String email) {
         String sql = "SELECT 1 FROM users WHERE email = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, email);
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -299,7 +168,7 @@ public class InventorySecurityManagement {
      */
     public boolean usernameExists(String username) {
         String sql = "SELECT 1 FROM users WHERE user_name = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, username);
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -319,7 +188,7 @@ public class InventorySecurityManagement {
      */
     public String getEmailByUsername(String username) {
         String sql = "SELECT email FROM users WHERE user_name = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, username);
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -342,7 +211,7 @@ public class InventorySecurityManagement {
      */
     public void updatePassword(String email, String newPassword) {
         String sql = "UPDATE users SET password = ? WHERE email = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, hashPassword(newPassword));
             pstmt.setString(2, email);
@@ -415,14 +284,12 @@ public class InventorySecurityManagement {
      * @throws RuntimeException if the database password environment variable is not set
      */
     public static List<InventorySecurityData> getAllUsers() {
-        if (DB_PASSWORD == null) {
-            throw new RuntimeException("DB password environment variable not set");
-        }
+        DataSource dataSource = ConnectionPool.getInstance();
 
         List<InventorySecurityData> users = new ArrayList<>();
         String sql = "SELECT name, surname, phone_number, user_name, email, password FROM users";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -0,0 +1,112 @@
+package com.yourname.stockwise.sync;
+
+/**
+ * A change to one cached row, broadcast to other StockWise processes by the
+ * {@link InvalidationBus} so they can patch their caches.
+ * <p>
+ * Most changes only name the row; receivers re-read it. Stock movements carry the committed
+ * on-hand quantity as well, so the tills that receive them can patch the cached product
+ * without querying the database. They also carry the row's {@code updated_at}, because
+ * packets can arrive out of order and a receiver must not replace a newer level with an
+ * older one.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class EntityChange {
+
+    /**
+     * What happened to the row.
+     */
+    public enum Kind {
+        /** The row was inserted or updated; re-read it. */
+        UPSERTED,
+        /** The row was deleted. */
+        DELETED,
+        /** A product's on-hand quantity changed to {@link #getQuantity()} at {@link #getUpdatedAt()}. */
+        QUANTITY
+    }
+
+    /** Table name used for product changes. */
+    public static final String PRODUCTS = "products";
+    /** Table name used for supplier changes. */
+    public static final String SUPPLIERS = "suppliers";
+
+    private final String table;
+    private final String id;
+    private final Kind kind;
+    private final int quantity;
+    private final long updatedAt;
+
+    EntityChange(String table, String id, Kind kind, int quantity, long updatedAt) {
+        this.table = table;
+        this.id = id;
+        this.kind = kind;
+        this.quantity = quantity;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * @param table the table the row belongs to
+     * @param id    the row id
+     * @return a change telling peers to re-read the row
+     */
+    public static EntityChange upserted(String table, String id) {
+        return new EntityChange(table, id, Kind.UPSERTED, 0, 0L);
+    }
+
+    /**
+     * @param table the table the row belonged to
+     * @param id    the row id
+     * @return a change telling peers to drop the row
+     */
+    public static EntityChange deleted(String table, String id) {
+        return new EntityChange(table, id, Kind.DELETED, 0, 0L);
+    }
+
+    /**
+     * @param productId the product id
+     * @param quantity  the committed on-hand quantity
+     * @param updatedAt the product row's {@code updated_at} after the change, in epoch milliseconds
+     * @return a change telling peers the product's new stock level
+     */
+    public static EntityChange quantity(String productId, int quantity, long updatedAt) {
+        return new EntityChange(PRODUCTS, productId, Kind.QUANTITY, quantity, updatedAt);
+    }
+
+    /** @return the table the row belongs to */
+    public String getTable() {
+        return table;
+    }
+
+    /** @return the row id */
+    public String getId() {
+        return id;
+    }
+
+    /** @return what happened to the row */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** @return the committed quantity for {@link Kind#QUANTITY} changes, otherwise 0 */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * @return the row's {@code updated_at} in epoch milliseconds for {@link Kind#QUANTITY}
+     *         changes, otherwise 0
+     */
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.QUANTITY
+                ? "EntityChange[" + kind + " " + table + "/" + id + " = " + quantity + " @" + updatedAt + "]"
+                : "EntityChange[" + kind + " " + table + "/" + id + "]";
+    }
+}
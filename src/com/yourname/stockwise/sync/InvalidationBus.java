@@ -0,0 +1,254 @@
+package com.yourname.stockwise.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcasts {@link EntityChange entity changes} between StockWise processes that share one
+ * database, so each process can patch its caches when another till writes instead of
+ * reloading whole tables.
+ * <p>
+ * DAOs {@link #publish(Collection) publish} the rows they have committed; the bus packs them
+ * into packets stamped with this process's id and a sequence number and hands them to a
+ * pluggable {@link InvalidationTransport}. Packets from peers are decoded and passed to the
+ * registered {@link Listener listeners}; a process ignores its own packets. A gap in a peer's
+ * sequence numbers means packets were lost, and listeners are asked to resynchronise from
+ * the database.
+ * </p>
+ *
+ * <p>The transport is chosen with the {@code stockwise.bus} system property:
+ * {@code multicast} ({@link MulticastTransport}), {@code polling} ({@link PollingTransport})
+ * or {@code none} (the default: no bus).</p>
+ *
+ * Example usage:
+ * <pre>
+ *     InvalidationBus bus = InvalidationBus.fromSystemProperties();
+ *     if (bus != null) {
+ *         bus.addListener(listener);
+ *         bus.start();
+ *     }
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class InvalidationBus implements AutoCloseable {
+
+    /**
+     * Receives changes made by other processes. Called on the transport's thread.
+     */
+    public interface Listener {
+
+        /**
+         * @param changes rows another process has committed, in the order it sent them
+         */
+        void onRemoteChanges(List<EntityChange> changes);
+
+        /**
+         * Changes may have been missed; bring caches up to date from the database.
+         */
+        void onResyncNeeded();
+    }
+
+    private static final int MAGIC = 0x53574232; // "SWB2": changes carry updated_at
+    private static final int HEADER_SIZE = 4 + 8 + 8 + 2;
+    // The change count is sent as an unsigned short, whatever the transport's packet size
+    private static final int MAX_CHANGES_PER_PACKET = 0xFFFF;
+
+    private final InvalidationTransport transport;
+    private final long nodeId = new SecureRandom().nextLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> lastSequenceByPeer = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param transport carries the packets
+     */
+    public InvalidationBus(InvalidationTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Creates a bus using the transport named by the {@code stockwise.bus} system property.
+     *
+     * @return the bus, not yet started, or null if the property is unset or {@code none}
+     * @throws IOException if the transport cannot be created
+     */
+    public static InvalidationBus fromSystemProperties() throws IOException {
+        String mode = System.getProperty("stockwise.bus", "none").trim().toLowerCase(Locale.ROOT);
+        switch (mode) {
+            case "multicast":
+                return new InvalidationBus(new MulticastTransport());
+            case "polling":
+                return new InvalidationBus(new PollingTransport());
+            case "none":
+            case "":
+                return null;
+            default:
+                throw new IllegalArgumentException("Unknown stockwise.bus transport: " + mode);
+        }
+    }
+
+    /**
+     * @param listener receives changes from peers
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener a listener previously added
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts receiving from peers.
+     *
+     * @throws IOException if the transport cannot be opened
+     */
+    public void start() throws IOException {
+        transport.start(new InvalidationTransport.Receiver() {
+            @Override
+            public void onPacket(byte[] data, int length) {
+                receive(data, length);
+            }
+
+            @Override
+            public void onResyncNeeded() {
+                fireResync();
+            }
+        });
+    }
+
+    /**
+     * Tells peers about rows this process has committed. Sending failures are logged; peers
+     * recover through their next resynchronisation.
+     *
+     * @param changes the committed changes
+     */
+    public void publish(Collection<EntityChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            List<EntityChange> packet = new ArrayList<>();
+            int size = HEADER_SIZE;
+            for (EntityChange change : changes) {
+                int changeSize = encodedSize(change);
+                if (!packet.isEmpty() && (size + changeSize > transport.getMaxPacketSize()
+                        || packet.size() == MAX_CHANGES_PER_PACKET)) {
+                    send(packet);
+                    packet.clear();
+                    size = HEADER_SIZE;
+                }
+                packet.add(change);
+                size += changeSize;
+            }
+            send(packet);
+        } catch (IOException e) {
+            System.err.println("Could not broadcast " + changes.size() + " change(s): " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param change a committed change
+     */
+    public void publish(EntityChange change) {
+        publish(List.of(change));
+    }
+
+    /**
+     * Stops the transport.
+     */
+    @Override
+    public void close() {
+        transport.close();
+    }
+
+    private synchronized void send(List<EntityChange> changes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeLong(nodeId);
+        out.writeLong(sequence.incrementAndGet());
+        out.writeShort(changes.size());
+        for (EntityChange change : changes) {
+            out.writeByte(change.getKind().ordinal());
+            out.writeUTF(change.getTable());
+            out.writeUTF(change.getId());
+            out.writeInt(change.getQuantity());
+            out.writeLong(change.getUpdatedAt());
+        }
+        out.flush();
+        transport.send(bytes.toByteArray(), bytes.size());
+    }
+
+    private void receive(byte[] data, int length) {
+        List<EntityChange> changes = new ArrayList<>();
+        long sender;
+        long seq;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, length))) {
+            if (in.readInt() != MAGIC) {
+                return; // Not ours
+            }
+            sender = in.readLong();
+            if (sender == nodeId) {
+                return; // Our own packet, looped back
+            }
+            seq = in.readLong();
+            int count = in.readUnsignedShort();
+            EntityChange.Kind[] kinds = EntityChange.Kind.values();
+            for (int i = 0; i < count; i++) {
+                int kind = in.readUnsignedByte();
+                String table = in.readUTF();
+                String id = in.readUTF();
+                int quantity = in.readInt();
+                long updatedAt = in.readLong();
+                if (kind < kinds.length) {
+                    changes.add(new EntityChange(table, id, kinds[kind], quantity, updatedAt));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring malformed invalidation packet: " + e.getMessage());
+            return;
+        }
+
+        // Only ever move a peer's mark forward: a late packet fills a gap already reported,
+        // and must not make the next in-order packet look like another gap
+        Long previous = lastSequenceByPeer.get(sender);
+        lastSequenceByPeer.merge(sender, seq, Math::max);
+        if (previous != null && seq > previous + 1) {
+            fireResync(); // Lost packets from this peer
+        }
+        if (!changes.isEmpty()) {
+            for (Listener listener : listeners) {
+                listener.onRemoteChanges(changes);
+            }
+        }
+    }
+
+    private void fireResync() {
+        for (Listener listener : listeners) {
+            listener.onResyncNeeded();
+        }
+    }
+
+    private static int encodedSize(EntityChange change) {
+        // kind, two length-prefixed strings at up to 3 bytes per char, quantity, updated_at
+        return 1 + 2 + change.getTable().length() * 3 + 2 + change.getId().length() * 3 + 4 + 8;
+    }
+}
@@ -0,0 +1,65 @@
+package com.yourname.stockwise.sync;
+
+import java.io.IOException;
+
+/**
+ * Carries {@link InvalidationBus} packets between StockWise processes.
+ * <p>
+ * Transports only move opaque bytes; the bus encodes and decodes the changes. Delivery may
+ * be lossy: the bus notices gaps and asks for a resynchronisation, and a transport that
+ * cannot deliver changes at all (such as {@link PollingTransport}) simply requests one
+ * periodically.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    /**
+     * Receives what a transport delivers. Called on the transport's own thread.
+     */
+    interface Receiver {
+
+        /**
+         * A packet arrived from a peer (or, for broadcast transports, possibly from this process).
+         *
+         * @param data   the packet bytes
+         * @param length number of valid bytes in {@code data}
+         */
+        void onPacket(byte[] data, int length);
+
+        /**
+         * Changes may have been missed; caches should be brought up to date from the database.
+         */
+        void onResyncNeeded();
+    }
+
+    /**
+     * Starts delivering packets to the receiver.
+     *
+     * @param receiver where packets are delivered
+     * @throws IOException if the transport cannot be opened
+     */
+    void start(Receiver receiver) throws IOException;
+
+    /**
+     * Sends a packet to every peer. Transports that cannot send ignore it.
+     *
+     * @param data   the packet bytes
+     * @param length number of valid bytes in {@code data}
+     * @throws IOException if sending fails
+     */
+    void send(byte[] data, int length) throws IOException;
+
+    /**
+     * @return the largest packet this transport can send, in bytes
+     */
+    int getMaxPacketSize();
+
+    /**
+     * Stops the transport and releases its resources.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,171 @@
+package com.yourname.stockwise.sync;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+
+/**
+ * {@link InvalidationTransport} that broadcasts packets with UDP multicast.
+ * <p>
+ * Every process joins the same group and port, so tills on one network segment hear each
+ * other without any configuration. Multicast loopback is enabled, which also lets several
+ * processes on a single Linux box talk to each other for testing. Packets are not
+ * acknowledged; the bus detects lost packets from their sequence numbers.
+ * </p>
+ *
+ * <p>Settings (system properties):</p>
+ * <ul>
+ *     <li>{@code stockwise.bus.group} - multicast group, default {@value #DEFAULT_GROUP}</li>
+ *     <li>{@code stockwise.bus.port} - UDP port, default {@value #DEFAULT_PORT}</li>
+ *     <li>{@code stockwise.bus.interface} - network interface name, default chosen by the OS</li>
+ *     <li>{@code stockwise.bus.ttl} - multicast hops, default 1 (local network only)</li>
+ *     <li>{@code stockwise.bus.resyncMs} - interval of the safety-net resynchronisation that
+ *     catches packets lost while no further traffic arrived, default 60000; 0 disables it</li>
+ * </ul>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class MulticastTransport implements InvalidationTransport {
+
+    public static final String DEFAULT_GROUP = "239.255.42.99";
+    public static final int DEFAULT_PORT = 47_700;
+
+    // Safe UDP payload without IP fragmentation on typical Ethernet
+    private static final int MAX_PACKET_SIZE = 1_400;
+
+    // How often the listener wakes up to check whether a resync is due
+    private static final int RECEIVE_TIMEOUT_MS = 1_000;
+
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private final int ttl;
+    private final long resyncMs = Math.max(0L, Long.getLong("stockwise.bus.resyncMs", 60_000L));
+    private MulticastSocket socket;
+    private volatile boolean closed;
+
+    /**
+     * Creates a transport configured from system properties.
+     *
+     * @throws SocketException if the configured interface cannot be found
+     */
+    public MulticastTransport() throws SocketException {
+        this(new InetSocketAddress(System.getProperty("stockwise.bus.group", DEFAULT_GROUP),
+                        Integer.getInteger("stockwise.bus.port", DEFAULT_PORT)),
+                findInterface(System.getProperty("stockwise.bus.interface")),
+                Integer.getInteger("stockwise.bus.ttl", 1));
+    }
+
+    /**
+     * @param group            multicast group and port
+     * @param networkInterface interface to join on, or null for the OS default
+     * @param ttl              multicast hops
+     */
+    public MulticastTransport(InetSocketAddress group, NetworkInterface networkInterface, int ttl) {
+        if (!group.getAddress().isMulticastAddress()) {
+            throw new IllegalArgumentException("Not a multicast address: " + group);
+        }
+        this.group = group;
+        this.networkInterface = networkInterface;
+        this.ttl = Math.max(0, ttl);
+    }
+
+    @Override
+    public synchronized void start(Receiver receiver) throws IOException {
+        socket = new MulticastSocket(group.getPort());
+        socket.setTimeToLive(ttl);
+        socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        socket.setSoTimeout(RECEIVE_TIMEOUT_MS);
+        if (networkInterface != null) {
+            socket.setNetworkInterface(networkInterface);
+        }
+        socket.joinGroup(group, networkInterface);
+
+        MulticastSocket listening = socket;
+        Thread receiverThread = new Thread(() -> receive(listening, receiver), "stockwise-bus-multicast");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+        System.out.println("Invalidation bus listening on " + group);
+    }
+
+    private void receive(MulticastSocket listening, Receiver receiver) {
+        byte[] buffer = new byte[MAX_PACKET_SIZE];
+        long lastResync = System.nanoTime();
+        while (!closed) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                if (resyncMs > 0 && System.nanoTime() - lastResync >= resyncMs * 1_000_000L) {
+                    lastResync = System.nanoTime();
+                    receiver.onResyncNeeded();
+                }
+                listening.receive(packet);
+                receiver.onPacket(packet.getData(), packet.getLength());
+            } catch (SocketTimeoutException e) {
+                // Quiet network; loop round to check for a due resync
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Invalidation bus receive failed: " + e.getMessage());
+                    receiver.onResyncNeeded();
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // A bad packet must not stop the listener
+            }
+        }
+    }
+
+    @Override
+    public void send(byte[] data, int length) throws IOException {
+        MulticastSocket target;
+        synchronized (this) {
+            target = socket;
+        }
+        if (target == null || closed) {
+            return;
+        }
+        target.send(new DatagramPacket(data, length, group));
+    }
+
+    @Override
+    public int getMaxPacketSize() {
+        return MAX_PACKET_SIZE;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (socket != null) {
+            try {
+                socket.leaveGroup(group, networkInterface);
+            } catch (IOException e) {
+                // Closing anyway
+            }
+            socket.close();
+            socket = null;
+        }
+    }
+
+    private static NetworkInterface findInterface(String name) throws SocketException {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        NetworkInterface ni = NetworkInterface.getByName(name.trim());
+        if (ni == null) {
+            try {
+                ni = NetworkInterface.getByInetAddress(InetAddress.getByName(name.trim()));
+            } catch (UnknownHostException e) {
+                ni = null;
+            }
+        }
+        if (ni == null) {
+            throw new SocketException("No network interface named " + name);
+        }
+        return ni;
+    }
+}
@@ -0,0 +1,74 @@
+package com.yourname.stockwise.sync;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in {@link InvalidationTransport} that needs no network: instead of receiving
+ * packets it periodically asks the bus to resynchronise, which makes the caches fetch the
+ * rows changed in the database since their last read.
+ * <p>
+ * Peers learn about changes within one poll interval
+ * ({@code stockwise.bus.pollMs}, default 3000 ms) at the cost of a few indexed queries per
+ * tick. Useful where multicast is blocked, and for testing on a single machine.
+ * </p>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class PollingTransport implements InvalidationTransport {
+
+    private final long intervalMs;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a transport that polls at the interval set by {@code stockwise.bus.pollMs}.
+     */
+    public PollingTransport() {
+        this(Long.getLong("stockwise.bus.pollMs", 3_000L));
+    }
+
+    /**
+     * @param intervalMs time between polls, at least 100 ms
+     */
+    public PollingTransport(long intervalMs) {
+        this.intervalMs = Math.max(100L, intervalMs);
+    }
+
+    @Override
+    public synchronized void start(Receiver receiver) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stockwise-bus-poll");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                receiver.onResyncNeeded();
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // Keep polling
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Does nothing: peers find changes in the database on their next poll.
+     */
+    @Override
+    public void send(byte[] data, int length) {
+    }
+
+    @Override
+    public int getMaxPacketSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -1,21 +1,31 @@
 package com.yourname.stockwise.unlokedDisplay;
 
+import java.io.File;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.yourname.stockwise.dao.InventoryRepository;
+import com.yourname.stockwise.dao.LowStockTracker;
+import com.yourname.stockwise.dao.StockValuation;
 import com.yourname.stockwise.dao.ProductDAO;
 import com.yourname.stockwise.dao.SupplierDAO;
 import com.yourname.stockwise.dao.TransactionDAO;
 import com.yourname.stockwise.model.Product;
 import com.yourname.stockwise.model.Supplier;
 import com.yourname.stockwise.model.Transaction;
+import com.yourname.stockwise.report.ReportCardCell;
+import com.yourname.stockwise.report.ReportFormat;
+import com.yourname.stockwise.report.ReportGenerator;
+import com.yourname.stockwise.report.ReportPageSink;
+import com.yourname.stockwise.report.ReportSection;
 import com.yourname.stockwise.security.Login;
 import com.yourname.stockwise.style.HomePage;
-import com.yourname.stockwise.visitor.InventoryReportVisitor;
-import com.yourname.stockwise.visitor.LowStockAlertVisitor;
-import com.yourname.stockwise.visitor.StockValueCalculatorVisitor;
+import com.yourname.stockwise.util.AlertHelper;
+import com.yourname.stockwise.util.AsyncScope;
+import com.yourname.stockwise.util.LazyPagedList;
 
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.ReadOnlyStringWrapper;
@@ -29,6 +39,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
@@ -36,10 +47,12 @@ import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -47,6 +60,7 @@ import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 /**
@@ -86,6 +100,10 @@ public class UnlockedInformation {
 	private HomePage home = new HomePage();
 	private Login l = new Login();
 
+	// Rows per page and pages kept in memory for the lazily loaded tables
+	private static final int TABLE_PAGE_SIZE = 100;
+	private static final int TABLE_CACHED_PAGES = 10;
+
 	/**
 	 * Displays a table view of all products in inventory.
 	 *
@@ -95,13 +113,12 @@ public class UnlockedInformation {
 	public void showProductTable(Stage stage) {
 
 		
-		// DAO and data fetch
-		ProductDAO dao = new ProductDAO();
-		List<Product> allProducts = dao.getAllProducts();
-		ObservableList<Product> productList = FXCollections.observableArrayList(allProducts);
+		// DAO and data are fetched in the background once the screen is shown
+		AsyncScope scope = new AsyncScope();
+		AtomicReference<ProductDAO> daoRef = new AtomicReference<>();
 
 		// TableView setup
-		TableView<Product> tableView = new TableView<>(productList);
+		TableView<Product> tableView = new TableView<>();
 		tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 		tableView.setPlaceholder(new Label("No products available"));
 
@@ -110,19 +127,19 @@ public class UnlockedInformation {
 
 		// Define columns with better formatting
 		TableColumn<Product, String> idCol = new TableColumn<>("ID");
-		idCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue().getId()));
+		idCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue() == null ? null : cellData.getValue().getId()));
 
 		TableColumn<Product, String> nameCol = new TableColumn<>("Name");
-		nameCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue().getName()));
+		nameCol.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue() == null ? null : cellData.getValue().getName()));
 
 		TableColumn<Product, Integer> qtyCol = new TableColumn<>("Quantity");
-		qtyCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getQuantity()));
+		qtyCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue() == null ? null : cellData.getValue().getQuantity()));
 
 		TableColumn<Product, Integer> thresholdCol = new TableColumn<>("Threshold");
-		thresholdCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getThreshold()));
+		thresholdCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue() == null ? null : cellData.getValue().getThreshold()));
 
 		TableColumn<Product, Double> priceCol = new TableColumn<>("Unit Price");
-		priceCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getUnitPrice()));
+		priceCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue() == null ? null : cellData.getValue().getUnitPrice()));
 		priceCol.setCellFactory(col -> new TableCell<>() {
 			@Override
 			protected void updateItem(Double price, boolean empty) {
@@ -136,12 +153,17 @@ public class UnlockedInformation {
 		});
 		TableColumn<Product, String> dateAddedCol = new TableColumn<>("Date Added");
 	    dateAddedCol.setCellValueFactory(cellData -> {
+	        if (cellData.getValue() == null) {
+	            return new ReadOnlyStringWrapper(null); // Row not loaded
+	        }
 	        LocalDateTime dateAdded = cellData.getValue().getDateAdded();
 	        String formattedDate = dateAdded != null ? dateAdded.toLocalDate().toString() : "N/A";
 	        return new ReadOnlyStringWrapper(formattedDate);
 	    });
 
 		tableView.getColumns().addAll(idCol, nameCol, qtyCol, thresholdCol, priceCol,dateAddedCol);
+		// The paged list can't be sorted in place; header clicks sort a copy of the cached rows
+		LazyPagedList.sortInMemory(tableView, () -> daoRef.get() == null ? null : daoRef.get().getAllProducts());
 
 		// Style table
 		tableView.setStyle("""
@@ -158,9 +180,10 @@ public class UnlockedInformation {
 
 			Button searchBtn = createStyledButton("🔍 Search", e -> {
 				LocalDate selectedDate = datePicker.getValue();
-				if (selectedDate != null) {
+				ProductDAO dao = daoRef.get();
+				if (selectedDate != null && dao != null) {
 					List<Product> filtered = dao.getProductsByDate(selectedDate);
-					productList.setAll(filtered); // Update table
+					tableView.setItems(FXCollections.observableArrayList(filtered)); // Update table
 				}
 			});
 
@@ -190,6 +213,13 @@ public class UnlockedInformation {
 		stage.setScene(scene);
 		stage.setTitle("Inventory Products");
 		stage.show();
+		scope.cancelWhenLeft(stage);
+
+		scope.loadTable(tableView, () -> {
+			ProductDAO dao = InventoryRepository.getInstance().getProductDAO();
+			daoRef.set(dao);
+			return new LazyPagedList<>(dao.pageSource(), TABLE_PAGE_SIZE, TABLE_CACHED_PAGES, false);
+		});
 	}
 
 	/**
@@ -324,46 +354,48 @@ public class UnlockedInformation {
 	/**
 	 * Displays a comprehensive inventory report on the given stage.
 	 * <p>
-	 * This method uses the {@link InventoryReportVisitor} to visit all products,
-	 * suppliers, and transactions in the inventory system, collecting their string
-	 * summaries. It then formats these summaries into sections and displays them in
-	 * a scrollable label. A "Back" button is provided to return to the dashboard
-	 * view.
+	 * Products and suppliers are streamed from the caches, and only the first page
+	 * of transactions is read, into a {@link ReportPageSink} that keeps the first
+	 * page of each section, so the screen opens quickly however large the ledger is.
+	 * Each section is shown as cards in its own tab. The full report can be exported
+	 * as CSV or HTML, and a "Back" button returns to the dashboard view.
 	 * </p>
 	 *
 	 * @param stage the JavaFX {@link Stage} where the report will be shown
 	 */
 	private void showInventoryReport(Stage stage) {
-		InventoryReportVisitor reportVisitor = new InventoryReportVisitor();
-
-		// Fetch data
-		ProductDAO productDAO = new ProductDAO();
-		SupplierDAO supplierDAO = new SupplierDAO();
-		TransactionDAO transactionDAO = new TransactionDAO();
-
-		productDAO.getAllProducts().forEach(p -> p.accept(reportVisitor));
-		supplierDAO.getAllSuppliers().forEach(s -> s.accept(reportVisitor));
-		transactionDAO.getAllTransactions().forEach(t -> t.accept(reportVisitor));
-
-		// Create card containers for each summary type
-		VBox productCards = createReportCards(reportVisitor.getProductSummaries(), "#3498db");
-		VBox supplierCards = createReportCards(reportVisitor.getSupplierSummaries(), "#27ae60");
-		VBox transactionCards = createReportCards(reportVisitor.getTransactionSummaries(), "#e67e22");
-
-		// ScrollPanes for scrolling
-		ScrollPane productScroll = new ScrollPane(productCards);
-		styleScrollPane(productScroll);
-
-		ScrollPane supplierScroll = new ScrollPane(supplierCards);
-		styleScrollPane(supplierScroll);
-
-		ScrollPane transactionScroll = new ScrollPane(transactionCards);
-		styleScrollPane(transactionScroll);
+		AsyncScope scope = new AsyncScope();
+
+		// One tab per section; each shows a spinner until the report is built
+		Tab productTab = new Tab("Products", AsyncScope.loadingPlaceholder("Loading products..."));
+		Tab supplierTab = new Tab("Suppliers", AsyncScope.loadingPlaceholder("Loading suppliers..."));
+		Tab transactionTab = new Tab("Transactions", AsyncScope.loadingPlaceholder("Loading transactions..."));
+
+		// Stock summary, filled in by the same pass as the report
+		Label summaryLabel = new Label("Calculating stock summary...");
+		summaryLabel.setFont(Font.font("Segoe UI", 15));
+		summaryLabel.setTextFill(Color.web("#34495e"));
+
+		// Build the first page of each section in the background; the ledger is only read up to the page size
+		ReportPageSink page = new ReportPageSink();
+		scope.run(() -> ReportGenerator.preview(InventoryRepository.getInstance(), page), timings -> {
+			InventoryRepository repository = InventoryRepository.getInstance();
+			// Create a list of cards for each section
+			productTab.setContent(createReportCards(page, ReportSection.PRODUCTS, "#3498db"));
+			supplierTab.setContent(createReportCards(page, ReportSection.SUPPLIERS, "#27ae60"));
+			transactionTab.setContent(createReportCards(page, ReportSection.TRANSACTIONS, "#e67e22"));
+			summaryLabel.setText(String.format("Total Inventory Value: R%.2f   |   Products below threshold: %d",
+					repository.getStockValuation().getTotal(), repository.getLowStockTracker().getLowStockCount()));
+			// How long the report took to build, for anyone chasing a slow screen
+			summaryLabel.setTooltip(new Tooltip(timings.toDisplayString()));
+		}, error -> {
+			summaryLabel.setText("");
+			productTab.setContent(new Label("Could not load report: " + error.getMessage()));
+		});
 
 		// TabPane for sections
 		TabPane tabPane = new TabPane();
-		tabPane.getTabs().addAll(new Tab("Products", productScroll), new Tab("Suppliers", supplierScroll),
-				new Tab("Transactions", transactionScroll));
+		tabPane.getTabs().addAll(productTab, supplierTab, transactionTab);
 		tabPane.getTabs().forEach(tab -> tab.setClosable(false));
 		tabPane.setTabMinWidth(160);
 		tabPane.setTabMaxWidth(220);
@@ -384,8 +416,19 @@ public class UnlockedInformation {
 		styleBackButton(backBtn);
 		backBtn.setOnAction(e -> showDashboard(stage));
 
+		// Export buttons write the full report, not just the page on screen
+		Button csvBtn = new Button("Export CSV");
+		styleBackButton(csvBtn);
+		csvBtn.setOnAction(e -> exportReport(stage, scope, ReportFormat.CSV));
+		Button htmlBtn = new Button("Export HTML");
+		styleBackButton(htmlBtn);
+		htmlBtn.setOnAction(e -> exportReport(stage, scope, ReportFormat.HTML));
+
+		HBox buttonRow = new HBox(15, backBtn, csvBtn, htmlBtn);
+		buttonRow.setAlignment(Pos.CENTER);
+
 		// Main container with elegant background
-		VBox mainContainer = new VBox(20, header, tabPane, backBtn);
+		VBox mainContainer = new VBox(20, header, summaryLabel, tabPane, buttonRow);
 		mainContainer.setPadding(new Insets(30));
 		mainContainer.setAlignment(Pos.TOP_CENTER);
 		mainContainer.setStyle("""
@@ -400,54 +443,57 @@ public class UnlockedInformation {
 		stage.setScene(scene);
 		stage.setTitle("Inventory Report");
 		stage.show();
+		scope.cancelWhenLeft(stage);
 	}
 
-	// Create card-style report items with colored accent border
-	private VBox createReportCards(List<String> summaries, String accentColor) {
-		VBox container = new VBox(15);
-		container.setPadding(new Insets(15));
-		container.setFillWidth(true);
-
-		if (summaries.isEmpty()) {
-			Label noData = new Label("No data available.");
-			noData.setFont(Font.font("Segoe UI", FontPosture.ITALIC, 16));
-			noData.setTextFill(Color.web("#7f8c8d"));
-			noData.setAlignment(Pos.CENTER);
-			noData.setMaxWidth(Double.MAX_VALUE);
-			container.getChildren().add(noData);
-			return container;
-		}
-
-		for (String summary : summaries) {
-			Label summaryLabel = new Label(summary);
-			summaryLabel.setWrapText(true);
-			summaryLabel.setFont(Font.font("Segoe UI", 16));
-			summaryLabel.setTextFill(Color.web("#34495e"));
-			summaryLabel.setPadding(new Insets(12, 15, 12, 15));
-			summaryLabel.setStyle(String.format("""
-					    -fx-background-color: white;
-					    -fx-background-radius: 12;
-					    -fx-border-radius: 12;
-					    -fx-border-color: %s;
-					    -fx-border-width: 3;
-					    -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 5, 0, 0, 3);
-					""", accentColor));
+	// Create card-style report items with colored accent border. The list is virtualized: only
+	// the cards in view exist, and they are reused while scrolling
+	private VBox createReportCards(ReportPageSink page, ReportSection section, String accentColor) {
+		List<String[]> rows = page.getRows(section);
+		ListView<String[]> cards = new ListView<>(FXCollections.observableList(rows));
+		cards.setCellFactory(ReportCardCell.factory(section, accentColor));
+		cards.setFocusTraversable(false);
+		cards.setStyle("""
+				    -fx-background-color: transparent;
+				    -fx-background-insets: 0;
+				    -fx-padding: 8 0 8 0;
+				""");
 
-			container.getChildren().add(summaryLabel);
+		Label noData = new Label("No data available.");
+		noData.setFont(Font.font("Segoe UI", FontPosture.ITALIC, 16));
+		noData.setTextFill(Color.web("#7f8c8d"));
+		cards.setPlaceholder(noData);
+
+		VBox container = new VBox(10, cards);
+		container.setAlignment(Pos.CENTER);
+		VBox.setVgrow(cards, Priority.ALWAYS);
+
+		long total = page.getTotalRows(section);
+		if (total > rows.size()) {
+			Label more = new Label(String.format("Showing the first %,d of %,d rows. Export the report to see them all.",
+					rows.size(), total));
+			more.setFont(Font.font("Segoe UI", FontPosture.ITALIC, 14));
+			more.setTextFill(Color.web("#7f8c8d"));
+			container.getChildren().add(more);
 		}
 
 		return container;
 	}
 
-	// Style ScrollPane to blend nicely
-	private void styleScrollPane(ScrollPane scrollPane) {
-		scrollPane.setFitToWidth(true);
-		scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-		scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-		scrollPane.setStyle("""
-				    -fx-background-color: transparent;
-				    -fx-padding: 0 5 0 0;
-				""");
+	// Ask for a file and write the full report to it in the background
+	private void exportReport(Stage stage, AsyncScope scope, ReportFormat format) {
+		FileChooser chooser = new FileChooser();
+		chooser.setTitle("Export Inventory Report");
+		chooser.setInitialFileName("inventory-report." + format.getExtension());
+		chooser.getExtensionFilters().add(
+				new FileChooser.ExtensionFilter(format.getDescription(), "*." + format.getExtension()));
+		File file = chooser.showSaveDialog(stage);
+		if (file == null) {
+			return;
+		}
+		scope.run(() -> ReportGenerator.export(InventoryRepository.getInstance(), file.toPath(), format),
+				timings -> AlertHelper.showInfo("Report Exported", "The inventory report was saved to " + file + "."),
+				error -> AlertHelper.showError("Export Failed", "Could not export the report: " + error.getMessage()));
 	}
 
 	// Style back button with hover effect
@@ -536,12 +582,11 @@ public class UnlockedInformation {
 	 * Displays a report of products that are below their stock threshold on the
 	 * specified stage.
 	 * <p>
-	 * This method uses the {@link LowStockAlertVisitor} to inspect all products in
-	 * the inventory and collects those with quantities below their defined
-	 * threshold. It then presents a message listing all low stock products with
-	 * their quantities. If no products are low in stock, a corresponding message is
-	 * displayed instead. A "Back" button allows the user to return to the dashboard
-	 * view.
+	 * The products below their defined threshold are read from the repository's
+	 * {@link LowStockTracker}, which keeps them ordered by severity as stock
+	 * changes, and listed with their quantities, most severe first. If no
+	 * products are low in stock, a corresponding message is displayed instead. A
+	 * "Back" button allows the user to return to the dashboard view.
 	 * </p>
 	 * 
 	 * @param stage the JavaFX {@link Stage} on which to display the low stock
@@ -549,16 +594,7 @@ public class UnlockedInformation {
 	 */
 
 	public void showLowStockReport(Stage stage) {
-		// Load all products from DB
-		ProductDAO productDAO = new ProductDAO();
-		List<Product> allProducts = productDAO.getAllProducts();
-
-		// Use visitor to find products below threshold
-		LowStockAlertVisitor visitor = new LowStockAlertVisitor();
-		allProducts.forEach(p -> p.accept(visitor));
-		List<Product> lowStockList = visitor.getLowStockProducts();
-
-		ObservableList<Product> lowStockProducts = FXCollections.observableArrayList(lowStockList);
+		AsyncScope scope = new AsyncScope();
 
 		// ===== Header =====
 		Label header = new Label("📦 Low Stock Report");
@@ -568,7 +604,7 @@ public class UnlockedInformation {
 		header.setMaxWidth(Double.MAX_VALUE);
 
 		// ===== TableView =====
-		TableView<Product> tableView = new TableView<>(lowStockProducts);
+		TableView<Product> tableView = new TableView<>();
 		tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 		tableView.setPlaceholder(new Label("✔ All products are above threshold."));
 
@@ -622,37 +658,50 @@ public class UnlockedInformation {
 		stage.setScene(scene);
 		stage.setTitle("Low Stock Report");
 		stage.show();
+		scope.cancelWhenLeft(stage);
+
+		// Read the tracked low-stock products, most severe first, instead of scanning
+		scope.loadTable(tableView, () -> FXCollections.observableArrayList(
+				InventoryRepository.getInstance().getLowStockTracker().getLowStockProducts()));
 	}
 
 	/**
 	 * Displays the total inventory value on the given JavaFX stage.
 	 * <p>
-	 * This method calculates the total value of all products in the inventory by
-	 * applying the {@link StockValueCalculatorVisitor} to each product. It then
-	 * updates the stage to show the total value with a label and provides a "Back"
-	 * button to return to the dashboard.
+	 * The total and the per-user breakdown are read from the repository's live
+	 * {@link StockValuation}, which is kept up to date as products change, so the
+	 * figure appears at once however large the catalogue is. A "Back" button
+	 * returns to the dashboard.
 	 * </p>
 	 * 
 	 * @param stage the JavaFX {@link Stage} on which to display the inventory value
 	 */
 
 	private void showStockValue(Stage stage) {
-		ProductDAO productDAO = new ProductDAO();
-		List<Product> allProducts = productDAO.getAllProducts();
-		StockValueCalculatorVisitor visitor = new StockValueCalculatorVisitor();
-
-		for (Product product : allProducts) {
-			product.accept(visitor);
-		}
+		AsyncScope scope = new AsyncScope();
+		Label label = new Label("Calculating total inventory value...");
+		Label breakdownLabel = new Label();
+		ScrollPane breakdownScroll = new ScrollPane(breakdownLabel);
+		breakdownScroll.setFitToWidth(true);
+		breakdownScroll.setPrefViewportHeight(120);
+
+		// The repository is created on first use, so fetch it off the FX thread
+		scope.run(() -> InventoryRepository.getInstance().getStockValuation(), valuation -> {
+			label.setText(String.format("Total Inventory Value: R%.2f", valuation.getTotal()));
+			StringBuilder breakdown = new StringBuilder("Value by user:");
+			valuation.getBreakdown(StockValuation.BY_USER).forEach((user, value) ->
+					breakdown.append(String.format("%n%s: R%.2f", user, value)));
+			breakdownLabel.setText(breakdown.toString());
+		}, error -> label.setText("Could not calculate the inventory value."));
 
-		Label label = new Label(String.format("Total Inventory Value: R%.2f", visitor.getTotalValue()));
 		Button backBtn = new Button("Back");
 		backBtn.setOnAction(e -> showDashboard(stage));
 
-		VBox root = new VBox(15, label, backBtn);
+		VBox root = new VBox(15, label, breakdownScroll, backBtn);
 		root.setStyle("-fx-padding: 20; -fx-alignment: center;");
 
-		stage.setScene(new Scene(root, 400, 200));
+		stage.setScene(new Scene(root, 400, 300));
+		scope.cancelWhenLeft(stage);
 	}
 
 	/**
@@ -662,32 +711,34 @@ public class UnlockedInformation {
 	 */
 
 	public void showSuppliers(Stage stage) {
-	    SupplierDAO supplierDAO = new SupplierDAO();
-	    List<Supplier> supplierListFromDB = supplierDAO.getAllSuppliers();
-
-	    // Observable list for TableView
-	    ObservableList<Supplier> supplierList = FXCollections.observableArrayList(supplierListFromDB);
+	    // DAO and lazily paged rows are fetched in the background once the screen is shown
+	    AsyncScope scope = new AsyncScope();
+	    AtomicReference<SupplierDAO> daoRef = new AtomicReference<>();
+	    AtomicReference<LazyPagedList<Supplier>> supplierList = new AtomicReference<>();
 
 	    // TableView and columns
-	    TableView<Supplier> tableView = new TableView<>(supplierList);
+	    TableView<Supplier> tableView = new TableView<>();
 
 	    TableColumn<Supplier, String> idCol = new TableColumn<>("ID");
-	    idCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getId()));
+	    idCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getId()));
 
 	    TableColumn<Supplier, String> nameCol = new TableColumn<>("Name");
-	    nameCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getName()));
+	    nameCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getName()));
 
 	    TableColumn<Supplier, String> emailCol = new TableColumn<>("Email");
-	    emailCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getEmail()));
+	    emailCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getEmail()));
 
 	    TableColumn<Supplier, String> phoneCol = new TableColumn<>("Phone");
-	    phoneCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getPhone()));
+	    phoneCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getPhone()));
 
 	    TableColumn<Supplier, String> addressCol = new TableColumn<>("Address");
-	    addressCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getAddress()));
+	    addressCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getAddress()));
 	 // ➕ NEW: Created At Date Column
 	    TableColumn<Supplier, String> dateCol = new TableColumn<>("Date Added");
 	    dateCol.setCellValueFactory(data -> {
+	        if (data.getValue() == null) {
+	            return new ReadOnlyStringWrapper(null); // Row not loaded
+	        }
 	        LocalDateTime dateTime = data.getValue().getDateAdded();
 	        String formattedDate = dateTime != null
 	                ? dateTime.format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm"))
@@ -695,6 +746,8 @@ public class UnlockedInformation {
 	        return new ReadOnlyStringWrapper(formattedDate);
 	    });
 	    tableView.getColumns().addAll(idCol, nameCol, emailCol, phoneCol, addressCol,dateCol);
+	    // The paged list can't be sorted in place; header clicks sort a copy of the cached rows
+	    LazyPagedList.sortInMemory(tableView, () -> daoRef.get() == null ? null : daoRef.get().getAllSuppliers());
 	    tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 
 	    // DatePicker for filtering by created date
@@ -705,13 +758,17 @@ public class UnlockedInformation {
 	    Button searchBtn = new Button("Search by Date");
 	    searchBtn.setOnAction(e -> {
 	        LocalDate selectedDate = datePicker.getValue();
-	        List<Supplier> filteredSuppliers;
+	        SupplierDAO supplierDAO = daoRef.get();
+	        if (supplierDAO == null) {
+	            return; // Still loading
+	        }
 	        if (selectedDate != null) {
-	            filteredSuppliers = supplierDAO.getSuppliersByDate(selectedDate);
+	            List<Supplier> filteredSuppliers = supplierDAO.getSuppliersByDate(selectedDate);
+	            tableView.setItems(FXCollections.observableArrayList(filteredSuppliers));
 	        } else {
-	            filteredSuppliers = supplierDAO.getAllSuppliers();
+	            supplierList.get().refresh();
+	            tableView.setItems(supplierList.get());
 	        }
-	        tableView.setItems(FXCollections.observableArrayList(filteredSuppliers));
 	    });
 
 	    // Back button
@@ -721,9 +778,18 @@ public class UnlockedInformation {
 	    // Refresh button to reload all suppliers
 	    Button refreshBtn = new Button("Refresh");
 	    refreshBtn.setOnAction(e -> {
-	        List<Supplier> refreshedList = supplierDAO.getAllSuppliers();
-	        tableView.setItems(FXCollections.observableArrayList(refreshedList));
-	        datePicker.setValue(null);  // Reset the date picker
+	        SupplierDAO supplierDAO = daoRef.get();
+	        if (supplierList.get() == null || supplierDAO == null) {
+	            return; // Still loading
+	        }
+	        // Fetch only suppliers changed or deleted since the last read
+	        refreshBtn.setDisable(true);
+	        scope.run(supplierDAO::refreshChanges, changed -> {
+	            refreshBtn.setDisable(false);
+	            supplierList.get().refresh();
+	            tableView.setItems(supplierList.get());
+	            datePicker.setValue(null);  // Reset the date picker
+	        }, error -> refreshBtn.setDisable(false));
 	    });
 	 
 	    // Layout for search controls
@@ -746,6 +812,15 @@ public class UnlockedInformation {
 	    stage.setScene(scene);
 	    stage.setTitle("Supplier List");
 	    stage.show();
+	    scope.cancelWhenLeft(stage);
+
+	    scope.loadTable(tableView, () -> {
+	        SupplierDAO supplierDAO = InventoryRepository.getInstance().getSupplierDAO();
+	        LazyPagedList<Supplier> rows = new LazyPagedList<>(supplierDAO.pageSource(), TABLE_PAGE_SIZE, TABLE_CACHED_PAGES, false);
+	        supplierList.set(rows);
+	        daoRef.set(supplierDAO);
+	        return rows;
+	    });
 	}
 
 	/**
@@ -755,39 +830,42 @@ public class UnlockedInformation {
 	 */
 
 	public void showTransactions(Stage stage) {
-	    TransactionDAO transactionDAO = new TransactionDAO();
-	    List<Transaction> transactionListFromDB = transactionDAO.getAllTransactions();
-	    ObservableList<Transaction> transactionList = FXCollections.observableArrayList(transactionListFromDB);
+	    // Pages are read from the database in the background, with neighbours prefetched;
+	    // rows whose page has not arrived yet are null and render as blank
+	    AsyncScope scope = new AsyncScope();
+	    AtomicReference<TransactionDAO> daoRef = new AtomicReference<>();
 
 	    // TableView setup
-	    TableView<Transaction> tableView = new TableView<>(transactionList);
+	    TableView<Transaction> tableView = new TableView<>();
 	    tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 	    tableView.setPlaceholder(new Label("No transactions available"));
 
 	    // ID column
 	    TableColumn<Transaction, String> idCol = new TableColumn<>("ID");
-	    idCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getId()));
+	    idCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getId()));
 	    idCol.setStyle("-fx-alignment: CENTER;");
 
 	    // Product column
 	    TableColumn<Transaction, String> productCol = new TableColumn<>("Product");
-	    productCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getProduct().getName()));
+	    productCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getProduct().getName()));
 
 	    // Type column
 	    TableColumn<Transaction, String> typeCol = new TableColumn<>("Type");
-	    typeCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getType().toString()));
+	    typeCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getType().toString()));
 	    typeCol.setStyle("-fx-alignment: CENTER;");
 
 	    // Quantity column
 	    TableColumn<Transaction, Integer> qtyCol = new TableColumn<>("Quantity");
-	    qtyCol.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getQuantity()));
+	    qtyCol.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue() == null ? null : data.getValue().getQuantity()));
 	    qtyCol.setStyle("-fx-alignment: CENTER;");
       
 	    // Date column
 	    TableColumn<Transaction, String> dateCol = new TableColumn<>("Date");
-	    dateCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getTimestamp().toLocalDate().toString()));
+	    dateCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue() == null ? null : data.getValue().getTimestamp().toLocalDate().toString()));
 
 	    tableView.getColumns().addAll(idCol, productCol, typeCol, qtyCol, dateCol);
+	    // Sorting would page in the whole ledger, so the lazy transaction table keeps its order
+	    tableView.getColumns().forEach(column -> column.setSortable(false));
 
 	    // Back button
 	    Button backBtn = createStyledButton("⬅ Back", e -> showDashboard(stage));
@@ -798,9 +876,10 @@ public class UnlockedInformation {
 
 	    Button searchBtn = createStyledButton("🔍 Search", e -> {
 	        LocalDate selectedDate = datePicker.getValue();
-	        if (selectedDate != null) {
-	            List<Transaction> filtered = transactionDAO.getTransactionsByDate(selectedDate);
-	            transactionList.setAll(filtered); // Refresh table view
+	        TransactionDAO transactionDAO = daoRef.get();
+	        if (selectedDate != null && transactionDAO != null) {
+	            scope.loadTable(tableView, () -> FXCollections.observableArrayList(
+	                    transactionDAO.getTransactionsByDate(selectedDate))); // Refresh table view
 	        }
 	    });
 
@@ -829,6 +908,13 @@ public class UnlockedInformation {
 	    stage.setScene(new Scene(root, 800, 500));
 	    stage.setTitle("Transaction History");
 	    stage.show();
+	    scope.cancelWhenLeft(stage);
+
+	    scope.loadTable(tableView, () -> {
+	        TransactionDAO transactionDAO = InventoryRepository.getInstance().getTransactionDAO();
+	        daoRef.set(transactionDAO);
+	        return new LazyPagedList<>(transactionDAO.pageSource(), TABLE_PAGE_SIZE, TABLE_CACHED_PAGES, true);
+	    });
 	}
 
 
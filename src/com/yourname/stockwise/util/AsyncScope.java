@@ -0,0 +1,182 @@
+package com.yourname.stockwise.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import com.yourname.stockwise.dao.DaoExecutor;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+/**
+ * Runs the DAO calls of one screen in the background and hands their results back to the
+ * JavaFX application thread.
+ * <p>
+ * Each screen creates a scope, starts its database work through it and, once its scene is
+ * shown, calls {@link #cancelWhenLeft(Stage)}. When the user navigates to another scene the
+ * scope is cancelled: calls still running are abandoned and their callbacks never run, so a
+ * slow query can no longer write into a screen that has gone.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     AsyncScope scope = new AsyncScope();
+ *     scope.loadTable(tableView, () -&gt; FXCollections.observableArrayList(dao.getAllProducts()));
+ *     stage.setScene(scene);
+ *     scope.cancelWhenLeft(stage);
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class AsyncScope {
+
+    private final List<CompletableFuture<?>> running = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * Runs a DAO call in the background. Failures are logged and reported with an error dialog.
+     *
+     * @param call      the blocking call
+     * @param onSuccess receives the result on the JavaFX application thread
+     * @param <T>       the result type
+     * @return the pending call
+     */
+    public <T> CompletableFuture<T> run(Callable<T> call, Consumer<? super T> onSuccess) {
+        return run(call, onSuccess, error -> AlertHelper.showError("Database Error",
+                "The operation could not be completed: " + error.getMessage()));
+    }
+
+    /**
+     * Runs a DAO call in the background.
+     *
+     * @param call      the blocking call
+     * @param onSuccess receives the result on the JavaFX application thread
+     * @param onFailure receives the failure cause on the JavaFX application thread
+     * @param <T>       the result type
+     * @return the pending call
+     */
+    public <T> CompletableFuture<T> run(Callable<T> call, Consumer<? super T> onSuccess,
+                                        Consumer<Throwable> onFailure) {
+        CompletableFuture<T> future;
+        synchronized (running) {
+            if (cancelled) {
+                future = new CompletableFuture<>();
+                future.cancel(true);
+                return future;
+            }
+            future = DaoExecutor.getInstance().submit(call);
+            running.add(future);
+        }
+
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            synchronized (running) {
+                running.remove(future);
+                if (cancelled || future.isCancelled()) {
+                    return;
+                }
+            }
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                Throwable cause = unwrap(error);
+                if (!(cause instanceof CancellationException)) {
+                    cause.printStackTrace();
+                    onFailure.accept(cause);
+                }
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Fills a table in the background, showing a progress placeholder until the rows arrive
+     * and an error placeholder if loading fails.
+     *
+     * @param table the table to fill
+     * @param call  loads the rows
+     * @param <T>   the row type
+     * @return the pending call
+     */
+    public <T> CompletableFuture<ObservableList<T>> loadTable(TableView<T> table,
+                                                              Callable<ObservableList<T>> call) {
+        Node placeholder = table.getPlaceholder();
+        table.setPlaceholder(loadingPlaceholder("Loading..."));
+        return run(call, rows -> {
+            table.setPlaceholder(placeholder);
+            table.setItems(rows);
+        }, error -> table.setPlaceholder(new Label("Could not load data: " + error.getMessage())));
+    }
+
+    /**
+     * Builds the progress placeholder shown while a table or panel is loading.
+     *
+     * @param message text shown under the spinner
+     * @return the placeholder node
+     */
+    public static Node loadingPlaceholder(String message) {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setMaxSize(40, 40);
+        VBox box = new VBox(8, spinner, new Label(message));
+        box.setAlignment(Pos.CENTER);
+        return box;
+    }
+
+    /**
+     * Cancels this scope as soon as the stage shows a scene other than its current one.
+     *
+     * @param stage the stage whose current scene belongs to this screen
+     */
+    public void cancelWhenLeft(Stage stage) {
+        Scene screen = stage.getScene();
+        ChangeListener<Scene> listener = new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> obs, Scene oldScene, Scene newScene) {
+                if (newScene != screen) {
+                    stage.sceneProperty().removeListener(this);
+                    cancelAll();
+                }
+            }
+        };
+        stage.sceneProperty().addListener(listener);
+    }
+
+    /**
+     * Abandons every call still running in this scope; their callbacks will not run.
+     * Calls started afterwards are cancelled immediately.
+     */
+    public void cancelAll() {
+        List<CompletableFuture<?>> pending;
+        synchronized (running) {
+            cancelled = true;
+            pending = new ArrayList<>(running);
+            running.clear();
+        }
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(true);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
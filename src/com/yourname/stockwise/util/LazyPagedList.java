@@ -0,0 +1,246 @@
+package com.yourname.stockwise.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.yourname.stockwise.dao.DaoExecutor;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableView;
+
+/**
+ * Read-only {@link javafx.collections.ObservableList} that loads its rows from a
+ * {@link PageSource} only when a view asks for them.
+ * <p>
+ * A {@code TableView} only requests the rows it is about to draw, so backing it with this
+ * list makes opening a table cost one page load no matter how many rows exist. Loaded pages
+ * are kept in a small least-recently-used cache.
+ * </p>
+ *
+ * <p>In asynchronous mode, meant for sources that query the database, pages are never loaded
+ * on the JavaFX application thread: a row whose page is not cached yet reads as {@code null}
+ * while the page loads on the {@link DaoExecutor}, and listeners are told the rows changed
+ * once it arrives. The pages either side of a loaded page are prefetched the same way, so
+ * ordinary scrolling rarely shows empty rows. Cell factories of such tables must accept
+ * {@code null} rows.</p>
+ *
+ * <p>The list must only be used from the JavaFX application thread, although it may be
+ * constructed on a background thread. Call {@link #refresh()} after the underlying data has
+ * changed; the list cannot be modified directly. That includes sorting: a table's default sort
+ * policy would copy every row, loading every page, and then fail to write them back. Make the
+ * columns of asynchronous tables unsortable, and give in-memory tables a
+ * {@link #sortInMemory sort policy} that sorts a copy of their rows.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     TableView&lt;Transaction&gt; table = new TableView&lt;&gt;(new LazyPagedList&lt;&gt;(transactionDAO.pageSource(), 100, 8, true));
+ * </pre>
+ *
+ * @param <T> the row type
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public class LazyPagedList<T> extends ObservableListBase<T> {
+
+    private final PageSource<T> source;
+    private final int pageSize;
+    private final boolean async;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> inFlight = new HashSet<>();
+    private int size;
+    private long generation;
+    private boolean refreshScheduled;
+
+    /**
+     * Creates the list and reads the row count from the source. In asynchronous mode the
+     * count is a database query, so construct the list off the JavaFX application thread.
+     *
+     * @param source   supplies the rows
+     * @param pageSize rows per page
+     * @param maxPages pages kept in memory at once
+     * @param async    true to load pages in the background and prefetch neighbouring pages;
+     *                 use it when the source queries the database
+     */
+    public LazyPagedList(PageSource<T> source, int pageSize, int maxPages, boolean async) {
+        this.source = source;
+        this.pageSize = Math.max(1, pageSize);
+        this.async = async;
+        int capacity = Math.max(3, maxPages);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.size = Math.max(0, source.size());
+        if (async && size > 0) {
+            // First screenful, loaded on the constructing thread so the table opens populated
+            pages.put(0, source.loadPage(0, this.pageSize));
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int pageIndex = index / pageSize;
+        List<T> page = pages.get(pageIndex);
+        if (page == null) {
+            if (async) {
+                request(pageIndex);
+                return null;
+            }
+            page = source.loadPage(pageIndex * pageSize, pageSize);
+            pages.put(pageIndex, page);
+        } else if (async) {
+            request(pageIndex + 1);
+            request(pageIndex - 1);
+        }
+
+        int offset = index - pageIndex * pageSize;
+        if (offset < page.size()) {
+            return page.get(offset);
+        }
+        // Rows were deleted since the last refresh: show an empty row and re-read the size after layout
+        if (!refreshScheduled) {
+            refreshScheduled = true;
+            Platform.runLater(this::refresh);
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drops every cached page and re-reads the row count, notifying listeners that the
+     * whole list was replaced. In asynchronous mode the count is read in the background
+     * and the list keeps its current contents until it arrives.
+     */
+    public void refresh() {
+        refreshScheduled = false;
+        long requested = ++generation;
+        inFlight.clear();
+        if (!async) {
+            pages.clear();
+            source.invalidate();
+            resize(Math.max(0, source.size()));
+            return;
+        }
+
+        DaoExecutor.getInstance().submit(() -> {
+            source.invalidate();
+            return source.size();
+        }).whenComplete((count, error) -> Platform.runLater(() -> {
+            if (requested != generation) {
+                return;
+            }
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            pages.clear();
+            resize(Math.max(0, count));
+        }));
+    }
+
+    /**
+     * Lets a table whose rows are held in memory be sorted by its column headers while it shows
+     * a {@link LazyPagedList}. When a sort is requested, the table is switched to a sorted copy
+     * of all its rows, like a filtered list; set the lazy list back to return to unsorted paging.
+     * Tables showing any other list are sorted as usual.
+     *
+     * @param table   the table
+     * @param allRows supplies every row, e.g. a DAO cache snapshot; may return null while loading
+     * @param <T>     the row type
+     */
+    public static <T> void sortInMemory(TableView<T> table, Supplier<List<T>> allRows) {
+        table.setSortPolicy(t -> {
+            if (!(t.getItems() instanceof LazyPagedList)) {
+                return TableView.DEFAULT_SORT_POLICY.call(t);
+            }
+            Comparator<T> comparator = t.getComparator();
+            if (comparator == null) {
+                return true; // Paged rows are already in their natural order
+            }
+            List<T> rows = allRows.get();
+            if (rows == null) {
+                return false; // Still loading
+            }
+            List<T> sorted = new ArrayList<>(rows);
+            sorted.sort(comparator);
+            t.setItems(FXCollections.observableArrayList(sorted));
+            return true;
+        });
+        // Going back to the paged rows also drops the sort they no longer follow
+        table.itemsProperty().addListener((obs, old, items) -> {
+            if (items instanceof LazyPagedList) {
+                table.getSortOrder().clear();
+            }
+        });
+    }
+
+    /**
+     * @return the number of pages currently held in memory
+     */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    private void resize(int newSize) {
+        int oldSize = size;
+        size = newSize;
+        if (oldSize > 0 || size > 0) {
+            beginChange();
+            nextReplace(0, size, Collections.nCopies(oldSize, null));
+            endChange();
+        }
+    }
+
+    /**
+     * Loads a page in the background unless it is cached, out of range or already loading.
+     */
+    private void request(int pageIndex) {
+        if (pageIndex < 0 || pageIndex * pageSize >= size
+                || pages.containsKey(pageIndex) || !inFlight.add(pageIndex)) {
+            return;
+        }
+        long requested = generation;
+        DaoExecutor.getInstance().submit(() -> source.loadPage(pageIndex * pageSize, pageSize))
+                .whenComplete((loaded, error) -> Platform.runLater(() -> {
+                    if (requested != generation) {
+                        return; // Refreshed meanwhile; the page may be stale
+                    }
+                    inFlight.remove(pageIndex);
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    if (pages.containsKey(pageIndex)) {
+                        return;
+                    }
+                    pages.put(pageIndex, loaded);
+
+                    // Let the view redraw the rows it may have shown as empty
+                    int from = pageIndex * pageSize;
+                    int to = Math.min(size, from + pageSize);
+                    if (from < to) {
+                        beginChange();
+                        nextReplace(from, to, Collections.nCopies(to - from, null));
+                        endChange();
+                    }
+                }));
+    }
+}
@@ -0,0 +1,38 @@
+package com.yourname.stockwise.util;
+
+import java.util.List;
+
+/**
+ * Supplies rows to a {@link LazyPagedList} one page at a time.
+ * <p>
+ * Implementations may be called from a background prefetch thread as well as the
+ * JavaFX application thread, so they must be thread-safe.
+ * </p>
+ *
+ * @param <T> the row type
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public interface PageSource<T> {
+
+    /**
+     * @return the total number of rows currently available
+     */
+    int size();
+
+    /**
+     * Loads the rows at positions {@code [offset, offset + limit)}.
+     *
+     * @param offset position of the first row
+     * @param limit  maximum number of rows to return
+     * @return the rows, possibly fewer than {@code limit} at the end of the data
+     */
+    List<T> loadPage(int offset, int limit);
+
+    /**
+     * Discards any positional state (such as remembered page boundaries) because the
+     * underlying rows may have changed. Called before the list re-reads {@link #size()}.
+     */
+    default void invalidate() {
+    }
+}
@@ -0,0 +1,147 @@
+package com.yourname.stockwise.util;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates time-ordered, collision-free transaction ids without locking.
+ * <p>
+ * Each id packs a 64-bit Snowflake-style number: milliseconds since {@link #EPOCH} (41 bits,
+ * about 69 years), the generating node (10 bits) and a per-millisecond counter (12 bits).
+ * It is written as {@value #PREFIX} followed by 13 Crockford base-32 digits, for example
+ * {@code T01HV3K5Q8Z0G2}. The digits are fixed-width and sort like the number, so ids from one
+ * node are strictly increasing as strings too, and ids from all nodes are roughly ordered by
+ * time. Inserting them therefore appends to the end of the primary-key index instead of
+ * splitting pages at random positions.
+ * </p>
+ *
+ * <p>Ids are unique as long as no two running processes share a node id; {@code TransactionDAO}
+ * leases a fresh one from the database for each process. If the clock moves backwards, or more
+ * than 4096 ids are needed in one millisecond, the generator keeps counting from its last
+ * value instead of waiting, so ids stay monotonic.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     TransactionIdGenerator ids = new TransactionIdGenerator(nodeId);
+ *     String id = ids.nextId();
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class TransactionIdGenerator {
+
+    /** Start of the timestamp field: 2024-01-01T00:00:00Z. */
+    public static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    /** Text put before the encoded number. */
+    public static final String PREFIX = "T";
+
+    /** Number of distinct node ids. */
+    public static final int MAX_NODES = 1 << 10;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13; // ceil(64 / 5)
+
+    private final long node;
+    private final LongSupplier clock;
+
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * @param node this process's node id, {@code 0 <= node < MAX_NODES}
+     */
+    public TransactionIdGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    /**
+     * @param node  this process's node id, {@code 0 <= node < MAX_NODES}
+     * @param clock source of epoch milliseconds
+     */
+    public TransactionIdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node >= MAX_NODES) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + (MAX_NODES - 1) + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the next id, greater than every id this generator returned before
+     */
+    public String nextId() {
+        return encode(nextValue());
+    }
+
+    /**
+     * @return the next id as a number, greater than every value this generator returned before
+     */
+    public long nextValue() {
+        long now = Math.max(0L, clock.getAsLong() - EPOCH);
+        long prev;
+        long next;
+        do {
+            prev = last.get();
+            // A new millisecond restarts the counter; otherwise count on, carrying into the
+            // timestamp on overflow rather than spinning until the clock catches up
+            next = (prev >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : prev + 1;
+        } while (!last.compareAndSet(prev, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * @return the node id embedded in every id from this generator
+     */
+    public int getNode() {
+        return (int) node;
+    }
+
+    /**
+     * Returns the time encoded in an id produced by this class.
+     *
+     * @param id a transaction id
+     * @return when the id was generated, or null if it is not in this format
+     */
+    public static Instant timestampOf(String id) {
+        if (id == null || id.length() != PREFIX.length() + ENCODED_LENGTH || !id.startsWith(PREFIX)) {
+            return null;
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < id.length(); i++) {
+            int digit = indexOf(id.charAt(i));
+            if (digit < 0) {
+                return null;
+            }
+            value = (value << 5) | digit;
+        }
+        return Instant.ofEpochMilli((value >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+    }
+
+    private static String encode(long value) {
+        char[] out = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), out, 0);
+        for (int i = out.length - 1; i >= PREFIX.length(); i--) {
+            out[i] = CROCKFORD[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(out);
+    }
+
+    private static int indexOf(char c) {
+        char upper = Character.toUpperCase(c);
+        for (int i = 0; i < CROCKFORD.length; i++) {
+            if (CROCKFORD[i] == upper) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,173 @@
+package com.yourname.stockwise.visitor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.yourname.stockwise.model.Product;
+import com.yourname.stockwise.model.Supplier;
+import com.yourname.stockwise.model.Transaction;
+
+/**
+ * Runs any number of {@link InventoryVisitor visitors} over products, suppliers and
+ * transactions in a single pass.
+ * <p>
+ * Each collection is read once, and every element is handed to each registered visitor in
+ * registration order. A visitor can be limited to some {@link Section sections}. A section no
+ * visitor needs is never opened, so a traversal with only product visitors never queries the
+ * ledger. The time spent inside each visitor is measured separately from the time spent
+ * reading, and both are returned in a {@link TraversalReport}.
+ * </p>
+ *
+ * <p>A traversal is not thread-safe; run it from one background task and read the visitors'
+ * results once it returns.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     InventoryReportVisitor report = new InventoryReportVisitor();
+ *     StockValueCalculatorVisitor value = new StockValueCalculatorVisitor();
+ *     TraversalReport timings = new InventoryTraversal()
+ *             .add("report", report)
+ *             .add("value", value, InventoryTraversal.Section.PRODUCTS)
+ *             .traverse(() -> productDAO.getAllProducts().stream(),
+ *                     () -> supplierDAO.getAllSuppliers().stream(),
+ *                     transactionDAO::streamTransactions);
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class InventoryTraversal {
+
+    /**
+     * The collections a traversal reads, in the order it reads them.
+     */
+    public enum Section {
+        PRODUCTS, SUPPLIERS, TRANSACTIONS
+    }
+
+    /**
+     * Opens the elements of one section. Called at most once per traversal, and only if a
+     * registered visitor needs the section.
+     *
+     * @param <T> the element type
+     */
+    @FunctionalInterface
+    public interface ElementSource<T extends InventoryElement> {
+
+        /**
+         * @return the elements to visit; closed once the section has been visited
+         * @throws Exception if the elements cannot be read
+         */
+        Stream<? extends T> open() throws Exception;
+    }
+
+    private static final class Entry {
+        final String name;
+        final InventoryVisitor visitor;
+        final Set<Section> sections;
+        long nanos;
+        long visits;
+
+        Entry(String name, InventoryVisitor visitor, Set<Section> sections) {
+            this.name = name;
+            this.visitor = visitor;
+            this.sections = sections;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Registers a visitor.
+     *
+     * @param name     label used for the visitor in the timing report
+     * @param visitor  the visitor
+     * @param sections the sections it needs; none means all of them
+     * @return this traversal
+     */
+    public InventoryTraversal add(String name, InventoryVisitor visitor, Section... sections) {
+        Set<Section> wanted = sections.length == 0 ? EnumSet.allOf(Section.class) : EnumSet.noneOf(Section.class);
+        Collections.addAll(wanted, sections);
+        entries.add(new Entry(name, visitor, wanted));
+        return this;
+    }
+
+    /**
+     * Reads each needed section once and visits every element with the visitors that need it.
+     *
+     * @param products     source of products, or null to skip the section
+     * @param suppliers    source of suppliers, or null to skip the section
+     * @param transactions source of transactions, or null to skip the section
+     * @return how many elements were visited and where the time went
+     * @throws Exception if a source fails; visitors may then hold partial results
+     */
+    public TraversalReport traverse(ElementSource<Product> products, ElementSource<Supplier> suppliers,
+                                    ElementSource<Transaction> transactions) throws Exception {
+        for (Entry entry : entries) {
+            entry.nanos = 0;
+            entry.visits = 0;
+        }
+        Map<Section, Long> counts = new EnumMap<>(Section.class);
+        Map<Section, Long> readNanos = new EnumMap<>(Section.class);
+
+        long start = System.nanoTime();
+        visitSection(Section.PRODUCTS, products, counts, readNanos);
+        visitSection(Section.SUPPLIERS, suppliers, counts, readNanos);
+        visitSection(Section.TRANSACTIONS, transactions, counts, readNanos);
+        long elapsed = System.nanoTime() - start;
+
+        List<TraversalReport.VisitorTiming> timings = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            timings.add(new TraversalReport.VisitorTiming(entry.name, entry.visits, entry.nanos));
+        }
+        return new TraversalReport(elapsed, counts, readNanos, timings);
+    }
+
+    private void visitSection(Section section, ElementSource<? extends InventoryElement> source,
+                              Map<Section, Long> counts, Map<Section, Long> readNanos) throws Exception {
+        if (source == null) {
+            return;
+        }
+        List<Entry> interested = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.sections.contains(section)) {
+                interested.add(entry);
+            }
+        }
+        if (interested.isEmpty()) {
+            return; // Nobody needs it: don't even read it
+        }
+        Entry[] visitors = interested.toArray(new Entry[0]);
+
+        long count = 0;
+        long visiting = 0;
+        long start = System.nanoTime();
+        try (Stream<? extends InventoryElement> elements = source.open()) {
+            Iterator<? extends InventoryElement> it = elements.iterator();
+            while (it.hasNext()) {
+                InventoryElement element = it.next();
+                count++;
+                // Each visitor's end time is the next one's start, halving the clock reads
+                long mark = System.nanoTime();
+                long first = mark;
+                for (Entry entry : visitors) {
+                    element.accept(entry.visitor);
+                    long now = System.nanoTime();
+                    entry.nanos += now - mark;
+                    entry.visits++;
+                    mark = now;
+                }
+                visiting += mark - first;
+            }
+        }
+        counts.put(section, count);
+        readNanos.put(section, System.nanoTime() - start - visiting);
+    }
+}
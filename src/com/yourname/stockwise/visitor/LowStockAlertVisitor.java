@@ -12,9 +12,10 @@ import com.yourname.stockwise.model.Transaction;
  * Visitor that detects and collects all products whose quantity is below their defined threshold.
  * 
  * <p>This class implements the {@link InventoryVisitor} interface and is typically used
- * to trigger alerts or generate reports on stock shortages.</p>
+ * to trigger alerts or generate reports on stock shortages.
+ * It can be run in parallel with {@link ParallelVisitation}.</p>
  */
-public class LowStockAlertVisitor implements InventoryVisitor {
+public class LowStockAlertVisitor implements MergeableVisitor<LowStockAlertVisitor> {
 
     // List to store all products considered low in stock
     private final List<Product> lowStockProducts = new ArrayList<>();
@@ -51,6 +52,26 @@ public class LowStockAlertVisitor implements InventoryVisitor {
         // Intentionally left blank
     }
 
+    /**
+     * Creates an empty visitor for one part of the products.
+     *
+     * @return a visitor with no low stock products
+     */
+    @Override
+    public LowStockAlertVisitor split() {
+        return new LowStockAlertVisitor();
+    }
+
+    /**
+     * Appends the low stock products found by another visitor.
+     *
+     * @param other a visitor that visited the products following this one's
+     */
+    @Override
+    public void combine(LowStockAlertVisitor other) {
+        lowStockProducts.addAll(other.lowStockProducts);
+    }
+
     /**
      * Returns an unmodifiable list of products that are below their stock threshold.
      *
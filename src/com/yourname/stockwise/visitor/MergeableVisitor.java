@@ -0,0 +1,36 @@
+package com.yourname.stockwise.visitor;
+
+/**
+ * An {@link InventoryVisitor} whose work can be split across threads.
+ * <p>
+ * {@link #split()} makes an empty visitor with the same settings, which accumulates into its own
+ * state while visiting one part of the data. {@link #combine(MergeableVisitor)} then folds such a
+ * partial result into this one. {@link ParallelVisitation} uses the pair to visit large lists on
+ * every core without sharing mutable state between threads.
+ * </p>
+ *
+ * <p>Implementations must make {@code combine} associative, and must treat the argument as
+ * coming after this visitor's elements, so ordered results keep the order of the input.</p>
+ *
+ * @param <V> the implementing type
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public interface MergeableVisitor<V extends MergeableVisitor<V>> extends InventoryVisitor {
+
+    /**
+     * May be called from several threads at once, so it must not modify this visitor.
+     *
+     * @return a new visitor with this one's settings and no accumulated results
+     */
+    V split();
+
+    /**
+     * Adds another visitor's results to this one.
+     *
+     * @param other a visitor created by {@link #split()} that visited elements following this
+     *              visitor's; it is not used afterwards
+     */
+    void combine(V other);
+}
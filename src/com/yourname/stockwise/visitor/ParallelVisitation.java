@@ -0,0 +1,121 @@
+package com.yourname.stockwise.visitor;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join driver that runs a {@link MergeableVisitor} over a list on all cores.
+ * <p>
+ * The list is halved recursively until the pieces are small enough. Each piece is visited by its
+ * own {@link MergeableVisitor#split() split} visitor, and the partial results are
+ * {@link MergeableVisitor#combine(MergeableVisitor) combined} back in list order. The caller's
+ * visitor ends up holding the same result a sequential pass would have produced, apart from
+ * floating-point rounding. Lists shorter than the threshold are visited on the calling thread,
+ * where forking would cost more than it saves.
+ * </p>
+ *
+ * <p>The smallest piece is set by the {@code stockwise.visitor.parallelThreshold} system
+ * property (default 4096 elements).</p>
+ *
+ * <p>{@link com.yourname.stockwise.dao.LowStockTracker} uses it with a {@link LowStockAlertVisitor}
+ * to rescan the catalogue after a full reload.</p>
+ *
+ * Example usage:
+ * <pre>
+ *     LowStockAlertVisitor low = ParallelVisitation.visit(productDAO.getAllProducts(), new LowStockAlertVisitor());
+ *     List&lt;Product&gt; shortages = low.getLowStockProducts();
+ * </pre>
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class ParallelVisitation {
+
+    /** Lists at most this long are visited without forking. */
+    public static final int DEFAULT_THRESHOLD =
+            Math.max(1, Integer.getInteger("stockwise.visitor.parallelThreshold", 4_096));
+
+    // Pieces per worker thread; a few extra lets idle workers steal from busy ones
+    private static final int PIECES_PER_THREAD = 4;
+
+    private ParallelVisitation() {
+    }
+
+    /**
+     * Visits every element with the given visitor, using the common fork/join pool.
+     *
+     * @param elements random-access list of elements to visit; must not change meanwhile
+     * @param visitor  receives the combined result of the whole list
+     * @param <V>      the visitor type
+     * @return the visitor
+     */
+    public static <V extends MergeableVisitor<V>> V visit(List<? extends InventoryElement> elements, V visitor) {
+        return visit(elements, visitor, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Visits every element with the given visitor.
+     *
+     * @param elements  random-access list of elements to visit; must not change meanwhile
+     * @param visitor   receives the combined result of the whole list
+     * @param pool      pool that runs the pieces
+     * @param threshold smallest piece worth giving its own task
+     * @param <V>       the visitor type
+     * @return the visitor
+     */
+    public static <V extends MergeableVisitor<V>> V visit(List<? extends InventoryElement> elements, V visitor,
+                                                          ForkJoinPool pool, int threshold) {
+        int size = elements.size();
+        if (size <= threshold || pool.getParallelism() < 2) {
+            visitRange(elements, 0, size, visitor);
+            return visitor;
+        }
+        // Never cut finer than the threshold, nor much finer than the pool can use
+        int pieceSize = Math.max(threshold, size / (pool.getParallelism() * PIECES_PER_THREAD));
+        visitor.combine(pool.invoke(new Piece<>(elements, 0, size, pieceSize, visitor)));
+        return visitor;
+    }
+
+    private static void visitRange(List<? extends InventoryElement> elements, int from, int to,
+                                   InventoryVisitor visitor) {
+        for (int i = from; i < to; i++) {
+            elements.get(i).accept(visitor);
+        }
+    }
+
+    private static final class Piece<V extends MergeableVisitor<V>> extends RecursiveTask<V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<? extends InventoryElement> elements;
+        private final int from;
+        private final int to;
+        private final int pieceSize;
+        private final transient V prototype;
+
+        Piece(List<? extends InventoryElement> elements, int from, int to, int pieceSize, V prototype) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.pieceSize = pieceSize;
+            this.prototype = prototype;
+        }
+
+        @Override
+        protected V compute() {
+            if (to - from <= pieceSize) {
+                V partial = prototype.split();
+                visitRange(elements, from, to, partial);
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            Piece<V> left = new Piece<>(elements, from, mid, pieceSize, prototype);
+            left.fork();
+            V right = new Piece<>(elements, mid, to, pieceSize, prototype).compute();
+            V result = left.join();
+            result.combine(right); // Left first keeps ordered results in list order
+            return result;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.yourname.stockwise.visitor;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable summary of one {@link InventoryTraversal} pass: how many elements each section
+ * produced, how long reading them took, and how long each visitor spent on them.
+ *
+ * @author L Mahamba
+ * @version 1.0.0
+ */
+public final class TraversalReport {
+
+    /**
+     * Time spent inside one registered visitor.
+     */
+    public static final class VisitorTiming {
+
+        private final String name;
+        private final long visits;
+        private final long nanos;
+
+        VisitorTiming(String name, long visits, long nanos) {
+            this.name = name;
+            this.visits = visits;
+            this.nanos = nanos;
+        }
+
+        /** @return the name the visitor was registered under */
+        public String getName() {
+            return name;
+        }
+
+        /** @return elements handed to the visitor */
+        public long getVisits() {
+            return visits;
+        }
+
+        /** @return total time spent in the visitor, in milliseconds */
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d visits, %.3f ms", name, visits, getMillis());
+        }
+    }
+
+    private final long elapsedNanos;
+    private final Map<InventoryTraversal.Section, Long> counts;
+    private final Map<InventoryTraversal.Section, Long> readNanos;
+    private final List<VisitorTiming> visitorTimings;
+
+    TraversalReport(long elapsedNanos, Map<InventoryTraversal.Section, Long> counts,
+                    Map<InventoryTraversal.Section, Long> readNanos, List<VisitorTiming> visitorTimings) {
+        this.elapsedNanos = elapsedNanos;
+        this.counts = Collections.unmodifiableMap(new EnumMap<>(counts));
+        this.readNanos = Collections.unmodifiableMap(new EnumMap<>(readNanos));
+        this.visitorTimings = List.copyOf(visitorTimings);
+    }
+
+    /** @return wall-clock time of the whole pass, in milliseconds */
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * @param section a section
+     * @return elements read from it, or 0 if it was skipped
+     */
+    public long getCount(InventoryTraversal.Section section) {
+        return counts.getOrDefault(section, 0L);
+    }
+
+    /**
+     * @param section a section
+     * @return time spent reading it, excluding visitors, in milliseconds
+     */
+    public double getReadMillis(InventoryTraversal.Section section) {
+        return readNanos.getOrDefault(section, 0L) / 1_000_000.0;
+    }
+
+    /** @return per-visitor timings, in registration order */
+    public List<VisitorTiming> getVisitorTimings() {
+        return visitorTimings;
+    }
+
+    /**
+     * @return the counts and timings as short lines of text, e.g. for a tooltip
+     */
+    public String toDisplayString() {
+        StringBuilder sb = new StringBuilder(String.format("Built in %.1f ms", getElapsedMillis()));
+        for (Map.Entry<InventoryTraversal.Section, Long> entry : counts.entrySet()) {
+            sb.append(String.format("%n%s: %d read in %.1f ms", entry.getKey().name().toLowerCase(Locale.ROOT),
+                    entry.getValue(), getReadMillis(entry.getKey())));
+        }
+        for (VisitorTiming timing : visitorTimings) {
+            sb.append(String.format("%n%s: %.1f ms", timing.getName(), timing.getMillis()));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("TraversalReport[elapsedMs=%.3f", getElapsedMillis()));
+        for (Map.Entry<InventoryTraversal.Section, Long> entry : counts.entrySet()) {
+            sb.append(String.format(", %s=%d (read %.3f ms)", entry.getKey().name().toLowerCase(Locale.ROOT),
+                    entry.getValue(), getReadMillis(entry.getKey())));
+        }
+        for (VisitorTiming timing : visitorTimings) {
+            sb.append(", ").append(timing);
+        }
+        return sb.append(']').toString();
+    }
+}